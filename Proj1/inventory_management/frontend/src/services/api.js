@@ -13,6 +13,7 @@ const api = axios.create({
 export const warehouseAPI = {
   getAll: () => api.get('/warehouses'),
   getById: (id) => api.get(`/warehouses/${id}`),
+  getByIds: (ids) => api.post('/warehouses/batch-get', { ids }),
   create: (warehouse) => api.post('/warehouses', warehouse),
   update: (id, warehouse) => api.put(`/warehouses/${id}`, warehouse),
   delete: (id) => api.delete(`/warehouses/${id}`),
@@ -23,6 +24,7 @@ export const warehouseAPI = {
 export const inventoryAPI = {
   getAll: () => api.get('/items'),
   getById: (id) => api.get(`/items/${id}`),
+  getByIds: (ids) => api.post('/items/batch-get', { ids }),
   getByWarehouse: (warehouseId) => api.get(`/items/warehouse/${warehouseId}`),
   create: (item) => api.post('/items', item),
   update: (id, item) => api.put(`/items/${id}`, item),
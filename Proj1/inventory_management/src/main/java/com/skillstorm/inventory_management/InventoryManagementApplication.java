@@ -2,8 +2,14 @@ package com.skillstorm.inventory_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * Servlet (Spring MVC + JPA) application serving the full read/write API.
+ * R2DBC is only used by the reactive read application, see
+ * {@link com.skillstorm.inventory_management.reactive.ReactiveReadApplication}.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class InventoryManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,95 @@
+package com.skillstorm.inventory_management.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient algorithm).
+ * A long-term average latency is tracked as the baseline; when a request takes longer
+ * than the baseline (beyond a tolerance) the limit shrinks proportionally, otherwise it
+ * grows by roughly the square root of the current limit. The limit stays within
+ * [minLimit, maxLimit] and only grows while the group is actually using it.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Acquires a permit if fewer requests than the current limit are in flight
+     *
+     * @return true if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and feeds the request latency into the limit
+     *
+     * @param rttNanos Time the request held the permit
+     */
+    public void release(long rttNanos) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        onSample(Math.max(1, rttNanos), inFlightAtRelease);
+    }
+
+    /**
+     * @return Current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return Requests currently holding a permit
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+        }
+        // Let the baseline recover faster after a sustained latency spike has passed
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Don't grow a limit the group isn't using
+        if (inFlightAtRelease < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,21 @@
+package com.skillstorm.inventory_management.config;
+
+import com.skillstorm.inventory_management.services.AuditEvent;
+import com.skillstorm.inventory_management.services.BoundedRingBuffer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the audit trail: the ring buffer that mutations hand events to and the
+ * writer drains from.
+ */
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public BoundedRingBuffer<AuditEvent> auditBuffer(AuditProperties properties) {
+        return new BoundedRingBuffer<>(properties.getBufferSize());
+    }
+}
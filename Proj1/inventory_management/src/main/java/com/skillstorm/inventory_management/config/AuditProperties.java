@@ -0,0 +1,74 @@
+package com.skillstorm.inventory_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the asynchronous audit trail.
+ * Bound from {@code inventory.audit}.
+ */
+@Data
+@ConfigurationProperties(prefix = "inventory.audit")
+public class AuditProperties {
+
+    /**
+     * What a mutation does when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for free space, up to block-timeout, then drop and count
+         */
+        BLOCK,
+        /**
+         * Drop the event and count it
+         */
+        DROP,
+        /**
+         * Append the event to the spill file; the writer replays it once the buffer has drained
+         */
+        SPILL
+    }
+
+    /**
+     * Whether mutations are audited
+     */
+    private boolean enabled = true;
+
+    /**
+     * Ring buffer slots, rounded up to a power of two
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Most events written in one batch insert
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer waits for more events before writing a partial batch
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Behaviour when the ring buffer is full
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * Longest wait for buffer space under the BLOCK policy
+     */
+    private Duration blockTimeout = Duration.ofSeconds(1);
+
+    /**
+     * JSON-lines file for spilled events, and for batches the database rejected
+     */
+    private Path spillFile = Path.of(System.getProperty("java.io.tmpdir"), "inventory-audit-spill.jsonl");
+
+    /**
+     * Request header naming the user who made a change
+     */
+    private String actorHeader = "X-User";
+}
@@ -0,0 +1,42 @@
+package com.skillstorm.inventory_management.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registers compact binary formats for machine clients.
+ * Clients sending {@code Accept: application/cbor} or {@code application/x-jackson-smile}
+ * (and the same Content-Type for request bodies) skip JSON text encoding entirely.
+ * JSON stays first in converter order, so browsers keep receiving JSON.
+ * The wire schema is documented in {@code schema/inventory.cddl}.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * CBOR converter sharing the Boot-configured Jackson settings (field filters, java.time support)
+     *
+     * @param builder Boot-configured object mapper builder
+     * @return CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile converter sharing the Boot-configured Jackson settings (field filters, java.time support)
+     *
+     * @param builder Boot-configured object mapper builder
+     * @return Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.skillstorm.inventory_management.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller endpoint to a bulkhead group.
+ * Each group has its own adaptive concurrency limit and statement timeout,
+ * configured under {@code inventory.bulkhead.groups.<name>}.
+ *
+ * @see BulkheadInterceptor
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    /**
+     * @return Bulkhead group name (e.g. reads, searches, exports, writes, transfers)
+     */
+    String value();
+}
@@ -0,0 +1,49 @@
+package com.skillstorm.inventory_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires endpoint bulkheads: the limiting interceptor and the transaction manager
+ * that turns each group's statement timeout into a transaction deadline.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    @Bean
+    public BulkheadInterceptor bulkheadInterceptor(BulkheadProperties properties, MeterRegistry meterRegistry,
+                                                   DataSource dataSource) {
+        int totalMaxLimit = properties.getGroups().values().stream()
+                .mapToInt(BulkheadProperties.Group::getMaxLimit)
+                .sum();
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        int reserved = properties.getReservedConnections();
+        if (hikari != null && totalMaxLimit + reserved > hikari.getMaximumPoolSize()) {
+            log.warn("Bulkhead max limits add up to {} plus {} reserved connections but the connection pool holds {}; "
+                    + "groups and background threads can still contend for connections",
+                    totalMaxLimit, reserved, hikari.getMaximumPoolSize());
+        }
+        return new BulkheadInterceptor(properties, meterRegistry);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        BulkheadTransactionManager transactionManager = new BulkheadTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,28 @@
+package com.skillstorm.inventory_management.config;
+
+/**
+ * Holds the statement timeout of the bulkhead group handling the current request thread.
+ * Read by {@link BulkheadTransactionManager} when a transaction begins.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<Integer> STATEMENT_TIMEOUT_SECONDS = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    static void setStatementTimeoutSeconds(int seconds) {
+        STATEMENT_TIMEOUT_SECONDS.set(seconds);
+    }
+
+    static void clear() {
+        STATEMENT_TIMEOUT_SECONDS.remove();
+    }
+
+    /**
+     * @return Statement timeout in seconds for the current request, or null outside a bulkhead
+     */
+    public static Integer getStatementTimeoutSeconds() {
+        return STATEMENT_TIMEOUT_SECONDS.get();
+    }
+}
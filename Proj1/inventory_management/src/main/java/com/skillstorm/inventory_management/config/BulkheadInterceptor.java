@@ -0,0 +1,107 @@
+package com.skillstorm.inventory_management.config;
+
+import com.skillstorm.inventory_management.exceptions.BulkheadRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enforces the concurrency limit of the bulkhead group assigned to each endpoint.
+ * Requests beyond the group's current limit are rejected immediately with a
+ * {@link BulkheadRejectedException} (503 with Retry-After) instead of queueing for a
+ * database connection. Endpoints without {@link Bulkhead}, or whose group is not
+ * configured, are not limited.
+ * An asynchronous request holds its permit from the initial dispatch until the async
+ * dispatch that completes it; the request thread's statement timeout is cleared as soon
+ * as the initial dispatch hands the request off.
+ */
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+    private final boolean enabled;
+    private final Map<String, Group> groups = new HashMap<>();
+
+    public BulkheadInterceptor(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        properties.getGroups().forEach((name, settings) -> {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                    settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit());
+            Gauge.builder("inventory.bulkhead.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("inventory.bulkhead.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests currently holding a bulkhead permit")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Counter rejected = Counter.builder("inventory.bulkhead.rejected")
+                    .description("Requests rejected because the bulkhead was full")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            groups.put(name, new Group(name, limit, rejected,
+                    (int) Math.max(1, settings.getStatementTimeout().toSeconds()),
+                    Math.max(1, settings.getRetryAfter().toSeconds())));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The permit taken on the initial dispatch is still held
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Bulkhead.class);
+        }
+        Group group = bulkhead != null ? groups.get(bulkhead.value()) : null;
+        if (group == null) {
+            return true;
+        }
+
+        if (!group.limit().tryAcquire()) {
+            group.rejected().increment();
+            throw new BulkheadRejectedException(
+                "Too many concurrent " + group.name() + " requests. Please retry shortly.",
+                group.retryAfterSeconds()
+            );
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(group, System.nanoTime()));
+        BulkheadContext.setStatementTimeoutSeconds(group.statementTimeoutSeconds());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The worker thread goes back to the pool; the permit stays with the request
+        BulkheadContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        BulkheadContext.clear();
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Permit held) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            held.group().limit().release(System.nanoTime() - held.startNanos());
+        }
+    }
+
+    private record Group(String name, AdaptiveConcurrencyLimit limit, Counter rejected,
+                         int statementTimeoutSeconds, long retryAfterSeconds) {
+    }
+
+    private record Permit(Group group, long startNanos) {
+    }
+}
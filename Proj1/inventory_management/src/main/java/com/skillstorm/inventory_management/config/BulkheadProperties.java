@@ -0,0 +1,65 @@
+package com.skillstorm.inventory_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for endpoint bulkheads.
+ * Bound from {@code inventory.bulkhead}.
+ */
+@Data
+@ConfigurationProperties(prefix = "inventory.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Whether bulkheads are enforced
+     */
+    private boolean enabled = true;
+
+    /**
+     * Pool connections kept out of the group limits for background threads that use the pool
+     * (change log followers, reservation expirer, audit writer, change log pruner)
+     */
+    private int reservedConnections = 0;
+
+    /**
+     * Bulkhead groups keyed by name
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * Limits for a single bulkhead group
+     */
+    @Data
+    public static class Group {
+
+        /**
+         * Concurrency limit before any latency has been observed
+         */
+        private int initialLimit = 4;
+
+        /**
+         * Lowest concurrency limit the adaptive limit may shrink to
+         */
+        private int minLimit = 1;
+
+        /**
+         * Highest concurrency limit the adaptive limit may grow to
+         */
+        private int maxLimit = 10;
+
+        /**
+         * Transaction deadline applied as JDBC query timeout to every statement of the endpoint
+         */
+        private Duration statementTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Value of the Retry-After header on rejected requests
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,27 @@
+package com.skillstorm.inventory_management.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * JPA transaction manager that applies the current bulkhead group's statement timeout.
+ * Spring turns the transaction timeout into a JDBC query timeout on every JPA query
+ * and JdbcTemplate statement run in the transaction, so each endpoint group is bounded
+ * without per-query hints. An explicit {@code @Transactional(timeout = ...)} still wins.
+ */
+public class BulkheadTransactionManager extends JpaTransactionManager {
+
+    public BulkheadTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        if (definition.getTimeout() != TransactionDefinition.TIMEOUT_DEFAULT) {
+            return definition.getTimeout();
+        }
+        Integer groupTimeout = BulkheadContext.getStatementTimeoutSeconds();
+        return groupTimeout != null ? groupTimeout : getDefaultTimeout();
+    }
+}
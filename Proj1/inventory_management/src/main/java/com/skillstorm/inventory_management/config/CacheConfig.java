@@ -0,0 +1,40 @@
+package com.skillstorm.inventory_management.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Local (per-node) read caches.
+ * Entries are invalidated on every node through PostgreSQL LISTEN/NOTIFY after the
+ * writing transaction commits, see {@code CacheInvalidationPublisher}.
+ * Caching advice runs outside the transaction so that hits never open one.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Warehouse DTOs by warehouse ID, including capacity usage
+     */
+    public static final String WAREHOUSES = "warehouses";
+
+    /**
+     * Distinct item categories
+     */
+    public static final String CATEGORIES = "categories";
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new ConcurrentMapCacheManager(WAREHOUSES, CATEGORIES) {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new InvalidationAwareCache(super.createConcurrentMapCache(name));
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.skillstorm.inventory_management.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache decorator that never keeps a value loaded before a concurrent invalidation.
+ * Invalidations arrive asynchronously from other nodes, so a load that read the old row
+ * can finish after the invalidation for the new one has been applied; a per-cache
+ * generation counter detects that and drops the value instead of caching it forever.
+ * Only loads through {@link #get(Object, Callable)} are checked, so cached methods use
+ * {@code @Cacheable(sync = true)}.
+ */
+public class InvalidationAwareCache implements Cache {
+
+    private final Cache delegate;
+    private final AtomicLong generation = new AtomicLong();
+
+    public InvalidationAwareCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long loadGeneration = generation.get();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        delegate.put(key, value);
+        // An invalidation that raced with the load has either already removed the entry
+        // or bumped the generation before the put; in the latter case undo the put.
+        if (generation.get() != loadGeneration) {
+            delegate.evict(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        delegate.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package com.skillstorm.inventory_management.config;
+
+/**
+ * Counts the SQL statements, rows and statement time of the HTTP request handled by the current thread.
+ * Started and stopped by {@link StatementBudgetFilter}; fed by {@link StatementMetricsDataSource}.
+ * Statements run on other threads (async work) are not attributed to the request.
+ */
+public final class RequestStatementStats {
+
+    private static final ThreadLocal<RequestStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long durationNanos;
+
+    private RequestStatementStats() {
+    }
+
+    static RequestStatementStats start() {
+        RequestStatementStats stats = new RequestStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds a completed statement to the current request, if any.
+     * Matches {@link StatementListener} so it can be registered as a method reference.
+     *
+     * @param sql SQL text (unused)
+     * @param durationNanos Statement duration
+     * @param rows Rows fetched or affected
+     */
+    static void record(String sql, long durationNanos, long rows) {
+        RequestStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.rows += rows;
+            stats.durationNanos += durationNanos;
+        }
+    }
+
+    /**
+     * @return Statistics of the request on the current thread, or null outside a request
+     */
+    public static RequestStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return Number of statements executed so far
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Rows fetched or affected so far
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Total statement time in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,179 @@
+package com.skillstorm.inventory_management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Logs statements slower than a threshold, plus a random sample of the rest, replacing
+ * Hibernate's show-sql and bind-parameter logging. The request thread only compares the duration
+ * and offers an entry to a bounded queue; normalizing the SQL and writing the log line happen on a
+ * single writer thread, and entries are dropped (and counted) rather than blocking when it falls behind.
+ * Each line is logfmt: {@code fingerprint, duration_ms, rows, endpoint, sampled, sql}, where the
+ * fingerprint identifies the statement shape with literals and IN-list lengths removed.
+ */
+@Slf4j
+public class SlowQueryLog implements StatementListener, SmartLifecycle {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int DRAIN_BATCH = 256;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int maxSqlLength;
+    private final BlockingQueue<Entry> queue;
+    private final Counter slowStatements;
+    private final Counter droppedEntries;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public SlowQueryLog(SlowQueryLogProperties properties, MeterRegistry meterRegistry) {
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.sampleRate = properties.getSampleRate();
+        this.maxSqlLength = properties.getMaxSqlLength();
+        this.queue = new ArrayBlockingQueue<>(properties.getBufferSize());
+        this.slowStatements = Counter.builder("inventory.sql.slow")
+                .description("Statements slower than the slow-query threshold")
+                .register(meterRegistry);
+        this.droppedEntries = Counter.builder("inventory.sql.slow.log.dropped")
+                .description("Slow-query log entries dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void statementExecuted(String sql, long durationNanos, long rows) {
+        boolean slow = durationNanos >= thresholdNanos;
+        if (slow) {
+            slowStatements.increment();
+        } else if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!queue.offer(new Entry(sql, durationNanos, rows, currentEndpoint(), !slow))) {
+            droppedEntries.increment();
+        }
+    }
+
+    /**
+     * Reduces a statement to its shape: literals become ?, IN lists collapse to (?...),
+     * whitespace is collapsed and the text lower-cased
+     *
+     * @param sql SQL text
+     * @return Normalized SQL
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+
+    /**
+     * Computes a short stable identifier for a normalized statement (64-bit FNV-1a, hex)
+     *
+     * @param normalizedSql Normalized SQL
+     * @return Fingerprint
+     */
+    static String fingerprint(String normalizedSql) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizedSql.length(); i++) {
+            hash ^= normalizedSql.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Entry entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                    drain();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(DRAIN_BATCH);
+        while (queue.drainTo(batch, DRAIN_BATCH) > 0) {
+            batch.forEach(this::write);
+            batch.clear();
+        }
+    }
+
+    private void write(Entry entry) {
+        String normalized = normalize(entry.sql());
+        String sql = normalized.length() > maxSqlLength ? normalized.substring(0, maxSqlLength) + "..." : normalized;
+        String line = "fingerprint=" + fingerprint(normalized)
+                + " duration_ms=" + String.format("%.1f", entry.durationNanos() / 1_000_000.0)
+                + " rows=" + entry.rows()
+                + " endpoint=\"" + entry.endpoint() + "\""
+                + " sampled=" + entry.sampled()
+                + " sql=\"" + sql.replace("\"", "\\\"") + "\"";
+        if (entry.sampled()) {
+            log.info(line);
+        } else {
+            log.warn(line);
+        }
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return StatementBudgetFilter.endpointOf(request);
+        }
+        return "thread:" + Thread.currentThread().getName();
+    }
+
+    private record Entry(String sql, long durationNanos, long rows, String endpoint, boolean sampled) {
+    }
+}
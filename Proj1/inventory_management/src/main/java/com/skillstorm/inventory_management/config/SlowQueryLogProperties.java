@@ -0,0 +1,40 @@
+package com.skillstorm.inventory_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the slow-query log.
+ * Bound from {@code inventory.slow-query-log}.
+ */
+@Data
+@ConfigurationProperties(prefix = "inventory.slow-query-log")
+public class SlowQueryLogProperties {
+
+    /**
+     * Whether statements are logged at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statements taking at least this long are always logged (at WARN)
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Fraction (0-1) of the faster statements logged at random (at INFO), for a baseline
+     */
+    private double sampleRate = 0.001;
+
+    /**
+     * Entries waiting for the writer thread; entries arriving while it is full are dropped and counted
+     */
+    private int bufferSize = 1024;
+
+    /**
+     * Longest normalized SQL text written per entry
+     */
+    private int maxSqlLength = 1000;
+}
@@ -0,0 +1,195 @@
+package com.skillstorm.inventory_management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements, rows and statement time of each API request and logs a warning
+ * when an endpoint issues more statements than its budget allows, which is how N+1 loads show up.
+ * When enabled, the counts are also returned as {@code X-SQL-Statements}, {@code X-SQL-Rows} and
+ * {@code X-SQL-Time-Ms} headers. Headers are written when the body starts, so for streamed
+ * responses they cover the statements issued until the first bytes were sent.
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final StatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Describes the endpoint handling a request by method and matched path pattern,
+     * falling back to the request URI before a handler has been mapped
+     *
+     * @param request HTTP request
+     * @return Endpoint as "METHOD /path/pattern"
+     */
+    public static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatementStats stats = RequestStatementStats.start();
+        StatsHeaderResponse wrapped = properties.isExposeHeaders() ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            chain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            RequestStatementStats.stop();
+            if (wrapped != null) {
+                wrapped.writeHeaders();
+            }
+            checkBudget(endpointOf(request), stats);
+        }
+    }
+
+    private void checkBudget(String endpoint, RequestStatementStats stats) {
+        int budget = properties.maxStatementsFor(endpoint);
+        if (stats.getStatements() > budget) {
+            Counter.builder("inventory.sql.budget.exceeded")
+                    .description("Requests that issued more SQL statements than their endpoint's budget")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} issued {} SQL statements (budget {}), {} rows, {} ms of statement time",
+                    endpoint, stats.getStatements(), budget, stats.getRows(), stats.getDurationMillis());
+        }
+    }
+
+    /**
+     * Adds the statement headers just before the response body (or an error) is started
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final RequestStatementStats stats;
+        private boolean headersWritten;
+        private ServletOutputStream outputStream;
+
+        StatsHeaderResponse(HttpServletResponse response, RequestStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (!headersWritten && !isCommitted()) {
+                headersWritten = true;
+                setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                setHeader(TIME_HEADER, String.valueOf(stats.getDurationMillis()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeaderWritingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+        /**
+         * Writes the headers on the first byte, so a streaming endpoint that opens the
+         * stream before running its query still reports that query
+         */
+        private final class HeaderWritingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            HeaderWritingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                writeHeaders();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writeHeaders();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writeHeaders();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writeHeaders();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillstorm.inventory_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-request SQL statement budgets.
+ * Bound from {@code inventory.statement-budget}.
+ */
+@Data
+@ConfigurationProperties(prefix = "inventory.statement-budget")
+public class StatementBudgetProperties {
+
+    /**
+     * Whether statements are counted per request and budgets checked
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether the counts are returned in X-SQL-* response headers (disabled in the prod profile)
+     */
+    private boolean exposeHeaders = true;
+
+    /**
+     * Statement budget for endpoints without their own entry
+     */
+    private int defaultMaxStatements = 10;
+
+    /**
+     * Statement budgets keyed by "METHOD /path/pattern", e.g. "GET /api/warehouses/{id}"
+     */
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+    /**
+     * Returns the statement budget of an endpoint
+     *
+     * @param endpoint Endpoint as "METHOD /path/pattern"
+     * @return Maximum number of statements the endpoint may issue
+     */
+    public int maxStatementsFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultMaxStatements);
+    }
+}
@@ -0,0 +1,19 @@
+package com.skillstorm.inventory_management.config;
+
+/**
+ * Receives every JDBC statement executed through {@link StatementMetricsDataSource}.
+ * Called on the thread that ran the statement, once its result set has been closed,
+ * so implementations must be cheap and must not throw.
+ */
+@FunctionalInterface
+public interface StatementListener {
+
+    /**
+     * Called after a statement has completed
+     *
+     * @param sql SQL text as sent to the driver
+     * @param durationNanos Time spent executing the statement and fetching its rows
+     * @param rows Rows fetched, or rows affected for updates
+     */
+    void statementExecuted(String sql, long durationNanos, long rows);
+}
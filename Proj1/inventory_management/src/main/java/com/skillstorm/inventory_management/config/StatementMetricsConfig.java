@@ -0,0 +1,49 @@
+package com.skillstorm.inventory_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wires JDBC statement measurement: the DataSource wrapper that reports every statement,
+ * the filter that adds them up per request and checks statement budgets, and the slow-query log.
+ */
+@Configuration
+@EnableConfigurationProperties({StatementBudgetProperties.class, SlowQueryLogProperties.class})
+public class StatementMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementMetricsDataSourcePostProcessor(ObjectProvider<StatementListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof StatementMetricsDataSource) {
+                    return bean;
+                }
+                List<StatementListener> all = new ArrayList<>();
+                all.add(RequestStatementStats::record);
+                listeners.orderedStream().forEach(all::add);
+                return new StatementMetricsDataSource(dataSource, all);
+            }
+        };
+    }
+
+    @Bean
+    public StatementBudgetFilter statementBudgetFilter(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        return new StatementBudgetFilter(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "inventory.slow-query-log", name = "enabled", matchIfMissing = true)
+    public SlowQueryLog slowQueryLog(SlowQueryLogProperties properties, MeterRegistry meterRegistry) {
+        return new SlowQueryLog(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,225 @@
+package com.skillstorm.inventory_management.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * DataSource that measures every statement run on its connections and reports the SQL,
+ * duration and row count to {@link StatementListener}s. Hibernate, Spring Data and
+ * JdbcTemplate statements are all covered because measurement happens at the JDBC level.
+ * Duration is execution time plus time spent in {@code ResultSet.next()}, so time the
+ * caller spends between rows (e.g. writing a streamed response) is not counted.
+ */
+public class StatementMetricsDataSource extends DelegatingDataSource {
+
+    private final List<StatementListener> listeners;
+
+    public StatementMetricsDataSource(DataSource targetDataSource, List<StatementListener> listeners) {
+        super(targetDataSource);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Wraps a connection so that the statements it creates are measured
+     *
+     * @param connection Pooled connection
+     * @return Connection proxy
+     */
+    private Connection instrument(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    yield instrument(statement, sql);
+                }
+                yield result;
+            }
+        });
+    }
+
+    private Statement instrument(Statement statement, String preparedSql) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return proxy(type, new StatementHandler(statement, preparedSql));
+    }
+
+    private void report(String sql, long durationNanos, long rows) {
+        for (StatementListener listener : listeners) {
+            listener.statementExecuted(sql, durationNanos, rows);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Tracks the executions of one statement. A query is reported when its result set or the
+     * statement is closed, or when the statement is executed again; updates are reported at once.
+     * JDBC statements are not used concurrently, so no synchronization is needed.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private Execution pending;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getResultSet": {
+                    Object resultSet = StatementMetricsDataSource.invoke(statement, method, args);
+                    return resultSet instanceof ResultSet rs && pending != null ? pending.wrap(rs) : resultSet;
+                }
+                case "close":
+                    finishPending();
+                    return StatementMetricsDataSource.invoke(statement, method, args);
+                default:
+                    if (!name.startsWith("execute")) {
+                        return StatementMetricsDataSource.invoke(statement, method, args);
+                    }
+            }
+
+            finishPending();
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : name;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = StatementMetricsDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                report(sql, System.nanoTime() - start, 0);
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) {
+                pending = new Execution(sql, elapsed);
+                return pending.wrap(resultSet);
+            }
+            if (Boolean.TRUE.equals(result)) {
+                pending = new Execution(sql, elapsed);
+            } else if (Boolean.FALSE.equals(result)) {
+                report(sql, elapsed, Math.max(0, statement.getUpdateCount()));
+            } else {
+                report(sql, elapsed, affectedRows(result));
+            }
+            return result;
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+
+        private long affectedRows(Object result) {
+            long rows = 0;
+            if (result instanceof Number count) {
+                rows = count.longValue();
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(0, count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(0, count);
+                }
+            }
+            return Math.max(0, rows);
+        }
+    }
+
+    /**
+     * A query whose rows are still being fetched
+     */
+    private final class Execution {
+
+        private final String sql;
+        private long durationNanos;
+        private long rows;
+        private boolean finished;
+
+        Execution(String sql, long executeNanos) {
+            this.sql = sql;
+            this.durationNanos = executeNanos;
+        }
+
+        ResultSet wrap(ResultSet resultSet) {
+            return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "next" -> {
+                    long start = System.nanoTime();
+                    boolean hasRow = (Boolean) StatementMetricsDataSource.invoke(resultSet, method, args);
+                    durationNanos += System.nanoTime() - start;
+                    if (hasRow) {
+                        rows++;
+                    }
+                    yield hasRow;
+                }
+                case "close" -> {
+                    try {
+                        yield StatementMetricsDataSource.invoke(resultSet, method, args);
+                    } finally {
+                        finish();
+                    }
+                }
+                default -> StatementMetricsDataSource.invoke(resultSet, method, args);
+            });
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                report(sql, durationNanos, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillstorm.inventory_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration applied when running on virtual threads
+ * ({@code spring.threads.virtual.enabled=true} on Java 21+, see the {@code virtual-threads} profile).
+ * Boot then serves Tomcat requests and its task executors on virtual threads; this class
+ * bounds JDBC concurrency with a semaphore matched to the connection pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int maxConcurrent = environment.getProperty("inventory.jdbc.max-concurrent-connections", Integer.class, 0);
+                if (maxConcurrent <= 0) {
+                    HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+                    maxConcurrent = hikari != null ? hikari.getMaximumPoolSize() : 10;
+                }
+                long acquireTimeoutMillis = environment.getProperty("inventory.jdbc.acquire-timeout-ms", Long.class, 5000L);
+                log.info("Virtual threads enabled; limiting DataSource '{}' to {} concurrent connections",
+                        beanName, maxConcurrent);
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrent, acquireTimeoutMillis);
+            }
+        };
+    }
+}
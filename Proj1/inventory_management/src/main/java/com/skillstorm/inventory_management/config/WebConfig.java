@@ -1,16 +1,22 @@
 package com.skillstorm.inventory_management.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web configuration class for Spring MVC.
- * Configures CORS settings to allow requests from the React frontend.
+ * Configures CORS settings to allow requests from the React frontend
+ * and registers the endpoint bulkhead interceptor.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final BulkheadInterceptor bulkheadInterceptor;
+
     /**
      * Configures CORS mappings to allow cross-origin requests from the React application
      *
@@ -25,4 +31,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    /**
+     * Registers the bulkhead interceptor for all API endpoints
+     *
+     * @param registry Interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/api/**");
+    }
 }
@@ -0,0 +1,52 @@
+package com.skillstorm.inventory_management.controllers;
+
+import com.skillstorm.inventory_management.config.Bulkhead;
+import com.skillstorm.inventory_management.dtos.AuditEventDto;
+import com.skillstorm.inventory_management.services.AuditEvent;
+import com.skillstorm.inventory_management.services.AuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST Controller for querying the audit trail.
+ * Events appear shortly after the change commits, once the audit writer has flushed its batch.
+ */
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    /**
+     * Retrieves audit events in a time range, newest first
+     *
+     * @param from Inclusive start, ISO-8601 (optional, defaults to 24 hours before to)
+     * @param to Exclusive end, ISO-8601 (optional, defaults to now)
+     * @param entityType ITEM, WAREHOUSE or RESERVATION (optional)
+     * @param entityId Entity ID (optional)
+     * @param limit Maximum number of events, up to 1000 (optional, defaults to 100)
+     * @return List of audit event DTOs
+     * @throws IllegalArgumentException if the range or limit is invalid
+     */
+    @Bulkhead("admin")
+    @GetMapping
+    public ResponseEntity<List<AuditEventDto>> getAuditEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) AuditEvent.EntityType entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(auditService.findEvents(from, to, entityType, entityId, limit));
+    }
+}
@@ -0,0 +1,35 @@
+package com.skillstorm.inventory_management.controllers;
+
+import com.skillstorm.inventory_management.config.Bulkhead;
+import com.skillstorm.inventory_management.services.WarehouseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Admin REST Controller for the category statistics rollup.
+ * The rollup is kept in step by the item write paths; rebuilding repairs drift from changes
+ * made outside the application, such as manual SQL.
+ */
+@RestController
+@RequestMapping("/api/admin/category-stats")
+@RequiredArgsConstructor
+public class CategoryStatsController {
+
+    private final WarehouseService warehouseService;
+
+    /**
+     * Recomputes the category statistics from inventory_items
+     *
+     * @return Number of rows that had drifted and were corrected
+     */
+    @Bulkhead("admin")
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("driftedRows", warehouseService.rebuildCategoryStats()));
+    }
+}
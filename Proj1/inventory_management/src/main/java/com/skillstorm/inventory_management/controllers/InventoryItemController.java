@@ -1,14 +1,32 @@
 package com.skillstorm.inventory_management.controllers;
 
+import com.skillstorm.inventory_management.config.Bulkhead;
+import com.skillstorm.inventory_management.dtos.BatchGetRequest;
+import com.skillstorm.inventory_management.dtos.BatchGetResponse;
+import com.skillstorm.inventory_management.dtos.ChangeFeedResponse;
+import com.skillstorm.inventory_management.dtos.FacetedSearchResponse;
+import com.skillstorm.inventory_management.dtos.FuzzyMatchDto;
+import com.skillstorm.inventory_management.dtos.FieldSelection;
 import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.SkuStockDto;
+import com.skillstorm.inventory_management.dtos.StockThresholdDto;
+import com.skillstorm.inventory_management.dtos.StockThresholdRequest;
 import com.skillstorm.inventory_management.dtos.TransferRequest;
+import com.skillstorm.inventory_management.services.ChangeFeedService;
+import com.skillstorm.inventory_management.services.FuzzySearchService;
 import com.skillstorm.inventory_management.services.InventoryItemService;
+import com.skillstorm.inventory_management.services.StockAlertService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -22,16 +40,36 @@ import java.util.List;
 public class InventoryItemController {
 
     private final InventoryItemService inventoryItemService;
+    private final ChangeFeedService changeFeedService;
+    private final FuzzySearchService fuzzySearchService;
+    private final StockAlertService stockAlertService;
+
+    /**
+     * Streams all inventory items as JSON.
+     * Selected for JSON requests without a fields parameter; other formats use {@link #getAllItems}.
+     *
+     * @param response HTTP response to write to
+     * @throws IOException if writing the response fails
+     */
+    @Bulkhead("exports")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE, params = "!fields")
+    public void streamAllItems(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        inventoryItemService.writeItemsJson(null, null, response.getOutputStream());
+    }
 
     /**
      * Retrieves all inventory items
      *
+     * @param fields Comma separated fields to return (optional, defaults to all)
      * @return List of inventory item DTOs
      */
+    @Bulkhead("exports")
     @GetMapping
-    public ResponseEntity<List<InventoryItemDto>> getAllItems() {
-        List<InventoryItemDto> items = inventoryItemService.getAllItems();
-        return ResponseEntity.ok(items);
+    public ResponseEntity<MappingJacksonValue> getAllItems(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.ITEM_FIELDS);
+        List<InventoryItemDto> items = inventoryItemService.getAllItems(selection);
+        return ResponseEntity.ok(selection.apply(items));
     }
 
     /**
@@ -40,22 +78,57 @@ public class InventoryItemController {
      * @param id Item ID
      * @return Inventory item DTO
      */
+    @Bulkhead("reads")
     @GetMapping("/{id}")
     public ResponseEntity<InventoryItemDto> getItemById(@PathVariable Long id) {
         InventoryItemDto item = inventoryItemService.getItemById(id);
         return ResponseEntity.ok(item);
     }
 
+    /**
+     * Retrieves several inventory items by ID in one call
+     *
+     * @param batchGetRequest IDs to resolve
+     * @return Found items and the IDs that were not found
+     */
+    @Bulkhead("reads")
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<InventoryItemDto>> getItemsByIds(
+            @Valid @RequestBody BatchGetRequest batchGetRequest) {
+        BatchGetResponse<InventoryItemDto> items = inventoryItemService.getItemsByIds(batchGetRequest.getIds());
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Streams all items in a specific warehouse as JSON.
+     * Selected for JSON requests without a fields parameter; other formats use {@link #getItemsByWarehouse}.
+     *
+     * @param warehouseId Warehouse ID
+     * @param response HTTP response to write to
+     * @throws IOException if writing the response fails
+     */
+    @Bulkhead("exports")
+    @GetMapping(value = "/warehouse/{warehouseId}", produces = MediaType.APPLICATION_JSON_VALUE, params = "!fields")
+    public void streamItemsByWarehouse(@PathVariable Long warehouseId, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        inventoryItemService.writeItemsJson(null, warehouseId, response.getOutputStream());
+    }
+
     /**
      * Retrieves all items in a specific warehouse
      *
      * @param warehouseId Warehouse ID
+     * @param fields Comma separated fields to return (optional, defaults to all)
      * @return List of inventory item DTOs
      */
+    @Bulkhead("exports")
     @GetMapping("/warehouse/{warehouseId}")
-    public ResponseEntity<List<InventoryItemDto>> getItemsByWarehouse(@PathVariable Long warehouseId) {
-        List<InventoryItemDto> items = inventoryItemService.getItemsByWarehouse(warehouseId);
-        return ResponseEntity.ok(items);
+    public ResponseEntity<MappingJacksonValue> getItemsByWarehouse(
+            @PathVariable Long warehouseId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.ITEM_FIELDS);
+        List<InventoryItemDto> items = inventoryItemService.getItemsByWarehouse(warehouseId, selection);
+        return ResponseEntity.ok(selection.apply(items));
     }
 
     /**
@@ -64,6 +137,7 @@ public class InventoryItemController {
      * @param itemDto Inventory item data
      * @return Created inventory item DTO
      */
+    @Bulkhead("writes")
     @PostMapping
     public ResponseEntity<InventoryItemDto> createItem(@Valid @RequestBody InventoryItemDto itemDto) {
         InventoryItemDto created = inventoryItemService.createItem(itemDto);
@@ -77,6 +151,7 @@ public class InventoryItemController {
      * @param itemDto Updated item data
      * @return Updated inventory item DTO
      */
+    @Bulkhead("writes")
     @PutMapping("/{id}")
     public ResponseEntity<InventoryItemDto> updateItem(
             @PathVariable Long id,
@@ -91,6 +166,7 @@ public class InventoryItemController {
      * @param id Item ID
      * @return No content response
      */
+    @Bulkhead("writes")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
         inventoryItemService.deleteItem(id);
@@ -103,25 +179,88 @@ public class InventoryItemController {
      * @param transferRequest Transfer details
      * @return Updated inventory item DTO
      */
+    @Bulkhead("transfers")
     @PostMapping("/transfer")
     public ResponseEntity<InventoryItemDto> transferItem(@Valid @RequestBody TransferRequest transferRequest) {
         InventoryItemDto transferred = inventoryItemService.transferItem(transferRequest);
         return ResponseEntity.ok(transferred);
     }
 
+    /**
+     * Streams matching inventory items as JSON.
+     * Selected for JSON requests without a fields parameter; other formats use {@link #searchItems}.
+     *
+     * @param searchTerm Search term (optional)
+     * @param warehouseId Warehouse ID filter (optional)
+     * @param response HTTP response to write to
+     * @throws IOException if writing the response fails
+     */
+    @Bulkhead("searches")
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE, params = "!fields")
+    public void streamSearchItems(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) Long warehouseId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        inventoryItemService.writeItemsJson(searchTerm, warehouseId, response.getOutputStream());
+    }
+
     /**
      * Searches inventory items
      *
      * @param searchTerm Search term (optional)
      * @param warehouseId Warehouse ID filter (optional)
+     * @param fields Comma separated fields to return (optional, defaults to all)
      * @return List of matching inventory item DTOs
      */
+    @Bulkhead("searches")
     @GetMapping("/search")
-    public ResponseEntity<List<InventoryItemDto>> searchItems(
+    public ResponseEntity<MappingJacksonValue> searchItems(
             @RequestParam(required = false) String searchTerm,
-            @RequestParam(required = false) Long warehouseId) {
-        List<InventoryItemDto> items = inventoryItemService.searchItems(searchTerm, warehouseId);
-        return ResponseEntity.ok(items);
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.ITEM_FIELDS);
+        List<InventoryItemDto> items = inventoryItemService.searchItems(searchTerm, warehouseId, selection);
+        return ResponseEntity.ok(selection.apply(items));
+    }
+
+    /**
+     * Searches inventory items and returns a page of results with facet counts.
+     * Selected when {@code facets=true}; the category and warehouse parameters drill down into a facet.
+     *
+     * @param searchTerm Search term (optional)
+     * @param warehouseId Warehouse drill-down (optional)
+     * @param category Category drill-down (optional)
+     * @param page Zero-based page number (optional, defaults to 0)
+     * @param size Page size (optional, defaults to 20)
+     * @return Page of results, total and counts per category and warehouse
+     */
+    @Bulkhead("searches")
+    @GetMapping(value = "/search", params = "facets=true")
+    public ResponseEntity<FacetedSearchResponse> searchItemsWithFacets(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) Long warehouseId,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(inventoryItemService.searchItemsWithFacets(searchTerm, warehouseId, category, page, size));
+    }
+
+    /**
+     * Searches SKUs and names allowing for typos, best matches first
+     *
+     * @param q Possibly mistyped SKU or name, at least 3 characters
+     * @param maxDistance Largest edit distance (optional, defaults to the configured maximum)
+     * @param limit Maximum number of results (optional, defaults to 20)
+     * @return Ranked matches with the matched term and its edit distance
+     */
+    @Bulkhead("searches")
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<List<FuzzyMatchDto>> fuzzySearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer maxDistance,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(fuzzySearchService.search(q, maxDistance, limit));
     }
 
     /**
@@ -129,9 +268,104 @@ public class InventoryItemController {
      *
      * @return List of categories
      */
+    @Bulkhead("reads")
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getCategories() {
         List<String> categories = inventoryItemService.getCategories();
         return ResponseEntity.ok(categories);
     }
+
+    /**
+     * Retrieves the stock of a SKU across all warehouses
+     *
+     * @param sku Stock Keeping Unit
+     * @return Total quantity and per-warehouse breakdown
+     */
+    @Bulkhead("reads")
+    @GetMapping("/sku/{sku}/stock")
+    public ResponseEntity<SkuStockDto> getSkuStock(@PathVariable String sku) {
+        return ResponseEntity.ok(inventoryItemService.getSkuStock(sku));
+    }
+
+    /**
+     * Sets the low-stock threshold on an item's SKU in the item's warehouse
+     *
+     * @param id Inventory item ID
+     * @param request Reorder point and optional recovery level
+     * @return The threshold with its alert state for the current stock
+     */
+    @Bulkhead("writes")
+    @PutMapping("/{id}/threshold")
+    public ResponseEntity<StockThresholdDto> setItemThreshold(
+            @PathVariable Long id,
+            @Valid @RequestBody StockThresholdRequest request) {
+        return ResponseEntity.ok(stockAlertService.setItemThreshold(id, request));
+    }
+
+    /**
+     * Sets the low-stock threshold on a SKU's stock across all warehouses
+     *
+     * @param sku Stock Keeping Unit
+     * @param request Reorder point and optional recovery level
+     * @return The threshold with its alert state for the current stock
+     */
+    @Bulkhead("writes")
+    @PutMapping("/sku/{sku}/threshold")
+    public ResponseEntity<StockThresholdDto> setSkuThreshold(
+            @PathVariable String sku,
+            @Valid @RequestBody StockThresholdRequest request) {
+        return ResponseEntity.ok(stockAlertService.setSkuThreshold(sku, request));
+    }
+
+    /**
+     * Deletes a low-stock threshold
+     *
+     * @param thresholdId Threshold ID
+     * @return No content
+     */
+    @Bulkhead("writes")
+    @DeleteMapping("/thresholds/{thresholdId}")
+    public ResponseEntity<Void> deleteThreshold(@PathVariable Long thresholdId) {
+        stockAlertService.deleteThreshold(thresholdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the raised low-stock alerts
+     *
+     * @return Thresholds whose stock is below the reorder point, most recent first
+     */
+    @Bulkhead("reads")
+    @GetMapping("/alerts")
+    public ResponseEntity<List<StockThresholdDto>> getActiveAlerts() {
+        return ResponseEntity.ok(stockAlertService.getActiveAlerts());
+    }
+
+    /**
+     * Streams low-stock alerts as server-sent events: the raised alerts first, then every alert raised
+     * or cleared on any node. Not in a bulkhead group, since a subscriber would hold its permit for as
+     * long as it stays connected; subscribers are capped by {@code inventory.alerts.max-subscribers} instead.
+     *
+     * @return Event stream of {@code alert} events
+     */
+    @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return stockAlertService.subscribe();
+    }
+
+    /**
+     * Retrieves the items and warehouses changed since a cursor, for delta sync.
+     * Call without a cursor first, then load the full lists, then poll with the returned cursor.
+     *
+     * @param since Cursor from the previous call (optional)
+     * @param limit Maximum number of changes to read (optional, defaults to 500)
+     * @return Changed entities, deleted IDs and the next cursor
+     */
+    @Bulkhead("reads")
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
 }
@@ -0,0 +1,73 @@
+package com.skillstorm.inventory_management.controllers;
+
+import com.skillstorm.inventory_management.dtos.RecordingStatus;
+import com.skillstorm.inventory_management.services.ProfilingService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Admin REST Controller for on-demand Java Flight Recorder profiling.
+ * Lets a recording be taken in production without attaching a profiler; the file opens in
+ * JDK Mission Control or {@code jfr print}, including the inventory.* business events.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+@RequiredArgsConstructor
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    /**
+     * Starts a bounded JFR recording
+     *
+     * @param durationSeconds Seconds after which the recording stops by itself (optional, capped by configuration)
+     * @return Status of the started recording
+     */
+    @PostMapping("/start")
+    public ResponseEntity<RecordingStatus> startRecording(@RequestParam(required = false) Long durationSeconds) {
+        Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null;
+        return ResponseEntity.ok(profilingService.start(duration));
+    }
+
+    /**
+     * Retrieves the status of the current recording
+     *
+     * @return Recording status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<RecordingStatus> getStatus() {
+        return ResponseEntity.ok(profilingService.getStatus());
+    }
+
+    /**
+     * Stops the recording (if still running) and downloads it as a .jfr file
+     *
+     * @param response HTTP response to write the file to
+     * @throws IOException if writing the response fails
+     */
+    @PostMapping("/stop")
+    public void stopRecording(HttpServletResponse response) throws IOException {
+        Path file = profilingService.stopAndDump();
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory.jfr\"");
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,11 +1,27 @@
 package com.skillstorm.inventory_management.controllers;
 
+import com.skillstorm.inventory_management.config.Bulkhead;
+import com.skillstorm.inventory_management.dtos.BatchGetRequest;
+import com.skillstorm.inventory_management.dtos.BatchGetResponse;
+import com.skillstorm.inventory_management.dtos.CategoryStatsDto;
+import com.skillstorm.inventory_management.dtos.FieldSelection;
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.PlacementSuggestionDto;
+import com.skillstorm.inventory_management.dtos.RebalancePlanDto;
+import com.skillstorm.inventory_management.dtos.ReceiptRequest;
+import com.skillstorm.inventory_management.dtos.ReservationDto;
+import com.skillstorm.inventory_management.dtos.ReservationRequest;
 import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.services.CapacityIndex;
+import com.skillstorm.inventory_management.services.CapacityReservationService;
+import com.skillstorm.inventory_management.services.RebalancingService;
+import com.skillstorm.inventory_management.services.WarehousePlacementService;
 import com.skillstorm.inventory_management.services.WarehouseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,16 +37,94 @@ import java.util.List;
 public class WarehouseController {
 
     private final WarehouseService warehouseService;
+    private final WarehousePlacementService warehousePlacementService;
+    private final RebalancingService rebalancingService;
+    private final CapacityReservationService capacityReservationService;
 
     /**
      * Retrieves all warehouses
      *
+     * @param fields Comma separated fields to return (optional, defaults to all)
      * @return List of warehouse DTOs
      */
+    @Bulkhead("reads")
     @GetMapping
-    public ResponseEntity<List<WarehouseDto>> getAllWarehouses() {
-        List<WarehouseDto> warehouses = warehouseService.getAllWarehouses();
-        return ResponseEntity.ok(warehouses);
+    public ResponseEntity<MappingJacksonValue> getAllWarehouses(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.WAREHOUSE_FIELDS);
+        List<WarehouseDto> warehouses = warehouseService.getAllWarehouses(selection);
+        return ResponseEntity.ok(selection.apply(warehouses));
+    }
+
+    /**
+     * Suggests warehouses that can take a quantity, to call before a transfer or receipt
+     *
+     * @param quantity Units to place
+     * @param sku SKU being placed; warehouses already stocking it come first (optional)
+     * @param excludeWarehouseId Warehouse to leave out, e.g. the transfer source (optional)
+     * @param fit MOST_ROOM (default) or TIGHTEST
+     * @param limit Maximum number of suggestions
+     * @return Warehouses with room, best first
+     */
+    @Bulkhead("reads")
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<PlacementSuggestionDto>> suggestWarehouses(
+            @RequestParam int quantity,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) Long excludeWarehouseId,
+            @RequestParam(defaultValue = "MOST_ROOM") String fit,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(warehousePlacementService.suggest(
+                quantity, sku, excludeWarehouseId, CapacityIndex.Fit.parse(fit), limit));
+    }
+
+    /**
+     * Finds the warehouses nearest to a point that can take a quantity
+     *
+     * @param latitude Latitude in degrees
+     * @param longitude Longitude in degrees
+     * @param quantity Units to place
+     * @param sku SKU being placed, to report the quantity already stocked (optional)
+     * @param excludeWarehouseId Warehouse to leave out, e.g. the transfer source (optional)
+     * @param k Maximum number of warehouses
+     * @return Warehouses with room, nearest first, with their distance
+     */
+    @Bulkhead("reads")
+    @GetMapping("/nearest")
+    public ResponseEntity<List<PlacementSuggestionDto>> findNearestWarehouses(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam int quantity,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) Long excludeWarehouseId,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(warehousePlacementService.nearest(
+                latitude, longitude, quantity, sku, excludeWarehouseId, k));
+    }
+
+    /**
+     * Plans the transfers that bring every warehouse to at most a target utilization, without performing them
+     *
+     * @param targetUtilization Target utilization percentage
+     * @return Planned transfers and the warehouses that cannot be brought under the target
+     */
+    @Bulkhead("searches")
+    @GetMapping("/rebalance")
+    public ResponseEntity<RebalancePlanDto> planRebalance(@RequestParam double targetUtilization) {
+        return ResponseEntity.ok(rebalancingService.rebalance(targetUtilization, false));
+    }
+
+    /**
+     * Plans the transfers that bring every warehouse to at most a target utilization and performs up to
+     * {@code inventory.rebalance.max-transfers} of them. Runs in its own bulkhead group, so a long rebalance
+     * neither takes a permit from manual transfers nor skews their latency-driven limit.
+     *
+     * @param targetUtilization Target utilization percentage
+     * @return Performed transfers, with any that failed and the number left for another call
+     */
+    @Bulkhead("rebalance")
+    @PostMapping("/rebalance")
+    public ResponseEntity<RebalancePlanDto> rebalance(@RequestParam double targetUtilization) {
+        return ResponseEntity.ok(rebalancingService.rebalance(targetUtilization, true));
     }
 
     /**
@@ -39,18 +133,102 @@ public class WarehouseController {
      * @param id Warehouse ID
      * @return Warehouse DTO
      */
+    @Bulkhead("reads")
     @GetMapping("/{id}")
     public ResponseEntity<WarehouseDto> getWarehouseById(@PathVariable Long id) {
         WarehouseDto warehouse = warehouseService.getWarehouseById(id);
         return ResponseEntity.ok(warehouse);
     }
 
+    /**
+     * Retrieves the category breakdown of a warehouse
+     *
+     * @param id Warehouse ID
+     * @return Item count, total quantity and capacity share per category
+     */
+    @Bulkhead("reads")
+    @GetMapping("/{id}/categories")
+    public ResponseEntity<List<CategoryStatsDto>> getCategoryStats(@PathVariable Long id) {
+        return ResponseEntity.ok(warehouseService.getCategoryStats(id));
+    }
+
+    /**
+     * Holds capacity in a warehouse for an inbound shipment
+     *
+     * @param id Warehouse ID
+     * @param reservationRequest Quantity, time to live and optional reference
+     * @return Created reservation
+     */
+    @Bulkhead("writes")
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<ReservationDto> createReservation(
+            @PathVariable Long id,
+            @Valid @RequestBody ReservationRequest reservationRequest) {
+        ReservationDto created = capacityReservationService.createReservation(id, reservationRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * Retrieves a warehouse's reservations that have not expired
+     *
+     * @param id Warehouse ID
+     * @return Reservations, soonest to expire first
+     */
+    @Bulkhead("reads")
+    @GetMapping("/{id}/reservations")
+    public ResponseEntity<List<ReservationDto>> getReservations(@PathVariable Long id) {
+        return ResponseEntity.ok(capacityReservationService.getReservations(id));
+    }
+
+    /**
+     * Releases a reservation before it expires
+     *
+     * @param reservationId Reservation ID
+     * @return No content response
+     */
+    @Bulkhead("writes")
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> releaseReservation(@PathVariable Long reservationId) {
+        capacityReservationService.releaseReservation(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Receives the shipment a reservation was held for into the reservation's warehouse
+     *
+     * @param reservationId Reservation ID
+     * @param receiptRequest SKU, item details and quantity received
+     * @return Created or updated inventory item
+     */
+    @Bulkhead("writes")
+    @PostMapping("/reservations/{reservationId}/receive")
+    public ResponseEntity<InventoryItemDto> receiveReservation(
+            @PathVariable Long reservationId,
+            @Valid @RequestBody ReceiptRequest receiptRequest) {
+        return ResponseEntity.ok(capacityReservationService.receiveReservation(reservationId, receiptRequest));
+    }
+
+    /**
+     * Retrieves several warehouses by ID in one call
+     *
+     * @param batchGetRequest IDs to resolve
+     * @return Found warehouses and the IDs that were not found
+     */
+    @Bulkhead("reads")
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<WarehouseDto>> getWarehousesByIds(
+            @Valid @RequestBody BatchGetRequest batchGetRequest) {
+        BatchGetResponse<WarehouseDto> warehouses = warehouseService.getWarehousesByIds(batchGetRequest.getIds());
+        return ResponseEntity.ok(warehouses);
+    }
+
     /**
      * Creates a new warehouse
      *
      * @param warehouseDto Warehouse data
      * @return Created warehouse DTO
      */
+    @Bulkhead("writes")
     @PostMapping
     public ResponseEntity<WarehouseDto> createWarehouse(@Valid @RequestBody WarehouseDto warehouseDto) {
         WarehouseDto created = warehouseService.createWarehouse(warehouseDto);
@@ -64,6 +242,7 @@ public class WarehouseController {
      * @param warehouseDto Updated warehouse data
      * @return Updated warehouse DTO
      */
+    @Bulkhead("writes")
     @PutMapping("/{id}")
     public ResponseEntity<WarehouseDto> updateWarehouse(
             @PathVariable Long id,
@@ -78,6 +257,7 @@ public class WarehouseController {
      * @param id Warehouse ID
      * @return No content response
      */
+    @Bulkhead("writes")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteWarehouse(@PathVariable Long id) {
         warehouseService.deleteWarehouse(id);
@@ -88,11 +268,16 @@ public class WarehouseController {
      * Searches warehouses by name
      *
      * @param name Search term
+     * @param fields Comma separated fields to return (optional, defaults to all)
      * @return List of matching warehouse DTOs
      */
+    @Bulkhead("searches")
     @GetMapping("/search")
-    public ResponseEntity<List<WarehouseDto>> searchWarehouses(@RequestParam String name) {
-        List<WarehouseDto> warehouses = warehouseService.searchWarehousesByName(name);
-        return ResponseEntity.ok(warehouses);
+    public ResponseEntity<MappingJacksonValue> searchWarehouses(
+            @RequestParam String name,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.WAREHOUSE_FIELDS);
+        List<WarehouseDto> warehouses = warehouseService.searchWarehousesByName(name, selection);
+        return ResponseEntity.ok(selection.apply(warehouses));
     }
 }
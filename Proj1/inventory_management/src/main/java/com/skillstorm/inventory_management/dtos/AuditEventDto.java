@@ -0,0 +1,44 @@
+package com.skillstorm.inventory_management.dtos;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a persisted audit event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventDto {
+
+    private Long id;
+
+    private Instant occurredAt;
+
+    /**
+     * User who made the change
+     */
+    private String actor;
+
+    /**
+     * CREATE, UPDATE, DELETE or TRANSFER
+     */
+    private String action;
+
+    /**
+     * ITEM or WAREHOUSE
+     */
+    private String entityType;
+
+    private Long entityId;
+
+    /**
+     * Changed values, passed through as stored JSON
+     */
+    @JsonRawValue
+    private String details;
+}
@@ -0,0 +1,25 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for resolving several resources by ID in one call.
+ * Used by the batch-get endpoints for items and warehouses.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    /**
+     * IDs to resolve; duplicates are ignored and request order is preserved
+     */
+    @NotEmpty(message = "At least one ID is required")
+    private List<@NotNull(message = "IDs cannot be null") Long> ids;
+}
@@ -0,0 +1,29 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object returned by the batch-get endpoints.
+ * Contains the resolved resources and the IDs that did not match anything.
+ *
+ * @param <T> Type of the resolved DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse<T> {
+
+    /**
+     * Resources that were found, in the order their IDs were requested
+     */
+    private List<T> found;
+
+    /**
+     * Requested IDs that did not match any resource
+     */
+    private List<Long> notFound;
+}
@@ -0,0 +1,28 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the statistics of one category in a warehouse.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatsDto {
+
+    /**
+     * Category name, null for uncategorized items
+     */
+    private String category;
+
+    private Integer itemCount;
+
+    private Long totalQuantity;
+
+    /**
+     * Percentage of the warehouse's maximum capacity taken by this category
+     */
+    private Double capacityShare;
+}
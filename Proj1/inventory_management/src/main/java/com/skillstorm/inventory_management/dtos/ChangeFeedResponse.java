@@ -0,0 +1,54 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object returned by the delta-sync change feed.
+ * Holds the current state of every item and warehouse changed since the requested cursor,
+ * and the IDs of those deleted since (tombstones).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+
+    /**
+     * Cursor to pass as {@code since} on the next call
+     */
+    private String cursor;
+
+    /**
+     * Whether more changes are waiting; if so, call again with the returned cursor right away
+     */
+    private boolean hasMore;
+
+    /**
+     * Whether the requested cursor is older than the retained change log; the client must
+     * reload the full lists after taking a new cursor
+     */
+    private boolean resyncRequired;
+
+    /**
+     * Items created or updated since the cursor, in their current state
+     */
+    private List<InventoryItemDto> items;
+
+    /**
+     * Warehouses created or updated (including capacity figures) since the cursor, in their current state
+     */
+    private List<WarehouseDto> warehouses;
+
+    /**
+     * IDs of items deleted since the cursor
+     */
+    private List<Long> deletedItemIds;
+
+    /**
+     * IDs of warehouses deleted since the cursor
+     */
+    private List<Long> deletedWarehouseIds;
+}
@@ -0,0 +1,63 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of search results with facet counts.
+ * Each facet is counted over the results with every other active filter applied but not its own,
+ * so the counts show what selecting another value of that facet would return.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedSearchResponse {
+
+    /**
+     * Items on the requested page, ordered by name
+     */
+    private List<InventoryItemDto> items;
+
+    /**
+     * Number of items matching the search term and all drill-down filters
+     */
+    private long total;
+
+    private int page;
+
+    private int size;
+
+    /**
+     * Matching item counts per category
+     */
+    private List<FacetCount> categories;
+
+    /**
+     * Matching item counts per warehouse
+     */
+    private List<FacetCount> warehouses;
+
+    /**
+     * Number of matching items for one facet value
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+
+        /**
+         * Warehouse ID for warehouse facets, null for categories
+         */
+        private Long id;
+
+        /**
+         * Category name (null for uncategorized) or warehouse name
+         */
+        private String value;
+
+        private long count;
+    }
+}
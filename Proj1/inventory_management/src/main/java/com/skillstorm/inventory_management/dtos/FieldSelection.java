@@ -0,0 +1,120 @@
+package com.skillstorm.inventory_management.dtos;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse fieldset requested through the {@code fields} query parameter.
+ * Drives both the columns selected in SQL and the properties written to the response.
+ */
+public final class FieldSelection {
+
+    /**
+     * Jackson filter ID used by DTOs that support sparse fieldsets
+     */
+    public static final String FILTER_ID = "fieldSelection";
+
+    /**
+     * Selectable properties of InventoryItemDto
+     */
+    public static final List<String> ITEM_FIELDS = List.of(
+            "id", "sku", "name", "description", "category", "quantity",
+            "storageLocation", "warehouseId", "warehouseName");
+
+    /**
+     * Selectable properties of WarehouseDto
+     */
+    public static final List<String> WAREHOUSE_FIELDS = List.of(
+            "id", "name", "location", "maxCapacity", "latitude", "longitude", "currentCapacity",
+            "reservedCapacity", "availableCapacity", "utilizationPercentage", "itemCount");
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    /**
+     * Selected fields in request order, or null when every field is selected
+     */
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Selection that includes every field
+     *
+     * @return Selection of all fields
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma separated {@code fields} parameter
+     *
+     * @param fields Raw parameter value (null or blank selects every field)
+     * @param allowed Fields that may be selected
+     * @return Parsed selection
+     * @throws IllegalArgumentException if an unknown field is requested
+     */
+    public static FieldSelection parse(String fields, Collection<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new IllegalArgumentException(
+                    "Unknown field '" + trimmed + "'. Allowed fields: " + String.join(", ", allowed)
+                );
+            }
+            selected.add(trimmed);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    /**
+     * @return true if every field is selected
+     */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * @param field Field name
+     * @return true if the field is part of the selection
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * @return Selected fields in request order, or null when every field is selected
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Wraps a response body so that only the selected properties are serialized
+     *
+     * @param body Response body
+     * @return Body with the field filter applied
+     */
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID,
+                isAll() ? SimpleBeanPropertyFilter.serializeAll() : SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+}
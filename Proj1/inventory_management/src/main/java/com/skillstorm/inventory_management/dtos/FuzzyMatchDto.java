@@ -0,0 +1,31 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one typo-tolerant search hit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FuzzyMatchDto {
+
+    private InventoryItemDto item;
+
+    /**
+     * Field that matched: SKU or NAME
+     */
+    private String matchedField;
+
+    /**
+     * Lower-cased SKU, name or name word that matched
+     */
+    private String matchedTerm;
+
+    /**
+     * Edit distance between the query and the matched term
+     */
+    private int distance;
+}
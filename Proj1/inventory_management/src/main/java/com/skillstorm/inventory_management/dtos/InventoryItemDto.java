@@ -1,5 +1,6 @@
 package com.skillstorm.inventory_management.dtos;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,7 @@ import jakarta.validation.constraints.Min;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class InventoryItemDto {
 
     /**
@@ -0,0 +1,62 @@
+package com.skillstorm.inventory_management.dtos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * Hand-written JSON serializer for inventory items.
+ * Writes the same properties, in the same order, as Jackson's reflective InventoryItemDto
+ * serializer, but with pre-encoded property names, no bean introspection and no String
+ * decoding of text columns.
+ */
+public final class InventoryItemJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString SKU = new SerializedString("sku");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString STORAGE_LOCATION = new SerializedString("storageLocation");
+    private static final SerializableString WAREHOUSE_ID = new SerializedString("warehouseId");
+    private static final SerializableString WAREHOUSE_NAME = new SerializedString("warehouseName");
+
+    private InventoryItemJsonWriter() {
+    }
+
+    /**
+     * Writes one item row as a JSON object
+     *
+     * @param generator Target generator
+     * @param row Item row to write
+     * @throws IOException if writing fails
+     */
+    public static void write(JsonGenerator generator, InventoryItemRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(row.getId());
+        writeUtf8(generator, SKU, row.getSku());
+        writeUtf8(generator, NAME, row.getName());
+        writeUtf8(generator, DESCRIPTION, row.getDescription());
+        writeUtf8(generator, CATEGORY, row.getCategory());
+        generator.writeFieldName(QUANTITY);
+        generator.writeNumber(row.getQuantity());
+        writeUtf8(generator, STORAGE_LOCATION, row.getStorageLocation());
+        generator.writeFieldName(WAREHOUSE_ID);
+        generator.writeNumber(row.getWarehouseId());
+        writeUtf8(generator, WAREHOUSE_NAME, row.getWarehouseName());
+        generator.writeEndObject();
+    }
+
+    private static void writeUtf8(JsonGenerator generator, SerializableString name, byte[] value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeUTF8String(value, 0, value.length);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mutable, reusable view of one inventory item row used for streaming serialization.
+ * Text columns hold the raw UTF-8 bytes delivered by the JDBC driver, so rows can be
+ * written as JSON without decoding them into Strings. Properties mirror InventoryItemDto.
+ */
+@Data
+@NoArgsConstructor
+public class InventoryItemRow {
+
+    /**
+     * Unique identifier for the inventory item
+     */
+    private long id;
+
+    /**
+     * UTF-8 encoded Stock Keeping Unit
+     */
+    private byte[] sku;
+
+    /**
+     * UTF-8 encoded name of the product
+     */
+    private byte[] name;
+
+    /**
+     * UTF-8 encoded description, or null
+     */
+    private byte[] description;
+
+    /**
+     * UTF-8 encoded category, or null
+     */
+    private byte[] category;
+
+    /**
+     * Quantity of items in stock
+     */
+    private int quantity;
+
+    /**
+     * UTF-8 encoded storage location, or null
+     */
+    private byte[] storageLocation;
+
+    /**
+     * ID of the warehouse where this item is stored
+     */
+    private long warehouseId;
+
+    /**
+     * UTF-8 encoded warehouse name
+     */
+    private byte[] warehouseName;
+}
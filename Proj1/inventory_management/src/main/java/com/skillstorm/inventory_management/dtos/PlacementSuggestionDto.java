@@ -0,0 +1,35 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a warehouse able to take a quantity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementSuggestionDto {
+
+    private Long warehouseId;
+
+    private String warehouseName;
+
+    private Integer maxCapacity;
+
+    /**
+     * Units the warehouse can still take
+     */
+    private Long availableCapacity;
+
+    /**
+     * Quantity of the requested SKU already stored there, 0 if none or no SKU was given
+     */
+    private Long skuQuantity;
+
+    /**
+     * Great-circle distance from the requested point, null for suggestions not ranked by distance
+     */
+    private Double distanceKm;
+}
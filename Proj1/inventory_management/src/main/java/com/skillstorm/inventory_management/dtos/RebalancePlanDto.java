@@ -0,0 +1,56 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a plan of transfers that brings warehouses under a utilization target.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalancePlanDto {
+
+    /**
+     * Target utilization percentage every warehouse should end at or below
+     */
+    private double targetUtilization;
+
+    /**
+     * Whether the transfers were carried out, false for a dry run
+     */
+    private boolean executed;
+
+    /**
+     * Number of warehouses over the target when the plan was made
+     */
+    private int warehousesOverTarget;
+
+    /**
+     * Transfers to perform, in order; when executed, only those performed by this call
+     */
+    private List<TransferRequest> transfers;
+
+    /**
+     * Units moved by all transfers together
+     */
+    private long quantityMoved;
+
+    /**
+     * Planned transfers left for a later call because this one reached its transfer cap; 0 for a dry run
+     */
+    private int remainingTransfers;
+
+    /**
+     * Warehouses the plan cannot bring under the target because the others lack room
+     */
+    private List<Long> unresolvedWarehouseIds;
+
+    /**
+     * Transfers that failed when executed, e.g. because stock changed after planning; empty for a dry run
+     */
+    private List<String> failures;
+}
@@ -0,0 +1,38 @@
+package com.skillstorm.inventory_management.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for receiving the shipment a reservation was held for.
+ * If the warehouse already stocks the SKU the quantity is added to that item and the other
+ * fields are ignored; otherwise a new item is created from them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptRequest {
+
+    @NotBlank(message = "SKU is required")
+    private String sku;
+
+    /**
+     * Item name, required when the warehouse does not stock the SKU yet
+     */
+    private String name;
+
+    private String description;
+
+    private String category;
+
+    private String storageLocation;
+
+    /**
+     * Units received (optional, defaults to the reserved quantity)
+     */
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,41 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object describing the on-demand JFR recording.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatus {
+
+    /**
+     * Recording state: NONE, RUNNING or STOPPED (duration elapsed, waiting to be downloaded)
+     */
+    private String state;
+
+    /**
+     * JFR settings the recording was started with (e.g. profile, default)
+     */
+    private String settings;
+
+    /**
+     * When the recording started, null if none exists
+     */
+    private Instant startTime;
+
+    /**
+     * Duration after which the recording stops by itself, in seconds
+     */
+    private Long durationSeconds;
+
+    /**
+     * Bytes recorded so far
+     */
+    private Long size;
+}
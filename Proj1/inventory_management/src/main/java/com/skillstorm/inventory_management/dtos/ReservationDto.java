@@ -0,0 +1,40 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a capacity reservation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDto {
+
+    private Long id;
+
+    /**
+     * Warehouse whose capacity is held
+     */
+    private Long warehouseId;
+
+    /**
+     * Units of capacity held
+     */
+    private Integer quantity;
+
+    /**
+     * Caller's reference for the shipment, null if none was given
+     */
+    private String reference;
+
+    private Instant createdAt;
+
+    /**
+     * When the hold is released unless received or released first
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,38 @@
+package com.skillstorm.inventory_management.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Data Transfer Object for holding warehouse capacity for an inbound shipment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+
+    /**
+     * Units of capacity to hold
+     */
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    /**
+     * How long the capacity is held unless received or released first, as an ISO-8601 duration (e.g. PT48H)
+     */
+    @NotNull(message = "TTL is required")
+    private Duration ttl;
+
+    /**
+     * Caller's reference for the shipment, e.g. a purchase order number (optional)
+     */
+    @Size(max = 255, message = "Reference must be at most 255 characters")
+    private String reference;
+}
@@ -0,0 +1,43 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the network-wide stock of one SKU.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuStockDto {
+
+    private String sku;
+
+    /**
+     * Quantity on hand across all warehouses
+     */
+    private Long totalQuantity;
+
+    /**
+     * Stock in each warehouse holding the SKU, largest first
+     */
+    private List<WarehouseStock> warehouses;
+
+    /**
+     * Stock of the SKU in one warehouse
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WarehouseStock {
+
+        private Long warehouseId;
+
+        private String warehouseName;
+
+        private Long quantity;
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillstorm.inventory_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a low-stock threshold and its alert state.
+ * Also the payload pushed to alert subscribers whenever the alert is raised or cleared.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockThresholdDto {
+
+    private Long id;
+
+    private String sku;
+
+    /**
+     * Warehouse whose stock of the SKU is watched, null for the SKU's stock across all warehouses
+     */
+    private Long warehouseId;
+
+    /**
+     * The alert is raised when stock drops below this quantity
+     */
+    private Integer reorderPoint;
+
+    /**
+     * A raised alert is cleared once stock is back at or above this quantity
+     */
+    private Integer recoveryLevel;
+
+    /**
+     * Whether stock is below the reorder point and has not recovered yet
+     */
+    private boolean alertActive;
+
+    /**
+     * Stock when the alert was last raised or cleared
+     */
+    private Long quantity;
+
+    /**
+     * When the alert was last raised or cleared, or the threshold set
+     */
+    private Instant changedAt;
+}
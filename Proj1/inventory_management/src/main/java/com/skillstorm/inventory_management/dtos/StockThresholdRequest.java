@@ -0,0 +1,29 @@
+package com.skillstorm.inventory_management.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for setting a low-stock threshold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockThresholdRequest {
+
+    /**
+     * The alert is raised when stock drops below this quantity
+     */
+    @NotNull(message = "Reorder point is required")
+    @Min(value = 1, message = "Reorder point must be at least 1")
+    private Integer reorderPoint;
+
+    /**
+     * A raised alert is cleared once stock is back at or above this quantity
+     * (optional, defaults to the reorder point plus the configured hysteresis)
+     */
+    private Integer recoveryLevel;
+}
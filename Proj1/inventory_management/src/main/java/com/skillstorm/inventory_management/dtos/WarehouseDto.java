@@ -1,10 +1,13 @@
 package com.skillstorm.inventory_management.dtos;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 
 /**
  * Data Transfer Object for Warehouse entity.
@@ -13,6 +16,7 @@ import jakarta.validation.constraints.Min;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class WarehouseDto {
 
     /**
@@ -38,13 +42,32 @@ public class WarehouseDto {
     @Min(value = 1, message = "Maximum capacity must be at least 1")
     private Integer maxCapacity;
 
+    /**
+     * Latitude in degrees (optional, given together with longitude)
+     */
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    /**
+     * Longitude in degrees (optional, given together with latitude)
+     */
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     /**
      * Current total quantity of items in the warehouse
      */
     private Integer currentCapacity;
 
     /**
-     * Available capacity remaining
+     * Capacity held by active reservations
+     */
+    private Integer reservedCapacity;
+
+    /**
+     * Available capacity remaining after stored items and reservations
      */
     private Integer availableCapacity;
 
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +51,26 @@ public class Warehouse {
     @Min(value = 1, message = "Maximum capacity must be at least 1")
     private Integer maxCapacity;
 
+    /**
+     * Latitude in degrees, null if the warehouse has no coordinates
+     */
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    /**
+     * Longitude in degrees, null if the warehouse has no coordinates
+     */
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    /**
+     * Capacity held by active reservations, maintained by the reservation service
+     */
+    @Column(insertable = false, updatable = false)
+    private Integer reservedCapacity = 0;
+
     /**
      * List of inventory items stored in this warehouse
      * Cascade operations ensure items are managed with the warehouse
@@ -70,24 +92,24 @@ public class Warehouse {
     }
 
     /**
-     * Checks if the warehouse has available capacity
+     * Checks if the warehouse has available capacity, counting capacity held by reservations as used
      *
      * @param quantityToAdd Quantity to be added
      * @return true if there is sufficient capacity, false otherwise
      */
     @Transient
     public boolean hasCapacity(int quantityToAdd) {
-        return getCurrentCapacity() + quantityToAdd <= maxCapacity;
+        return getCurrentCapacity() + reservedCapacity + quantityToAdd <= maxCapacity;
     }
 
     /**
-     * Gets the available capacity remaining in the warehouse
+     * Gets the available capacity remaining in the warehouse, net of reservations
      *
      * @return Available capacity
      */
     @Transient
     public Integer getAvailableCapacity() {
-        return maxCapacity - getCurrentCapacity();
+        return maxCapacity - getCurrentCapacity() - reservedCapacity;
     }
 
     /**
@@ -0,0 +1,31 @@
+package com.skillstorm.inventory_management.exceptions;
+
+/**
+ * Exception thrown when a request is rejected because its bulkhead group is at its concurrency limit.
+ * This is a runtime exception that will be handled by the global exception handler.
+ */
+public class BulkheadRejectedException extends RuntimeException {
+
+    /**
+     * Seconds the client should wait before retrying
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new BulkheadRejectedException with the specified detail message
+     *
+     * @param message the detail message
+     * @param retryAfterSeconds seconds the client should wait before retrying
+     */
+    public BulkheadRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return Seconds the client should wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
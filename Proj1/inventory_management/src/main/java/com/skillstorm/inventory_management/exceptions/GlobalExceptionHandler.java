@@ -1,5 +1,6 @@
 package com.skillstorm.inventory_management.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -89,6 +90,56 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles BulkheadRejectedException
+     *
+     * @param ex Exception
+     * @param request Web request
+     * @return Error response with 503 status and Retry-After header
+     */
+    @ExceptionHandler(BulkheadRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadRejectedException(
+            BulkheadRejectedException ex,
+            WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles ViewLoadingException
+     *
+     * @param ex Exception
+     * @param request Web request
+     * @return Error response with 503 status and Retry-After header
+     */
+    @ExceptionHandler(ViewLoadingException.class)
+    public ResponseEntity<ErrorResponse> handleViewLoadingException(
+            ViewLoadingException ex,
+            WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * Handles IllegalArgumentException and IllegalStateException
      *
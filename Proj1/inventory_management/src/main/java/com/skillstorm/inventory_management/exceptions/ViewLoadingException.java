@@ -0,0 +1,32 @@
+package com.skillstorm.inventory_management.exceptions;
+
+/**
+ * Exception thrown when a request needs an in-memory view (an index kept current from the change log)
+ * that this node has not finished loading yet.
+ * This is a runtime exception that will be handled by the global exception handler.
+ */
+public class ViewLoadingException extends RuntimeException {
+
+    /**
+     * Seconds the client should wait before retrying
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ViewLoadingException with the specified detail message
+     *
+     * @param message the detail message
+     * @param retryAfterSeconds seconds the client should wait before retrying
+     */
+    public ViewLoadingException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return Seconds the client should wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
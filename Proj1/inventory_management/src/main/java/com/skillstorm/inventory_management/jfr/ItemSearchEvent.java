@@ -0,0 +1,36 @@
+package com.skillstorm.inventory_management.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * JFR event for the item search path (list, sparse fieldset and streamed variants of
+ * InventoryItemService.searchItems / writeItemsJson).
+ */
+@Name("inventory.ItemSearch")
+@Label("Item Search")
+@Category({"Inventory", "Reads"})
+@Description("Search of inventory items by term and warehouse")
+@StackTrace(false)
+@Setter
+public class ItemSearchEvent extends Event {
+
+    @Label("Search Term")
+    private String searchTerm;
+
+    @Label("Warehouse ID")
+    @Description("Warehouse filter, 0 when searching all warehouses")
+    private long warehouseId;
+
+    @Label("Result Count")
+    private int resultCount;
+
+    @Label("Mode")
+    @Description("list, fields (sparse fieldset) or stream")
+    private String mode;
+}
@@ -0,0 +1,47 @@
+package com.skillstorm.inventory_management.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * JFR event for InventoryItemService.transferItem, spanning the method from the warehouse
+ * locks to the returned DTO (the transaction commit is not included).
+ */
+@Name("inventory.ItemTransfer")
+@Label("Item Transfer")
+@Category({"Inventory", "Writes"})
+@Description("Transfer of an item quantity between two warehouses")
+@StackTrace(false)
+@Setter
+public class ItemTransferEvent extends Event {
+
+    @Label("Item ID")
+    private long itemId;
+
+    @Label("Source Warehouse ID")
+    private long sourceWarehouseId;
+
+    @Label("Destination Warehouse ID")
+    private long destinationWarehouseId;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Destination Item Count")
+    @Description("Items loaded from the destination warehouse for the capacity and SKU checks")
+    private int destinationItemCount;
+
+    @Label("Capacity Check")
+    @Timespan(Timespan.NANOSECONDS)
+    private long capacityCheckDuration;
+
+    @Label("Outcome")
+    @Description("ok, or the simple name of the exception that ended the operation")
+    private String outcome = "ok";
+}
@@ -0,0 +1,51 @@
+package com.skillstorm.inventory_management.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * JFR event for InventoryItemService.createItem and updateItem, spanning the method
+ * from the warehouse lock to the returned DTO (the transaction commit is not included).
+ */
+@Name("inventory.ItemWrite")
+@Label("Item Write")
+@Category({"Inventory", "Writes"})
+@Description("Creation or update of an inventory item")
+@StackTrace(false)
+@Setter
+public class ItemWriteEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Item ID")
+    private long itemId;
+
+    @Label("Warehouse ID")
+    private long warehouseId;
+
+    @Label("Previous Warehouse ID")
+    @Description("Warehouse the item was in before an update, same as Warehouse ID if it did not move")
+    private long previousWarehouseId;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Warehouse Item Count")
+    @Description("Items loaded from the target warehouse for the SKU and capacity checks")
+    private int warehouseItemCount;
+
+    @Label("Capacity Check")
+    @Timespan(Timespan.NANOSECONDS)
+    private long capacityCheckDuration;
+
+    @Label("Outcome")
+    @Description("ok, or the simple name of the exception that ended the operation")
+    private String outcome = "ok";
+}
@@ -0,0 +1,89 @@
+package com.skillstorm.inventory_management.reactive;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive read-only endpoints for inventory items.
+ * Lists are written element by element as rows arrive, as a JSON array
+ * or as newline-delimited JSON when the client accepts application/x-ndjson.
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInventoryItemController {
+
+    private final ReactiveInventoryReadRepository readRepository;
+
+    /**
+     * Streams all inventory items
+     *
+     * @return All inventory item DTOs
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<InventoryItemDto> getAllItems() {
+        return readRepository.findItems(null, null);
+    }
+
+    /**
+     * Retrieves an inventory item by ID
+     *
+     * @param id Item ID
+     * @return Inventory item DTO
+     */
+    @GetMapping("/{id}")
+    public Mono<InventoryItemDto> getItemById(@PathVariable Long id) {
+        return readRepository.findItemById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Inventory item not found with id: " + id)));
+    }
+
+    /**
+     * Streams all items in a specific warehouse
+     *
+     * @param warehouseId Warehouse ID
+     * @return Inventory item DTOs in the warehouse
+     */
+    @GetMapping(value = "/warehouse/{warehouseId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<InventoryItemDto> getItemsByWarehouse(@PathVariable Long warehouseId) {
+        return readRepository.findItems(null, warehouseId);
+    }
+
+    /**
+     * Streams inventory items matching a search
+     *
+     * @param searchTerm Search term (optional)
+     * @param warehouseId Warehouse ID filter (optional)
+     * @return Matching inventory item DTOs
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<InventoryItemDto> searchItems(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) Long warehouseId) {
+        String searchPattern = searchTerm != null ? "%" + searchTerm.toLowerCase() + "%" : null;
+        return readRepository.findItems(searchPattern, warehouseId);
+    }
+
+    /**
+     * Retrieves all distinct categories.
+     * Collected into a list because WebFlux writes a {@code Flux<String>} as plain text.
+     *
+     * @return List of categories
+     */
+    @GetMapping("/categories")
+    public Mono<List<String>> getCategories() {
+        return readRepository.findCategories().collectList();
+    }
+}
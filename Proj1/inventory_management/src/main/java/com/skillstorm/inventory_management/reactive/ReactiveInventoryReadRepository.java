@@ -0,0 +1,160 @@
+package com.skillstorm.inventory_management.reactive;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC read queries for items and warehouses.
+ * Multi-row queries set a fetch size, so the driver pulls rows from a server-side portal
+ * in batches as downstream demand arrives instead of buffering the whole result.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInventoryReadRepository {
+
+    private static final String SELECT_ITEMS =
+            "SELECT i.id, i.sku, i.name, i.description, i.category, i.quantity, i.storage_location, " +
+            "i.warehouse_id, w.name AS warehouse_name FROM inventory_items i JOIN warehouses w ON w.id = i.warehouse_id";
+
+    private static final String SELECT_WAREHOUSES =
+            "SELECT w.id, w.name, w.location, w.max_capacity, w.latitude, w.longitude, w.reserved_capacity, " +
+            "COALESCE(u.total_quantity, 0) AS total_quantity, COALESCE(u.item_count, 0) AS item_count " +
+            "FROM warehouses w LEFT JOIN (SELECT warehouse_id, SUM(quantity) AS total_quantity, COUNT(*) AS item_count " +
+            "FROM inventory_items GROUP BY warehouse_id) u ON u.warehouse_id = w.id";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveInventoryReadRepository(DatabaseClient databaseClient,
+                                           @Value("${inventory.reactive.fetch-size:256}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams items matching the criteria
+     *
+     * @param searchPattern Optional lower-case LIKE pattern matched against name, SKU and category
+     * @param warehouseId Optional warehouse ID filter
+     * @return Matching items
+     */
+    public Flux<InventoryItemDto> findItems(String searchPattern, Long warehouseId) {
+        StringBuilder sql = new StringBuilder(SELECT_ITEMS);
+        String clause = " WHERE ";
+        if (searchPattern != null) {
+            sql.append(clause).append("(LOWER(i.name) LIKE :pattern OR LOWER(i.sku) LIKE :pattern OR LOWER(i.category) LIKE :pattern)");
+            clause = " AND ";
+        }
+        if (warehouseId != null) {
+            sql.append(clause).append("i.warehouse_id = :warehouseId");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize));
+        if (searchPattern != null) {
+            spec = spec.bind("pattern", searchPattern);
+        }
+        if (warehouseId != null) {
+            spec = spec.bind("warehouseId", warehouseId);
+        }
+        return spec.map(ReactiveInventoryReadRepository::toItemDto).all();
+    }
+
+    /**
+     * Finds a single item
+     *
+     * @param id Item ID
+     * @return Item, or empty if not found
+     */
+    public Mono<InventoryItemDto> findItemById(Long id) {
+        return databaseClient.sql(SELECT_ITEMS + " WHERE i.id = :id")
+                .bind("id", id)
+                .map(ReactiveInventoryReadRepository::toItemDto)
+                .one();
+    }
+
+    /**
+     * Streams distinct item categories in alphabetical order, read from the category_stats rollup
+     * rather than grouping inventory_items
+     *
+     * @return Categories
+     */
+    public Flux<String> findCategories() {
+        return databaseClient.sql("SELECT DISTINCT category FROM category_stats WHERE category <> '' ORDER BY category")
+                .map(row -> row.get("category", String.class))
+                .all();
+    }
+
+    /**
+     * Streams warehouses with their current usage
+     *
+     * @param namePattern Optional lower-case LIKE pattern matched against the name
+     * @return Matching warehouses
+     */
+    public Flux<WarehouseDto> findWarehouses(String namePattern) {
+        if (namePattern == null) {
+            return databaseClient.sql(SELECT_WAREHOUSES + " ORDER BY w.id")
+                    .filter(statement -> statement.fetchSize(fetchSize))
+                    .map(ReactiveInventoryReadRepository::toWarehouseDto)
+                    .all();
+        }
+        return databaseClient.sql(SELECT_WAREHOUSES + " WHERE LOWER(w.name) LIKE :pattern ORDER BY w.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("pattern", namePattern)
+                .map(ReactiveInventoryReadRepository::toWarehouseDto)
+                .all();
+    }
+
+    /**
+     * Finds a single warehouse with its current usage
+     *
+     * @param id Warehouse ID
+     * @return Warehouse, or empty if not found
+     */
+    public Mono<WarehouseDto> findWarehouseById(Long id) {
+        return databaseClient.sql(SELECT_WAREHOUSES + " WHERE w.id = :id")
+                .bind("id", id)
+                .map(ReactiveInventoryReadRepository::toWarehouseDto)
+                .one();
+    }
+
+    private static InventoryItemDto toItemDto(Readable row) {
+        return new InventoryItemDto(
+                row.get("id", Long.class),
+                row.get("sku", String.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("category", String.class),
+                row.get("quantity", Integer.class),
+                row.get("storage_location", String.class),
+                row.get("warehouse_id", Long.class),
+                row.get("warehouse_name", String.class)
+        );
+    }
+
+    private static WarehouseDto toWarehouseDto(Readable row) {
+        int maxCapacity = row.get("max_capacity", Integer.class);
+        int currentCapacity = row.get("total_quantity", Long.class).intValue();
+        int reservedCapacity = row.get("reserved_capacity", Integer.class);
+        return new WarehouseDto(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("location", String.class),
+                maxCapacity,
+                row.get("latitude", Double.class),
+                row.get("longitude", Double.class),
+                currentCapacity,
+                reservedCapacity,
+                maxCapacity - currentCapacity - reservedCapacity,
+                maxCapacity == 0 ? 0.0 : ((double) currentCapacity / maxCapacity) * 100,
+                row.get("item_count", Long.class).intValue()
+        );
+    }
+}
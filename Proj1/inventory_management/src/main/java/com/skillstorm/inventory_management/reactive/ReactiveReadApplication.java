@@ -0,0 +1,36 @@
+package com.skillstorm.inventory_management.reactive;
+
+import com.skillstorm.inventory_management.config.JacksonConfig;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking, read-only application for dashboard and partner traffic.
+ * Serves the GET endpoints of the item and warehouse APIs on WebFlux (Netty) over R2DBC,
+ * returning the same DTOs, and runs side by side with the servlet application that owns all writes.
+ * Configured by the {@code reactive} profile (port 8081).
+ * <p>
+ * Not a {@code @SpringBootApplication}: the servlet application's component scan also sees this
+ * package, so everything here is restricted to reactive web applications instead.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@ComponentScan
+@Import(JacksonConfig.class)
+public class ReactiveReadApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveReadApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.profiles("reactive")
+				.run(args);
+	}
+}
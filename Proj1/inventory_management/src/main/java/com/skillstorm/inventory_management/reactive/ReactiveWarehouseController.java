@@ -0,0 +1,59 @@
+package com.skillstorm.inventory_management.reactive;
+
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive read-only endpoints for warehouses.
+ */
+@RestController
+@RequestMapping("/api/warehouses")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWarehouseController {
+
+    private final ReactiveInventoryReadRepository readRepository;
+
+    /**
+     * Streams all warehouses
+     *
+     * @return All warehouse DTOs
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<WarehouseDto> getAllWarehouses() {
+        return readRepository.findWarehouses(null);
+    }
+
+    /**
+     * Retrieves a warehouse by ID
+     *
+     * @param id Warehouse ID
+     * @return Warehouse DTO
+     */
+    @GetMapping("/{id}")
+    public Mono<WarehouseDto> getWarehouseById(@PathVariable Long id) {
+        return readRepository.findWarehouseById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Warehouse not found with id: " + id)));
+    }
+
+    /**
+     * Streams warehouses whose name contains the search term
+     *
+     * @param name Search term
+     * @return Matching warehouse DTOs
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<WarehouseDto> searchWarehouses(@RequestParam String name) {
+        return readRepository.findWarehouses("%" + name.toLowerCase() + "%");
+    }
+}
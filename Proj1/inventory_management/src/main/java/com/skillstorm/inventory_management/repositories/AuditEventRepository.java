@@ -0,0 +1,99 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.dtos.AuditEventDto;
+import com.skillstorm.inventory_management.services.AuditEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the append-only {@code audit_events} table.
+ * Plain JDBC: the writer inserts whole batches in one round trip, and no entity is needed for rows
+ * that are never updated.
+ */
+@Repository
+public class AuditEventRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events (occurred_at, actor, action, entity_type, entity_id, details) "
+            + "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditEventRepository(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Inserts events as one JDBC batch
+     *
+     * @param events Events to insert
+     */
+    public void insertBatch(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.occurredAt().atOffset(ZoneOffset.UTC));
+            ps.setString(2, event.actor());
+            ps.setString(3, event.action().name());
+            ps.setString(4, event.entityType().name());
+            ps.setObject(5, event.entityId(), Types.BIGINT);
+            ps.setString(6, toJson(event));
+        });
+    }
+
+    /**
+     * Finds events in a time range, newest first
+     *
+     * @param from Inclusive start
+     * @param to Exclusive end
+     * @param entityType Optional entity type filter
+     * @param entityId Optional entity ID filter
+     * @param limit Maximum number of events
+     * @return Matching events
+     */
+    public List<AuditEventDto> find(Instant from, Instant to, String entityType, Long entityId, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, occurred_at, actor, action, entity_type, entity_id, details::text AS details "
+                        + "FROM audit_events WHERE occurred_at >= ? AND occurred_at < ?");
+        List<Object> args = new ArrayList<>(List.of(Timestamp.from(from), Timestamp.from(to)));
+        if (entityType != null) {
+            sql.append(" AND entity_type = ?");
+            args.add(entityType);
+        }
+        if (entityId != null) {
+            sql.append(" AND entity_id = ?");
+            args.add(entityId);
+        }
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new AuditEventDto(
+                rs.getLong("id"),
+                rs.getTimestamp("occurred_at").toInstant(),
+                rs.getString("actor"),
+                rs.getString("action"),
+                rs.getString("entity_type"),
+                rs.getObject("entity_id", Long.class),
+                rs.getString("details")
+        ), args.toArray());
+    }
+
+    private String toJson(AuditEvent event) {
+        if (event.details() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.details());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit details", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.ReservationDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores capacity reservations. Each statement that creates or deletes a reservation also adjusts
+ * the warehouse's reserved_capacity rollup, so the two never disagree; callers hold the warehouse lock.
+ */
+@Repository
+public class CapacityReservationRepository {
+
+    private static final String COLUMNS = "id, warehouse_id, quantity, reference, created_at, expires_at";
+
+    private static final String ADJUST_WAREHOUSE = "adjusted AS (UPDATE warehouses w "
+            + "SET reserved_capacity = w.reserved_capacity %s r.quantity FROM r WHERE w.id = r.warehouse_id) "
+            + "SELECT " + COLUMNS + " FROM r";
+
+    private static final RowMapper<ReservationDto> ROW_MAPPER = (rs, rowNum) -> new ReservationDto(
+            rs.getLong("id"), rs.getLong("warehouse_id"), rs.getInt("quantity"), rs.getString("reference"),
+            rs.getTimestamp("created_at").toInstant(), rs.getTimestamp("expires_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CapacityReservationRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Creates a reservation and adds it to the warehouse's reserved capacity
+     *
+     * @param warehouseId Warehouse ID
+     * @param quantity Units to hold
+     * @param reference Caller's reference (optional)
+     * @param ttl Time until the reservation expires, from the database clock
+     * @return The stored reservation
+     */
+    public ReservationDto create(long warehouseId, int quantity, String reference, Duration ttl) {
+        return jdbcTemplate.queryForObject("WITH r AS (INSERT INTO capacity_reservations "
+                        + "(warehouse_id, quantity, reference, expires_at) "
+                        + "VALUES (?, ?, ?, now() + make_interval(secs => ?)) RETURNING " + COLUMNS + "), "
+                        + ADJUST_WAREHOUSE.formatted("+"),
+                ROW_MAPPER, warehouseId, quantity, reference, ttl.toMillis() / 1000.0);
+    }
+
+    /**
+     * Deletes a reservation, expired or not, and removes it from the warehouse's reserved capacity
+     *
+     * @param id Reservation ID
+     * @return The deleted reservation, empty if there was none
+     */
+    public Optional<ReservationDto> delete(long id) {
+        return delete(id, "TRUE");
+    }
+
+    /**
+     * Deletes a reservation that has not expired yet, as {@link #delete}
+     *
+     * @param id Reservation ID
+     * @return The deleted reservation, empty if there was none or it has expired
+     */
+    public Optional<ReservationDto> deleteActive(long id) {
+        return delete(id, "expires_at > now()");
+    }
+
+    /**
+     * Deletes a reservation that has expired, as {@link #delete}
+     *
+     * @param id Reservation ID
+     * @return The deleted reservation, empty if there was none or it has not expired yet
+     */
+    public Optional<ReservationDto> deleteExpired(long id) {
+        return delete(id, "expires_at <= now()");
+    }
+
+    /**
+     * @param id Reservation ID
+     * @return ID of the reservation's warehouse, if the reservation exists
+     */
+    public Optional<Long> findWarehouseId(long id) {
+        return jdbcTemplate.queryForList("SELECT warehouse_id FROM capacity_reservations WHERE id = ?", Long.class, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * @param warehouseId Warehouse ID
+     * @return Reservations of the warehouse that have not expired, soonest to expire first
+     */
+    public List<ReservationDto> findActiveByWarehouseId(long warehouseId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM capacity_reservations "
+                + "WHERE warehouse_id = ? AND expires_at > now() ORDER BY expires_at, id", ROW_MAPPER, warehouseId);
+    }
+
+    /**
+     * @return Every reservation, expired or not
+     */
+    public List<ReservationDto> findAll() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM capacity_reservations", ROW_MAPPER);
+    }
+
+    /**
+     * @param ids Reservation IDs
+     * @return The reservations that exist
+     */
+    public List<ReservationDto> findByIds(Collection<Long> ids) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM capacity_reservations WHERE id = ANY(?)",
+                ROW_MAPPER, (Object) ids.toArray(new Long[0]));
+    }
+
+    private Optional<ReservationDto> delete(long id, String condition) {
+        return jdbcTemplate.query("WITH r AS (DELETE FROM capacity_reservations WHERE id = ? AND " + condition
+                        + " RETURNING " + COLUMNS + "), " + ADJUST_WAREHOUSE.formatted("-"),
+                ROW_MAPPER, id).stream().findFirst();
+    }
+}
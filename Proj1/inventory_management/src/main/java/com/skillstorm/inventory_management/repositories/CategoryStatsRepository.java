@@ -0,0 +1,109 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.CategoryStatsDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Maintains the {@code category_stats} rollup: item count and total quantity per warehouse and category.
+ * Adjustments are deltas applied with an upsert in the caller's transaction; uncategorized items
+ * are stored under the empty string and reported with a null category.
+ */
+@Repository
+public class CategoryStatsRepository {
+
+    private static final String UNCATEGORIZED = "";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryStatsRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Applies a change to a category's statistics in a warehouse, removing the row once it has no items
+     *
+     * @param category Category, null for uncategorized
+     * @param warehouseId Warehouse ID
+     * @param quantityDelta Change in total quantity
+     * @param itemCountDelta Change in the number of items (-1, 0 or 1)
+     */
+    public void adjust(String category, Long warehouseId, long quantityDelta, int itemCountDelta) {
+        if (quantityDelta == 0 && itemCountDelta == 0) {
+            return;
+        }
+        String key = category != null ? category : UNCATEGORIZED;
+        jdbcTemplate.update(
+                "INSERT INTO category_stats (warehouse_id, category, item_count, total_quantity) VALUES (?, ?, ?, ?) "
+                        + "ON CONFLICT (warehouse_id, category) DO UPDATE SET "
+                        + "item_count = category_stats.item_count + EXCLUDED.item_count, "
+                        + "total_quantity = category_stats.total_quantity + EXCLUDED.total_quantity",
+                warehouseId, key, itemCountDelta, quantityDelta);
+        if (itemCountDelta < 0) {
+            jdbcTemplate.update("DELETE FROM category_stats WHERE warehouse_id = ? AND category = ? AND item_count <= 0",
+                    warehouseId, key);
+        }
+    }
+
+    /**
+     * Finds every category held anywhere, excluding uncategorized items
+     *
+     * @return Categories in alphabetical order
+     */
+    public List<String> findCategories() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT category FROM category_stats WHERE category <> '' ORDER BY category", String.class);
+    }
+
+    /**
+     * Finds the category breakdown of a warehouse, largest quantity first
+     *
+     * @param warehouseId Warehouse ID
+     * @return Statistics per category, including the share of the warehouse's capacity each one uses
+     */
+    public List<CategoryStatsDto> findByWarehouseId(Long warehouseId) {
+        return jdbcTemplate.query(
+                "SELECT s.category, s.item_count, s.total_quantity, w.max_capacity FROM category_stats s "
+                        + "JOIN warehouses w ON w.id = s.warehouse_id "
+                        + "WHERE s.warehouse_id = ? ORDER BY s.total_quantity DESC, s.category",
+                (rs, rowNum) -> {
+                    String category = rs.getString("category");
+                    long totalQuantity = rs.getLong("total_quantity");
+                    int maxCapacity = rs.getInt("max_capacity");
+                    double share = maxCapacity > 0 ? totalQuantity * 100.0 / maxCapacity : 0.0;
+                    return new CategoryStatsDto(UNCATEGORIZED.equals(category) ? null : category,
+                            rs.getInt("item_count"), totalQuantity, share);
+                },
+                warehouseId);
+    }
+
+    /**
+     * Recomputes the table from inventory_items, repairing any drift.
+     * Takes an exclusive lock on category_stats first, so item writes wait until the rebuild commits
+     * and the rebuild waits for item writes that have already adjusted it.
+     *
+     * @return Number of rows that differed from the recomputed statistics
+     */
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE category_stats IN EXCLUSIVE MODE");
+        Integer drifted = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT warehouse_id, COALESCE(category, '') AS category, "
+                        + "COUNT(*) AS item_count, SUM(quantity) AS total_quantity "
+                        + "FROM inventory_items GROUP BY warehouse_id, COALESCE(category, '')) actual "
+                        + "FULL JOIN category_stats s USING (warehouse_id, category) "
+                        + "WHERE actual.item_count IS DISTINCT FROM s.item_count "
+                        + "OR actual.total_quantity IS DISTINCT FROM s.total_quantity",
+                Integer.class);
+        if (drifted != null && drifted > 0) {
+            jdbcTemplate.update("DELETE FROM category_stats");
+            jdbcTemplate.update(
+                    "INSERT INTO category_stats (warehouse_id, category, item_count, total_quantity) "
+                            + "SELECT warehouse_id, COALESCE(category, ''), COUNT(*), SUM(quantity) "
+                            + "FROM inventory_items GROUP BY warehouse_id, COALESCE(category, '')");
+        }
+        return drifted != null ? drifted : 0;
+    }
+}
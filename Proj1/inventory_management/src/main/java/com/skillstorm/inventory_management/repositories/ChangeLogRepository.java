@@ -0,0 +1,182 @@
+package com.skillstorm.inventory_management.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads and writes the {@code change_log} table behind the delta-sync change feed.
+ * Writes join the caller's transaction, so a change is logged exactly when it commits.
+ * Positions are {@code (change_xid, seq)} pairs; reads only return rows from transactions older
+ * than every transaction still running, so a later read never finds a row behind a position
+ * already handed out.
+ */
+@Repository
+public class ChangeLogRepository {
+
+    /**
+     * Entity type recorded for inventory items
+     */
+    public static final String ITEM = "ITEM";
+
+    /**
+     * Entity type recorded for warehouses
+     */
+    public static final String WAREHOUSE = "WAREHOUSE";
+
+    /**
+     * Entity type recorded for capacity reservations; followed by the expiry scheduler, not the change feed
+     */
+    public static final String RESERVATION = "RESERVATION";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Position in the change log: transaction ID and sequence number of a row
+     *
+     * @param xid Transaction ID (xid8)
+     * @param seq Row sequence number
+     */
+    public record Position(long xid, long seq) implements Comparable<Position> {
+
+        @Override
+        public int compareTo(Position other) {
+            int byXid = Long.compare(xid, other.xid);
+            return byXid != 0 ? byXid : Long.compare(seq, other.seq);
+        }
+    }
+
+    /**
+     * One logged change
+     *
+     * @param position Position of the row
+     * @param entityType ITEM, WAREHOUSE or RESERVATION
+     * @param entityId Changed entity ID
+     */
+    public record Change(Position position, String entityType, Long entityId) {
+    }
+
+    /**
+     * Logs writes to warehouses, including changes to their capacity figures
+     *
+     * @param warehouseIds Changed or deleted warehouse IDs; nulls are ignored
+     */
+    public void warehousesChanged(Long... warehouseIds) {
+        record(WAREHOUSE, warehouseIds);
+    }
+
+    /**
+     * Logs writes to inventory items and to the warehouses whose capacity they changed, in one statement
+     *
+     * @param itemIds Changed or deleted item IDs; nulls are ignored
+     * @param warehouseIds Changed warehouse IDs; nulls are ignored
+     */
+    public void itemsAndWarehousesChanged(List<Long> itemIds, Long... warehouseIds) {
+        record(Map.of(ITEM, itemIds.toArray(new Long[0]), WAREHOUSE, warehouseIds));
+    }
+
+    /**
+     * Logs a write to a capacity reservation and to the warehouse it reserves capacity in, in one statement
+     *
+     * @param reservationId Created or deleted reservation ID
+     * @param warehouseId Changed warehouse ID
+     */
+    public void reservationChanged(Long reservationId, Long warehouseId) {
+        record(Map.of(RESERVATION, new Long[] {reservationId}, WAREHOUSE, new Long[] {warehouseId}));
+    }
+
+    /**
+     * Finds changes between two positions, oldest first
+     *
+     * @param after Exclusive start position
+     * @param settled Exclusive end position, from {@link #settledPosition()}
+     * @param limit Maximum number of changes
+     * @return Changes in log order
+     */
+    public List<Change> findBetween(Position after, Position settled, int limit) {
+        return jdbcTemplate.query(
+                "SELECT change_xid::text AS xid, seq, entity_type, entity_id FROM change_log "
+                        + "WHERE (change_xid, seq) > (CAST(? AS xid8), ?) "
+                        + "AND change_xid < CAST(? AS xid8) "
+                        + "ORDER BY change_xid, seq LIMIT ?",
+                (rs, rowNum) -> new Change(
+                        new Position(Long.parseLong(rs.getString("xid")), rs.getLong("seq")),
+                        rs.getString("entity_type"),
+                        rs.getLong("entity_id")),
+                Long.toString(after.xid()), after.seq(), Long.toString(settled.xid()), limit);
+    }
+
+    /**
+     * Position of the oldest transaction still running; every row before it is settled
+     *
+     * @return Settled position
+     */
+    public Position settledPosition() {
+        Long xmin = jdbcTemplate.queryForObject(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+        return new Position(xmin, 0);
+    }
+
+    /**
+     * Highest position removed by pruning
+     *
+     * @return Pruned position, or null if nothing was pruned yet
+     */
+    public Position prunedPosition() {
+        List<Position> pruned = jdbcTemplate.query(
+                "SELECT change_xid::text AS xid, seq FROM change_log_pruned WHERE id = 1",
+                (rs, rowNum) -> new Position(Long.parseLong(rs.getString("xid")), rs.getLong("seq")));
+        return pruned.isEmpty() ? null : pruned.get(0);
+    }
+
+    /**
+     * Deletes changes logged before a cutoff and advances the pruned position
+     *
+     * @param cutoff Changes logged before this are deleted
+     * @return Number of deleted changes
+     */
+    public int pruneBefore(Instant cutoff) {
+        return jdbcTemplate.queryForObject(
+                "WITH deleted AS (DELETE FROM change_log WHERE changed_at < ? RETURNING change_xid, seq), "
+                        + "last AS (SELECT change_xid, seq FROM deleted ORDER BY change_xid DESC, seq DESC LIMIT 1), "
+                        + "saved AS (INSERT INTO change_log_pruned (id, change_xid, seq) SELECT 1, change_xid, seq FROM last "
+                        + "ON CONFLICT (id) DO UPDATE SET change_xid = EXCLUDED.change_xid, seq = EXCLUDED.seq "
+                        + "WHERE (EXCLUDED.change_xid, EXCLUDED.seq) > (change_log_pruned.change_xid, change_log_pruned.seq)) "
+                        + "SELECT COUNT(*) FROM deleted",
+                Integer.class, Timestamp.from(cutoff));
+    }
+
+    private void record(String entityType, Long... ids) {
+        record(Map.of(entityType, ids));
+    }
+
+    /**
+     * Inserts one row per distinct non-null ID of each entity type with a single multi-row insert
+     */
+    private void record(Map<String, Long[]> idsByType) {
+        List<String> entityTypes = new ArrayList<>();
+        List<Long> entityIds = new ArrayList<>();
+        idsByType.forEach((entityType, ids) -> Arrays.stream(ids).filter(Objects::nonNull).distinct().forEach(id -> {
+            entityTypes.add(entityType);
+            entityIds.add(id);
+        }));
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+                "INSERT INTO change_log (entity_type, entity_id) SELECT * FROM unnest(?::text[], ?::bigint[])",
+                entityTypes.toArray(new String[0]), entityIds.toArray(new Long[0]));
+    }
+}
@@ -0,0 +1,85 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.FacetedSearchResponse;
+import com.skillstorm.inventory_management.dtos.FacetedSearchResponse.FacetCount;
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC repository for faceted item search.
+ * The page of results, the total and both facet lists come back from one statement: the matching
+ * items are collected once in a CTE, and four branches of a UNION ALL (tagged by a kind column)
+ * read the page, the count and the two GROUP BYs from it.
+ */
+@Repository
+public class InventoryItemFacetRepository {
+
+    private static final String SQL =
+            "WITH matches AS MATERIALIZED ("
+                    + "SELECT i.id, i.sku, i.name, i.description, i.category, i.quantity, i.storage_location, i.warehouse_id "
+                    + "FROM inventory_items i WHERE CAST(? AS text) IS NULL "
+                    + "OR LOWER(i.name) LIKE ? OR LOWER(i.sku) LIKE ? OR LOWER(i.category) LIKE ?), "
+                    + "by_category AS (SELECT * FROM matches WHERE CAST(? AS text) IS NULL OR category = ?), "
+                    + "by_warehouse AS (SELECT * FROM matches WHERE CAST(? AS bigint) IS NULL OR warehouse_id = ?), "
+                    + "selected AS (SELECT * FROM by_category WHERE CAST(? AS bigint) IS NULL OR warehouse_id = ?) "
+                    + "SELECT * FROM ("
+                    + "SELECT 0 AS kind, ord, p.id, p.sku, p.name, p.description, p.category, p.quantity, p.storage_location, "
+                    + "p.warehouse_id, w.name AS warehouse_name, NULL::bigint AS facet_count "
+                    + "FROM (SELECT s.*, row_number() OVER (ORDER BY s.name, s.id) AS ord FROM selected s "
+                    + "ORDER BY s.name, s.id LIMIT ? OFFSET ?) p JOIN warehouses w ON w.id = p.warehouse_id "
+                    + "UNION ALL SELECT 1, 0, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, COUNT(*) FROM selected "
+                    + "UNION ALL SELECT 2, -COUNT(*), NULL, NULL, NULL, NULL, category, NULL, NULL, NULL, NULL, COUNT(*) "
+                    + "FROM by_warehouse GROUP BY category "
+                    + "UNION ALL SELECT 3, -COUNT(*), NULL, NULL, NULL, NULL, NULL, NULL, NULL, b.warehouse_id, w.name, COUNT(*) "
+                    + "FROM by_category b JOIN warehouses w ON w.id = b.warehouse_id GROUP BY b.warehouse_id, w.name"
+                    + ") results ORDER BY kind, ord, category, warehouse_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryItemFacetRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Searches items and counts the matches per category and per warehouse
+     *
+     * @param searchPattern Optional lower-case LIKE pattern matched against name, SKU and category
+     * @param warehouseId Optional warehouse drill-down
+     * @param category Optional category drill-down
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Page of items, total and facet counts
+     */
+    public FacetedSearchResponse search(String searchPattern, Long warehouseId, String category, int page, int size) {
+        List<InventoryItemDto> items = new ArrayList<>();
+        List<FacetCount> categories = new ArrayList<>();
+        List<FacetCount> warehouses = new ArrayList<>();
+        long[] total = new long[1];
+        jdbcTemplate.query(SQL, rs -> {
+            switch (rs.getInt("kind")) {
+                case 0 -> items.add(new InventoryItemDto(
+                        rs.getLong("id"),
+                        rs.getString("sku"),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getString("category"),
+                        rs.getInt("quantity"),
+                        rs.getString("storage_location"),
+                        rs.getLong("warehouse_id"),
+                        rs.getString("warehouse_name")));
+                case 1 -> total[0] = rs.getLong("facet_count");
+                case 2 -> categories.add(new FacetCount(null, rs.getString("category"), rs.getLong("facet_count")));
+                default -> warehouses.add(new FacetCount(
+                        rs.getLong("warehouse_id"), rs.getString("warehouse_name"), rs.getLong("facet_count")));
+            }
+        }, searchPattern, searchPattern, searchPattern, searchPattern,
+                category, category, warehouseId, warehouseId, warehouseId, warehouseId,
+                size, (long) page * size);
+        return new FacetedSearchResponse(items, total[0], page, size, categories, warehouses);
+    }
+}
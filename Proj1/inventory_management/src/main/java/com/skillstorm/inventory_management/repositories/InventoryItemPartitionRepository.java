@@ -0,0 +1,57 @@
+package com.skillstorm.inventory_management.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Manages the per-warehouse partitions of {@code inventory_items}.
+ * Calls the partition functions installed by the schema migrations, within the caller's transaction.
+ */
+@Repository
+public class InventoryItemPartitionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ddlLockTimeoutMillis;
+
+    public InventoryItemPartitionRepository(DataSource dataSource,
+                                            @Value("${inventory.partitioning.ddl-lock-timeout:5s}") Duration ddlLockTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ddlLockTimeoutMillis = ddlLockTimeout.toMillis();
+    }
+
+    /**
+     * Creates the partition holding a warehouse's items, if it does not exist yet
+     *
+     * @param warehouseId Warehouse ID
+     */
+    public void createPartition(Long warehouseId) {
+        setLockTimeout();
+        jdbcTemplate.query("SELECT create_inventory_items_partition(?)", rs -> { }, warehouseId);
+    }
+
+    /**
+     * Drops the partition of a warehouse, if it exists
+     *
+     * @param warehouseId Warehouse ID
+     */
+    public void dropPartition(Long warehouseId) {
+        setLockTimeout();
+        jdbcTemplate.query("SELECT drop_inventory_items_partition(?)", rs -> { }, warehouseId);
+    }
+
+    /**
+     * Bounds how long partition DDL waits for its table lock, so it fails instead of
+     * queueing every other query on inventory_items behind it
+     */
+    private void setLockTimeout() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + ddlLockTimeoutMillis);
+    }
+}
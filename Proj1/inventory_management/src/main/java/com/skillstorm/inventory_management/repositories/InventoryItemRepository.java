@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,15 +15,15 @@ import java.util.Optional;
  * Provides database access methods for inventory item operations.
  */
 @Repository
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
+public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long>, InventoryItemRepositoryCustom {
 
     /**
-     * Finds an inventory item by its SKU
+     * Finds every inventory item with a SKU, one per warehouse that stocks it
      *
      * @param sku Stock Keeping Unit
-     * @return Optional containing the item if found
+     * @return List of items with the SKU
      */
-    Optional<InventoryItem> findBySku(String sku);
+    List<InventoryItem> findBySku(String sku);
 
     /**
      * Finds all items in a specific warehouse
@@ -42,12 +43,14 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     List<InventoryItem> findByCategory(String category);
 
     /**
-     * Finds items by name containing the search term (case-insensitive)
+     * Finds items by name containing the search term (case-insensitive).
+     * Written as LOWER(...) LIKE rather than derived, so it uses the same trigram index as searchItems.
      *
      * @param name Search term
      * @return List of matching items
      */
-    List<InventoryItem> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT i FROM InventoryItem i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<InventoryItem> findByNameContainingIgnoreCase(@Param("name") String name);
 
     /**
      * Finds items by SKU containing the search term (case-insensitive)
@@ -55,7 +58,8 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
      * @param sku Search term
      * @return List of matching items
      */
-    List<InventoryItem> findBySkuContainingIgnoreCase(String sku);
+    @Query("SELECT i FROM InventoryItem i WHERE LOWER(i.sku) LIKE LOWER(CONCAT('%', :sku, '%'))")
+    List<InventoryItem> findBySkuContainingIgnoreCase(@Param("sku") String sku);
 
     /**
      * Checks if an item with the given SKU exists
@@ -66,22 +70,38 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     boolean existsBySku(String sku);
 
     /**
-     * Searches items by multiple criteria
+     * Searches items in all warehouses
      *
      * @param searchTerm Search term to match against name, SKU, or category
      * @param searchPattern Search pattern with wildcards
-     * @param warehouseId Optional warehouse ID filter
      * @return List of matching items
      */
-    @Query("SELECT i FROM InventoryItem i WHERE " +
-           "(:searchTerm IS NULL OR " +
+    @Query("SELECT i FROM InventoryItem i JOIN FETCH i.warehouse WHERE " +
+           ":searchTerm IS NULL OR " +
            "LOWER(i.name) LIKE :searchPattern OR " +
            "LOWER(i.sku) LIKE :searchPattern OR " +
-           "LOWER(i.category) LIKE :searchPattern) AND " +
-           "(:warehouseId IS NULL OR i.warehouse.id = :warehouseId)")
+           "LOWER(i.category) LIKE :searchPattern")
     List<InventoryItem> searchItems(@Param("searchTerm") String searchTerm,
-                                    @Param("searchPattern") String searchPattern,
-                                    @Param("warehouseId") Long warehouseId);
+                                    @Param("searchPattern") String searchPattern);
+
+    /**
+     * Searches items in one warehouse.
+     * A separate query rather than an optional filter, so the warehouse predicate is always
+     * present and PostgreSQL can prune the search to that warehouse's partition.
+     *
+     * @param searchTerm Search term to match against name, SKU, or category
+     * @param searchPattern Search pattern with wildcards
+     * @param warehouseId Warehouse ID
+     * @return List of matching items
+     */
+    @Query("SELECT i FROM InventoryItem i JOIN FETCH i.warehouse WHERE i.warehouse.id = :warehouseId AND " +
+           "(:searchTerm IS NULL OR " +
+           "LOWER(i.name) LIKE :searchPattern OR " +
+           "LOWER(i.sku) LIKE :searchPattern OR " +
+           "LOWER(i.category) LIKE :searchPattern)")
+    List<InventoryItem> searchItemsInWarehouse(@Param("searchTerm") String searchTerm,
+                                               @Param("searchPattern") String searchPattern,
+                                               @Param("warehouseId") Long warehouseId);
 
     /**
      * Gets distinct categories from all items
@@ -90,4 +110,50 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
      */
     @Query("SELECT DISTINCT i.category FROM InventoryItem i WHERE i.category IS NOT NULL ORDER BY i.category")
     List<String> findDistinctCategories();
+
+    /**
+     * Finds all items with their warehouse fetched in the same query
+     *
+     * @return List of all items
+     */
+    @Query("SELECT i FROM InventoryItem i JOIN FETCH i.warehouse")
+    List<InventoryItem> findAllWithWarehouse();
+
+    /**
+     * Finds an item by ID with its warehouse fetched in the same query
+     *
+     * @param id Item ID
+     * @return Optional containing the item if found
+     */
+    @Query("SELECT i FROM InventoryItem i JOIN FETCH i.warehouse WHERE i.id = :id")
+    Optional<InventoryItem> findByIdWithWarehouse(@Param("id") Long id);
+
+    /**
+     * Finds items by a set of IDs with their warehouse fetched in the same query
+     *
+     * @param ids Item IDs
+     * @return List of matching items
+     */
+    @Query("SELECT i FROM InventoryItem i JOIN FETCH i.warehouse WHERE i.id IN :ids")
+    List<InventoryItem> findAllByIdWithWarehouse(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Aggregates item quantity and count per warehouse for a set of warehouses.
+     * Warehouses without items do not appear in the result.
+     *
+     * @param warehouseIds Warehouse IDs
+     * @return Usage figures per warehouse
+     */
+    @Query("SELECT i.warehouse.id AS warehouseId, SUM(i.quantity) AS totalQuantity, COUNT(i) AS itemCount " +
+           "FROM InventoryItem i WHERE i.warehouse.id IN :warehouseIds GROUP BY i.warehouse.id")
+    List<WarehouseUsage> sumUsageByWarehouseIds(@Param("warehouseIds") Collection<Long> warehouseIds);
+
+    /**
+     * Finds the warehouse holding an item without loading the item entity
+     *
+     * @param id Item ID
+     * @return Optional containing the warehouse ID if the item exists
+     */
+    @Query("SELECT i.warehouse.id FROM InventoryItem i WHERE i.id = :id")
+    Optional<Long> findWarehouseIdById(@Param("id") Long id);
 }
@@ -0,0 +1,24 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Custom repository fragment for InventoryItem queries that cannot be expressed
+ * as derived or annotated queries.
+ */
+public interface InventoryItemRepositoryCustom {
+
+    /**
+     * Finds items selecting only the requested columns.
+     * Properties that were not selected are left null on the returned DTOs.
+     *
+     * @param fields InventoryItemDto properties to select
+     * @param searchPattern Optional lower-case LIKE pattern matched against name, SKU and category
+     * @param warehouseId Optional warehouse ID filter
+     * @return Partially populated item DTOs
+     */
+    List<InventoryItemDto> findSelectedFields(Set<String> fields, String searchPattern, Long warehouseId);
+}
@@ -0,0 +1,90 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.entities.InventoryItem;
+import com.skillstorm.inventory_management.entities.Warehouse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria API implementation of {@link InventoryItemRepositoryCustom}.
+ */
+public class InventoryItemRepositoryCustomImpl implements InventoryItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<InventoryItemDto> findSelectedFields(Set<String> fields, String searchPattern, Long warehouseId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<InventoryItem> item = query.from(InventoryItem.class);
+
+        // warehouseId reads the foreign key column; only warehouseName needs the join
+        Join<InventoryItem, Warehouse> warehouse = fields.contains("warehouseName") ? item.join("warehouse") : null;
+        List<String> selected = new ArrayList<>(fields);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(switch (field) {
+                case "warehouseId" -> item.get("warehouse").get("id");
+                case "warehouseName" -> warehouse.get("name");
+                default -> item.get(field);
+            });
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (searchPattern != null) {
+            predicates.add(cb.or(
+                    cb.like(cb.lower(item.get("name")), searchPattern),
+                    cb.like(cb.lower(item.get("sku")), searchPattern),
+                    cb.like(cb.lower(item.get("category")), searchPattern)));
+        }
+        if (warehouseId != null) {
+            predicates.add(cb.equal(item.get("warehouse").get("id"), warehouseId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> toDto(tuple, selected))
+                .toList();
+    }
+
+    /**
+     * Copies the selected tuple values onto a new DTO
+     *
+     * @param tuple Query result row
+     * @param selected Selected fields in tuple order
+     * @return Partially populated item DTO
+     */
+    private InventoryItemDto toDto(Tuple tuple, List<String> selected) {
+        InventoryItemDto dto = new InventoryItemDto();
+        for (int i = 0; i < selected.size(); i++) {
+            Object value = tuple.get(i);
+            switch (selected.get(i)) {
+                case "id" -> dto.setId((Long) value);
+                case "sku" -> dto.setSku((String) value);
+                case "name" -> dto.setName((String) value);
+                case "description" -> dto.setDescription((String) value);
+                case "category" -> dto.setCategory((String) value);
+                case "quantity" -> dto.setQuantity((Integer) value);
+                case "storageLocation" -> dto.setStorageLocation((String) value);
+                case "warehouseId" -> dto.setWarehouseId((Long) value);
+                case "warehouseName" -> dto.setWarehouseName((String) value);
+                default -> throw new IllegalArgumentException("Unknown item field: " + selected.get(i));
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,112 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository that streams inventory items row by row.
+ * Rows are read from a forward-only cursor with a bounded fetch size,
+ * so result sets of any size are never materialized in memory.
+ * Text columns are read with getBytes, which the PostgreSQL driver serves
+ * from its UTF-8 row buffer without decoding to String.
+ */
+@Repository
+public class InventoryItemStreamRepository {
+
+    private static final String SELECT_ITEMS =
+            "SELECT i.id, i.sku, i.name, i.description, i.category, i.quantity, i.storage_location, " +
+            "i.warehouse_id, w.name FROM inventory_items i JOIN warehouses w ON w.id = i.warehouse_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryItemStreamRepository(DataSource dataSource,
+                                         @Value("${inventory.streaming.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Visits every item matching the criteria.
+     * The same row instance is refilled for each row, so the handler must not retain it.
+     * Must run inside a transaction for the driver to use a server-side cursor.
+     *
+     * @param searchPattern Optional lower-case LIKE pattern matched against name, SKU and category
+     * @param warehouseId Optional warehouse ID filter
+     * @param handler Callback invoked once per row
+     */
+    public void forEachItem(String searchPattern, Long warehouseId, Consumer<InventoryItemRow> handler) {
+        StringBuilder sql = new StringBuilder(SELECT_ITEMS);
+        List<Object> args = new ArrayList<>(4);
+        String clause = " WHERE ";
+        if (searchPattern != null) {
+            sql.append(clause).append("(LOWER(i.name) LIKE ? OR LOWER(i.sku) LIKE ? OR LOWER(i.category) LIKE ?)");
+            args.add(searchPattern);
+            args.add(searchPattern);
+            args.add(searchPattern);
+            clause = " AND ";
+        }
+        if (warehouseId != null) {
+            sql.append(clause).append("i.warehouse_id = ?");
+            args.add(warehouseId);
+        }
+
+        InventoryItemRow row = new InventoryItemRow();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            row.setId(rs.getLong(1));
+            row.setSku(rs.getBytes(2));
+            row.setName(rs.getBytes(3));
+            row.setDescription(rs.getBytes(4));
+            row.setCategory(rs.getBytes(5));
+            row.setQuantity(rs.getInt(6));
+            row.setStorageLocation(rs.getBytes(7));
+            row.setWarehouseId(rs.getLong(8));
+            row.setWarehouseName(rs.getBytes(9));
+            handler.accept(row);
+        }, args.toArray());
+    }
+
+    /**
+     * Receives the SKU and name of one item
+     */
+    @FunctionalInterface
+    public interface ItemTermsHandler {
+
+        /**
+         * @param id Item ID
+         * @param sku Item SKU
+         * @param name Item name
+         */
+        void accept(long id, String sku, String name);
+    }
+
+    /**
+     * Visits the SKU and name of every item.
+     * Must run inside a transaction for the driver to use a server-side cursor.
+     *
+     * @param handler Callback invoked once per item
+     */
+    public void forEachItemTerms(ItemTermsHandler handler) {
+        jdbcTemplate.query("SELECT id, sku, name FROM inventory_items",
+                rs -> { handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3)); });
+    }
+
+    /**
+     * Visits the SKU and name of the given items that still exist
+     *
+     * @param ids Item IDs
+     * @param handler Callback invoked once per existing item
+     */
+    public void forEachItemTerms(Collection<Long> ids, ItemTermsHandler handler) {
+        jdbcTemplate.query("SELECT id, sku, name FROM inventory_items WHERE id = ANY(?)",
+                rs -> { handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3)); },
+                (Object) ids.toArray(new Long[0]));
+    }
+}
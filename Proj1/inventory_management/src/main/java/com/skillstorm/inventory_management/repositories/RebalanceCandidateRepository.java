@@ -0,0 +1,63 @@
+package com.skillstorm.inventory_management.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the items to move out of warehouses that are over a utilization target.
+ * The choice is made in the database: a running total over each warehouse's items, largest first,
+ * keeps only the items needed to cover its excess, so a warehouse's other items are never sent back.
+ */
+@Repository
+public class RebalanceCandidateRepository {
+
+    private static final String SELECT = "WITH excess (warehouse_id, excess) AS (SELECT * FROM unnest(?::bigint[], ?::bigint[])) "
+            + "SELECT id, warehouse_id, sku, quantity FROM ("
+            + "SELECT i.id, i.warehouse_id, i.sku, i.quantity, e.excess, "
+            + "SUM(i.quantity) OVER (PARTITION BY i.warehouse_id ORDER BY i.quantity DESC, i.id) - i.quantity AS preceding "
+            + "FROM inventory_items i JOIN excess e ON e.warehouse_id = i.warehouse_id "
+            + "WHERE i.quantity > 0) ranked "
+            + "WHERE preceding < excess "
+            + "ORDER BY warehouse_id, quantity DESC, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RebalanceCandidateRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Item that may be moved
+     *
+     * @param itemId Item ID
+     * @param warehouseId Warehouse holding the item
+     * @param sku Stock Keeping Unit
+     * @param quantity Quantity of the item
+     */
+    public record Candidate(long itemId, long warehouseId, String sku, int quantity) {
+    }
+
+    /**
+     * Finds, for each warehouse, its largest items until their quantities cover the warehouse's excess
+     *
+     * @param excessByWarehouse Units to move out, keyed by warehouse ID
+     * @return Items to move, by warehouse and then largest first; each warehouse's last item may be needed only in part
+     */
+    public List<Candidate> findLargestCovering(Map<Long, Long> excessByWarehouse) {
+        if (excessByWarehouse.isEmpty()) {
+            return List.of();
+        }
+        Long[] warehouseIds = excessByWarehouse.keySet().toArray(new Long[0]);
+        Long[] excess = new Long[warehouseIds.length];
+        for (int i = 0; i < warehouseIds.length; i++) {
+            excess[i] = excessByWarehouse.get(warehouseIds[i]);
+        }
+        return jdbcTemplate.query(SELECT, (rs, rowNum) -> new Candidate(
+                        rs.getLong("id"), rs.getLong("warehouse_id"), rs.getString("sku"), rs.getInt("quantity")),
+                warehouseIds, excess);
+    }
+}
@@ -0,0 +1,174 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.SkuStockDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code sku_stock} rollup: quantity and item count per SKU and warehouse.
+ * Adjustments are deltas applied with an upsert in the caller's transaction, after the caller
+ * has locked the warehouses and the SKU involved, so concurrent writers never lose an update and
+ * each adjustment sees every earlier adjustment of the SKU in other warehouses as committed.
+ * The same statement re-evaluates the low-stock thresholds on the SKU and publishes each alert
+ * raised or cleared with pg_notify, which PostgreSQL delivers only if the transaction commits.
+ */
+@Repository
+public class SkuStockRepository {
+
+    /**
+     * Publishes each flipped threshold as an alert payload on the channel bound to the last parameter
+     */
+    private static final String RETURNING_NOTIFY = "RETURNING pg_notify(?, json_build_object('id', t.id, 'sku', t.sku, "
+            + "'warehouseId', t.warehouse_id, 'reorderPoint', t.reorder_point, 'recoveryLevel', t.recovery_level, "
+            + "'alertActive', t.alert_active, 'quantity', t.quantity, "
+            + "'changedAt', to_char(t.changed_at AT TIME ZONE 'UTC', 'YYYY-MM-DD\"T\"HH24:MI:SS.US\"Z\"'))::text)";
+
+    /**
+     * Re-evaluates every threshold against the current stock, flipping and publishing the alerts it crosses
+     */
+    private static final String REEVALUATE = "WITH levels AS (SELECT t.id, "
+            + "(SELECT COALESCE(SUM(s.quantity), 0) FROM sku_stock s WHERE s.sku = t.sku "
+            + "AND (t.warehouse_id IS NULL OR s.warehouse_id = t.warehouse_id)) AS quantity FROM stock_thresholds t) "
+            + "UPDATE stock_thresholds t SET alert_active = NOT t.alert_active, quantity = l.quantity, changed_at = now() "
+            + "FROM levels l WHERE t.id = l.id "
+            + "AND CASE WHEN t.alert_active THEN l.quantity >= t.recovery_level ELSE l.quantity < t.reorder_point END "
+            + RETURNING_NOTIFY;
+
+    /**
+     * Upserts the stock row, then flips the alert of every threshold on the SKU (in this warehouse, or
+     * network-wide) whose stock crossed its reorder point or recovery level. All parts of the statement
+     * see the stock as it was before the upsert, so the network-wide total adds the delta to it. The caller
+     * holds the SKU lock, so that snapshot already includes every other transaction's adjustment of the SKU.
+     */
+    private static final String ADJUST = "WITH stock AS ("
+            + "INSERT INTO sku_stock (sku, warehouse_id, quantity, item_count) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (sku, warehouse_id) DO UPDATE SET "
+            + "quantity = sku_stock.quantity + EXCLUDED.quantity, "
+            + "item_count = sku_stock.item_count + EXCLUDED.item_count "
+            + "RETURNING quantity), "
+            + "levels AS (SELECT t.id, CASE WHEN t.warehouse_id IS NULL "
+            + "THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM sku_stock s WHERE s.sku = t.sku) + ? "
+            + "ELSE (SELECT quantity FROM stock) END AS quantity "
+            + "FROM stock_thresholds t WHERE t.sku = ? AND (t.warehouse_id = ? OR t.warehouse_id IS NULL)) "
+            + "UPDATE stock_thresholds t SET alert_active = NOT t.alert_active, quantity = l.quantity, changed_at = now() "
+            + "FROM levels l WHERE t.id = l.id "
+            + "AND CASE WHEN t.alert_active THEN l.quantity >= t.recovery_level ELSE l.quantity < t.reorder_point END "
+            + RETURNING_NOTIFY;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String alertChannel;
+
+    public SkuStockRepository(DataSource dataSource,
+                              @Value("${inventory.alerts.channel:inventory_alerts}") String alertChannel) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.alertChannel = alertChannel;
+    }
+
+    /**
+     * Applies a change to the stock of a SKU in a warehouse, removing the row once no item holds the SKU there,
+     * and raises or clears the alerts of the thresholds the new stock crosses
+     *
+     * @param sku Stock Keeping Unit
+     * @param warehouseId Warehouse ID
+     * @param quantityDelta Change in quantity
+     * @param itemCountDelta Change in the number of items (-1, 0 or 1)
+     */
+    public void adjust(String sku, Long warehouseId, long quantityDelta, int itemCountDelta) {
+        if (quantityDelta == 0 && itemCountDelta == 0) {
+            return;
+        }
+        jdbcTemplate.query(ADJUST, rs -> { },
+                sku, warehouseId, quantityDelta, itemCountDelta, quantityDelta, sku, warehouseId, alertChannel);
+        if (itemCountDelta < 0) {
+            jdbcTemplate.update("DELETE FROM sku_stock WHERE sku = ? AND warehouse_id = ? AND item_count <= 0",
+                    sku, warehouseId);
+        }
+    }
+
+    /**
+     * Finds the stock of a SKU in every warehouse holding it, largest quantity first
+     *
+     * @param sku Stock Keeping Unit
+     * @return Per-warehouse stock, empty if no warehouse holds the SKU
+     */
+    public List<SkuStockDto.WarehouseStock> findBySku(String sku) {
+        return jdbcTemplate.query(
+                "SELECT s.warehouse_id, w.name, s.quantity FROM sku_stock s "
+                        + "JOIN warehouses w ON w.id = s.warehouse_id "
+                        + "WHERE s.sku = ? ORDER BY s.quantity DESC, s.warehouse_id",
+                (rs, rowNum) -> new SkuStockDto.WarehouseStock(
+                        rs.getLong("warehouse_id"), rs.getString("name"), rs.getLong("quantity")),
+                sku);
+    }
+
+    /**
+     * Reads the stock of a SKU in one warehouse or across all of them
+     *
+     * @param sku Stock Keeping Unit
+     * @param warehouseId Warehouse ID, null for all warehouses
+     * @return Quantity on hand, 0 if none
+     */
+    public long quantityOf(String sku, Long warehouseId) {
+        Long quantity = warehouseId == null
+                ? jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM sku_stock WHERE sku = ?",
+                        Long.class, sku)
+                : jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM sku_stock WHERE sku = ? AND warehouse_id = ?",
+                        Long.class, sku, warehouseId);
+        return quantity == null ? 0 : quantity;
+    }
+
+    /**
+     * Finds the warehouses holding each of a set of SKUs
+     *
+     * @param skus Stock Keeping Units
+     * @return Warehouse IDs keyed by SKU; SKUs held nowhere are absent
+     */
+    public Map<String, List<Long>> findWarehouseIdsBySkus(Collection<String> skus) {
+        Map<String, List<Long>> warehouseIds = new HashMap<>();
+        if (skus.isEmpty()) {
+            return warehouseIds;
+        }
+        jdbcTemplate.query("SELECT sku, warehouse_id FROM sku_stock WHERE sku = ANY(?)",
+                rs -> {
+                    warehouseIds.computeIfAbsent(rs.getString("sku"), sku -> new ArrayList<>())
+                            .add(rs.getLong("warehouse_id"));
+                },
+                (Object) skus.toArray(new String[0]));
+        return warehouseIds;
+    }
+
+    /**
+     * Recomputes the table from inventory_items, repairing any drift, and re-evaluates the low-stock
+     * thresholds against the repaired stock. Takes an exclusive lock on sku_stock first, so item writes
+     * wait until the rebuild commits and the rebuild waits for item writes that have already adjusted it.
+     *
+     * @return Number of rows that differed from the recomputed stock
+     */
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE sku_stock IN EXCLUSIVE MODE");
+        Integer drifted = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT sku, warehouse_id, SUM(quantity) AS quantity, COUNT(*) AS item_count "
+                        + "FROM inventory_items GROUP BY sku, warehouse_id) actual "
+                        + "FULL JOIN sku_stock s USING (sku, warehouse_id) "
+                        + "WHERE actual.quantity IS DISTINCT FROM s.quantity "
+                        + "OR actual.item_count IS DISTINCT FROM s.item_count",
+                Integer.class);
+        if (drifted != null && drifted > 0) {
+            jdbcTemplate.update("DELETE FROM sku_stock");
+            jdbcTemplate.update(
+                    "INSERT INTO sku_stock (sku, warehouse_id, quantity, item_count) "
+                            + "SELECT sku, warehouse_id, SUM(quantity), COUNT(*) "
+                            + "FROM inventory_items GROUP BY sku, warehouse_id");
+            jdbcTemplate.query(REEVALUATE, rs -> { }, alertChannel);
+        }
+        return drifted != null ? drifted : 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.StockThresholdDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores low-stock thresholds and their alert state. Alerts are raised and cleared by
+ * {@link SkuStockRepository#adjust} as stock changes; this repository sets thresholds and reads alerts.
+ */
+@Repository
+public class StockThresholdRepository {
+
+    private static final String COLUMNS =
+            "id, sku, warehouse_id, reorder_point, recovery_level, alert_active, quantity, changed_at";
+
+    private static final RowMapper<StockThresholdDto> ROW_MAPPER = (rs, rowNum) -> new StockThresholdDto(
+            rs.getLong("id"), rs.getString("sku"), rs.getObject("warehouse_id", Long.class),
+            rs.getInt("reorder_point"), rs.getInt("recovery_level"), rs.getBoolean("alert_active"),
+            rs.getLong("quantity"), rs.getTimestamp("changed_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockThresholdRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Finds and locks the threshold on a SKU, so stock adjustments wait until it has been replaced
+     *
+     * @param sku Stock Keeping Unit
+     * @param warehouseId Warehouse ID, null for the network-wide threshold
+     * @return The threshold, if set
+     */
+    public Optional<StockThresholdDto> findForUpdate(String sku, Long warehouseId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM stock_thresholds "
+                        + "WHERE sku = ? AND COALESCE(warehouse_id, 0) = COALESCE(?::bigint, 0) FOR UPDATE",
+                ROW_MAPPER, sku, warehouseId).stream().findFirst();
+    }
+
+    /**
+     * Creates or replaces the threshold on a SKU
+     *
+     * @param sku Stock Keeping Unit
+     * @param warehouseId Warehouse ID, null for a network-wide threshold
+     * @param reorderPoint Quantity below which the alert is raised
+     * @param recoveryLevel Quantity at which a raised alert is cleared
+     * @param alertActive Alert state for the current stock
+     * @param quantity Current stock
+     * @return The stored threshold
+     */
+    public StockThresholdDto save(String sku, Long warehouseId, int reorderPoint, int recoveryLevel,
+                                  boolean alertActive, long quantity) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO stock_thresholds (sku, warehouse_id, reorder_point, recovery_level, alert_active, quantity) "
+                        + "VALUES (?, ?, ?, ?, ?, ?) "
+                        + "ON CONFLICT (sku, COALESCE(warehouse_id, 0)) DO UPDATE SET "
+                        + "reorder_point = EXCLUDED.reorder_point, recovery_level = EXCLUDED.recovery_level, "
+                        + "alert_active = EXCLUDED.alert_active, quantity = EXCLUDED.quantity, changed_at = now() "
+                        + "RETURNING " + COLUMNS,
+                ROW_MAPPER, sku, warehouseId, reorderPoint, recoveryLevel, alertActive, quantity);
+    }
+
+    /**
+     * Deletes a threshold
+     *
+     * @param id Threshold ID
+     * @return The deleted threshold, empty if there was none
+     */
+    public Optional<StockThresholdDto> delete(long id) {
+        return jdbcTemplate.query("DELETE FROM stock_thresholds WHERE id = ? RETURNING " + COLUMNS, ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * @return Thresholds whose stock is below the reorder point, most recently raised first
+     */
+    public List<StockThresholdDto> findActive() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM stock_thresholds WHERE alert_active "
+                + "ORDER BY changed_at DESC, id DESC", ROW_MAPPER);
+    }
+}
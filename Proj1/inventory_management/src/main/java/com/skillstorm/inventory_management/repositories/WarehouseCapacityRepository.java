@@ -0,0 +1,76 @@
+package com.skillstorm.inventory_management.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads warehouse capacity figures and coordinates for the in-memory placement indexes.
+ * Usage comes from the category_stats rollup, which is keyed by warehouse, so loading every
+ * warehouse never aggregates inventory_items. Capacity held by reservations counts as used.
+ */
+@Repository
+public class WarehouseCapacityRepository {
+
+    private static final String SELECT = "SELECT w.id, w.name, w.max_capacity, w.latitude, w.longitude, "
+            + "COALESCE((SELECT SUM(c.total_quantity) FROM category_stats c WHERE c.warehouse_id = w.id), 0) "
+            + "+ w.reserved_capacity AS used "
+            + "FROM warehouses w";
+
+    private static final RowMapper<WarehouseCapacity> ROW_MAPPER = (rs, rowNum) -> new WarehouseCapacity(
+            rs.getLong("id"), rs.getString("name"), rs.getInt("max_capacity"), rs.getLong("used"),
+            rs.getObject("latitude", Double.class), rs.getObject("longitude", Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WarehouseCapacityRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Capacity figures of one warehouse
+     *
+     * @param id Warehouse ID
+     * @param name Warehouse name
+     * @param maxCapacity Maximum capacity
+     * @param used Quantity stored plus capacity held by reservations
+     * @param latitude Latitude in degrees, null if the warehouse has no coordinates
+     * @param longitude Longitude in degrees, null if the warehouse has no coordinates
+     */
+    public record WarehouseCapacity(long id, String name, int maxCapacity, long used, Double latitude, Double longitude) {
+
+        /**
+         * @return Units the warehouse can still take
+         */
+        public long available() {
+            return maxCapacity - used;
+        }
+
+        /**
+         * @return true if the warehouse has coordinates
+         */
+        public boolean isLocated() {
+            return latitude != null && longitude != null;
+        }
+    }
+
+    /**
+     * @return Capacity figures of every warehouse
+     */
+    public List<WarehouseCapacity> findAll() {
+        return jdbcTemplate.query(SELECT, ROW_MAPPER);
+    }
+
+    /**
+     * @param ids Warehouse IDs
+     * @return Capacity figures of the warehouses that exist
+     */
+    public List<WarehouseCapacity> findByIds(Collection<Long> ids) {
+        return jdbcTemplate.query(SELECT + " WHERE w.id = ANY(?)", ROW_MAPPER,
+                (Object) ids.toArray(new Long[0]));
+    }
+}
@@ -0,0 +1,79 @@
+package com.skillstorm.inventory_management.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Cross-node warehouse locks built on PostgreSQL transaction-scoped advisory locks.
+ * A lock is held until the surrounding transaction commits or rolls back, so every
+ * application instance sharing the database serializes capacity-sensitive writes
+ * to the same warehouse, and reads made after acquiring it see the previous holder's commit.
+ */
+@Repository
+public class WarehouseLockRepository {
+
+    /**
+     * First key of the two-key advisory lock space, reserved for warehouse capacity locks
+     */
+    static final int WAREHOUSE_LOCK_SPACE = 0x57480001;
+
+    /**
+     * First key of the two-key advisory lock space, reserved for SKU stock locks
+     */
+    static final int SKU_LOCK_SPACE = 0x57480002;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WarehouseLockRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Blocks until this transaction holds the capacity lock of every given warehouse.
+     * Locks are taken in ascending ID order so that concurrent multi-warehouse
+     * operations (e.g. transfers in opposite directions) cannot deadlock.
+     *
+     * @param warehouseIds Warehouse IDs; nulls and duplicates are ignored
+     * @throws IllegalStateException if called outside a transaction
+     */
+    public void lockWarehouses(Long... warehouseIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Warehouse locks must be acquired inside a transaction");
+        }
+        Arrays.stream(warehouseIds)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .forEach(id -> jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> { },
+                        WAREHOUSE_LOCK_SPACE, Long.hashCode(id)));
+    }
+
+    /**
+     * Blocks until this transaction holds the stock lock of every given SKU, serializing writes to a
+     * SKU's stock across warehouses so network-wide totals are computed from committed stock.
+     * Taken after the warehouse locks, in ascending SKU order, in one statement.
+     *
+     * @param skus Stock Keeping Units; nulls and duplicates are ignored
+     * @throws IllegalStateException if called outside a transaction
+     */
+    public void lockSkus(String... skus) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("SKU locks must be acquired inside a transaction");
+        }
+        String[] sorted = Arrays.stream(skus)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+        if (sorted.length > 0) {
+            // unnest keeps array order, so the locks are taken in sorted order
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, hashtext(s.sku)) FROM unnest(?::text[]) AS s (sku)",
+                    rs -> { }, SKU_LOCK_SPACE, sorted);
+        }
+    }
+}
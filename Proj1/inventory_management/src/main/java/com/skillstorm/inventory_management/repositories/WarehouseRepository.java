@@ -3,6 +3,7 @@ package com.skillstorm.inventory_management.repositories;
 import com.skillstorm.inventory_management.entities.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +14,7 @@ import java.util.Optional;
  * Provides database access methods for warehouse operations.
  */
 @Repository
-public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
+public interface WarehouseRepository extends JpaRepository<Warehouse, Long>, WarehouseRepositoryCustom {
 
     /**
      * Finds a warehouse by its name
@@ -32,12 +33,14 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
     List<Warehouse> findByLocation(String location);
 
     /**
-     * Finds warehouses by name containing the search term (case-insensitive)
+     * Finds warehouses by name containing the search term (case-insensitive).
+     * Written as LOWER(...) LIKE rather than derived, so it uses the same trigram index as findSelectedColumns.
      *
      * @param name Search term
      * @return List of matching warehouses
      */
-    List<Warehouse> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT w FROM Warehouse w WHERE LOWER(w.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<Warehouse> findByNameContainingIgnoreCase(@Param("name") String name);
 
     /**
      * Checks if a warehouse with the given name exists
@@ -55,4 +58,35 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
      */
     @Query("SELECT w FROM Warehouse w LEFT JOIN FETCH w.items WHERE w.id = :id")
     Optional<Warehouse> findByIdWithItems(Long id);
+
+    /**
+     * Fetches all warehouses with their item quantity and count aggregated in the same statement
+     *
+     * @return Warehouses with usage figures
+     */
+    @Query("SELECT w.id AS warehouseId, w AS warehouse, COALESCE(SUM(i.quantity), 0) AS totalQuantity, " +
+           "COUNT(i) AS itemCount FROM Warehouse w LEFT JOIN w.items i GROUP BY w")
+    List<WarehouseWithUsage> findAllWithUsage();
+
+    /**
+     * Fetches a warehouse with its item quantity and count aggregated in the same statement
+     *
+     * @param id Warehouse ID
+     * @return Optional containing the warehouse with usage figures
+     */
+    @Query("SELECT w.id AS warehouseId, w AS warehouse, COALESCE(SUM(i.quantity), 0) AS totalQuantity, " +
+           "COUNT(i) AS itemCount FROM Warehouse w LEFT JOIN w.items i WHERE w.id = :id GROUP BY w")
+    Optional<WarehouseWithUsage> findByIdWithUsage(@Param("id") Long id);
+
+    /**
+     * Finds warehouses by name containing the search term (case-insensitive),
+     * with their item quantity and count aggregated in the same statement
+     *
+     * @param name Search term
+     * @return Matching warehouses with usage figures
+     */
+    @Query("SELECT w.id AS warehouseId, w AS warehouse, COALESCE(SUM(i.quantity), 0) AS totalQuantity, " +
+           "COUNT(i) AS itemCount FROM Warehouse w LEFT JOIN w.items i " +
+           "WHERE LOWER(w.name) LIKE LOWER(CONCAT('%', :name, '%')) GROUP BY w")
+    List<WarehouseWithUsage> findByNameContainingWithUsage(@Param("name") String name);
 }
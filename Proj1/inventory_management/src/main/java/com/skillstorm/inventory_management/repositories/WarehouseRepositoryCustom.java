@@ -0,0 +1,24 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Custom repository fragment for Warehouse queries that cannot be expressed
+ * as derived or annotated queries.
+ */
+public interface WarehouseRepositoryCustom {
+
+    /**
+     * Finds warehouses selecting only the requested columns.
+     * Only persistent columns (id, name, location, maxCapacity, latitude, longitude) can be selected;
+     * properties that were not selected are left null on the returned DTOs.
+     *
+     * @param columns Warehouse columns to select
+     * @param nameFilter Optional case-insensitive name substring filter
+     * @return Partially populated warehouse DTOs
+     */
+    List<WarehouseDto> findSelectedColumns(Set<String> columns, String nameFilter);
+}
@@ -0,0 +1,71 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.entities.Warehouse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria API implementation of {@link WarehouseRepositoryCustom}.
+ */
+public class WarehouseRepositoryCustomImpl implements WarehouseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<WarehouseDto> findSelectedColumns(Set<String> columns, String nameFilter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Warehouse> warehouse = query.from(Warehouse.class);
+
+        List<String> selected = new ArrayList<>(columns);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String column : selected) {
+            selections.add(warehouse.get(column));
+        }
+        query.multiselect(selections);
+
+        if (nameFilter != null) {
+            query.where(cb.like(cb.lower(warehouse.get("name")), "%" + nameFilter.toLowerCase() + "%"));
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> toDto(tuple, selected))
+                .toList();
+    }
+
+    /**
+     * Copies the selected tuple values onto a new DTO
+     *
+     * @param tuple Query result row
+     * @param selected Selected columns in tuple order
+     * @return Partially populated warehouse DTO
+     */
+    private WarehouseDto toDto(Tuple tuple, List<String> selected) {
+        WarehouseDto dto = new WarehouseDto();
+        for (int i = 0; i < selected.size(); i++) {
+            Object value = tuple.get(i);
+            switch (selected.get(i)) {
+                case "id" -> dto.setId((Long) value);
+                case "name" -> dto.setName((String) value);
+                case "location" -> dto.setLocation((String) value);
+                case "maxCapacity" -> dto.setMaxCapacity((Integer) value);
+                case "latitude" -> dto.setLatitude((Double) value);
+                case "longitude" -> dto.setLongitude((Double) value);
+                case "reservedCapacity" -> dto.setReservedCapacity((Integer) value);
+                default -> throw new IllegalArgumentException("Unknown warehouse column: " + selected.get(i));
+            }
+        }
+        return dto;
+    }
+}
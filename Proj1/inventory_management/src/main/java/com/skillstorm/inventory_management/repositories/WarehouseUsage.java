@@ -0,0 +1,23 @@
+package com.skillstorm.inventory_management.repositories;
+
+/**
+ * Projection of aggregated item figures for a single warehouse.
+ * Lets capacity be computed with SUM/COUNT instead of loading the items collection.
+ */
+public interface WarehouseUsage {
+
+    /**
+     * @return Warehouse ID
+     */
+    Long getWarehouseId();
+
+    /**
+     * @return Sum of item quantities stored in the warehouse
+     */
+    Long getTotalQuantity();
+
+    /**
+     * @return Number of item rows stored in the warehouse
+     */
+    Long getItemCount();
+}
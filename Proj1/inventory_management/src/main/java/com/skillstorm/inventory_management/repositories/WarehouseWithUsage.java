@@ -0,0 +1,15 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.skillstorm.inventory_management.entities.Warehouse;
+
+/**
+ * Projection of a warehouse together with its aggregated item figures,
+ * read in one statement instead of loading the items collection per warehouse.
+ */
+public interface WarehouseWithUsage extends WarehouseUsage {
+
+    /**
+     * @return Warehouse entity (its items collection is not loaded)
+     */
+    Warehouse getWarehouse();
+}
@@ -0,0 +1,28 @@
+package com.skillstorm.inventory_management.services;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One audited mutation, as captured by {@link AuditTrail} and persisted by {@link AuditWriter}.
+ *
+ * @param occurredAt When the mutation was made
+ * @param actor User from the actor header, "anonymous" without one, "system" outside a request
+ * @param action CREATE, UPDATE, DELETE or TRANSFER
+ * @param entityType ITEM, WAREHOUSE or RESERVATION
+ * @param entityId ID of the changed entity
+ * @param details Changed values, stored as JSON
+ */
+public record AuditEvent(Instant occurredAt, String actor, Action action, EntityType entityType,
+                         Long entityId, Map<String, Object> details) {
+
+    /**
+     * Kind of mutation
+     */
+    public enum Action { CREATE, UPDATE, DELETE, TRANSFER }
+
+    /**
+     * Kind of entity changed
+     */
+    public enum EntityType { ITEM, WAREHOUSE, RESERVATION }
+}
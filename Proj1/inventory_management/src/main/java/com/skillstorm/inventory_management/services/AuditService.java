@@ -0,0 +1,50 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.AuditEventDto;
+import com.skillstorm.inventory_management.repositories.AuditEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service class for querying the audit trail written by {@link AuditWriter}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditService {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final Duration DEFAULT_RANGE = Duration.ofHours(24);
+
+    private final AuditEventRepository auditEventRepository;
+
+    /**
+     * Finds audit events in a time range, newest first
+     *
+     * @param from Inclusive start (optional, defaults to 24 hours before the end)
+     * @param to Exclusive end (optional, defaults to now)
+     * @param entityType Entity type filter (optional)
+     * @param entityId Entity ID filter (optional)
+     * @param limit Maximum number of events, 1 to 1000
+     * @return Matching audit event DTOs
+     * @throws IllegalArgumentException if the range is empty or the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<AuditEventDto> findEvents(Instant from, Instant to, AuditEvent.EntityType entityType,
+                                          Long entityId, int limit) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        String type = entityType != null ? entityType.name() : null;
+        return auditEventRepository.find(start, end, type, entityId, limit);
+    }
+}
@@ -0,0 +1,126 @@
+package com.skillstorm.inventory_management.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.config.AuditProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Local JSON-lines file holding audit events that could not go through the ring buffer
+ * (SPILL overflow policy) or into the database (failed batch). The writer replays it once
+ * it has caught up: the file is first renamed aside so appends carry on into a fresh file,
+ * and the renamed file is only deleted after every batch from it has been written.
+ */
+@Slf4j
+@Component
+public class AuditSpillFile {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final Path replaying;
+
+    public AuditSpillFile(ObjectMapper objectMapper, AuditProperties properties) {
+        this.objectMapper = objectMapper;
+        this.file = properties.getSpillFile();
+        this.replaying = file.resolveSibling(file.getFileName() + ".replaying");
+    }
+
+    /**
+     * Appends events to the spill file
+     *
+     * @param events Events to append
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public synchronized void append(List<AuditEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write audit spill file " + file, e);
+        }
+    }
+
+    /**
+     * @return Whether spilled events are waiting to be replayed
+     */
+    public boolean hasPending() {
+        return Files.exists(replaying) || Files.exists(file);
+    }
+
+    /**
+     * Hands spilled events to a consumer in batches, deleting them once all were consumed.
+     * If the consumer throws, the file stays on disk and is offered again in full on the next call,
+     * so events from batches written before the failure are written twice.
+     *
+     * @param batchSize Largest batch passed to the consumer
+     * @param consumer Receives each batch
+     * @return Number of events replayed
+     */
+    public int replay(int batchSize, Consumer<List<AuditEvent>> consumer) {
+        try {
+            synchronized (this) {
+                if (!Files.exists(replaying)) {
+                    if (!Files.exists(file)) {
+                        return 0;
+                    }
+                    Files.move(file, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            int replayed = 0;
+            try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                List<AuditEvent> batch = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    AuditEvent event = parse(line);
+                    if (event == null) {
+                        continue;
+                    }
+                    batch.add(event);
+                    if (batch.size() == batchSize) {
+                        consumer.accept(batch);
+                        replayed += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    consumer.accept(batch);
+                    replayed += batch.size();
+                }
+            }
+            Files.delete(replaying);
+            return replayed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay audit spill file " + replaying, e);
+        }
+    }
+
+    private AuditEvent parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, AuditEvent.class);
+        } catch (JsonProcessingException e) {
+            // A torn last line after a crash; skipping it is better than blocking the replay for good
+            log.warn("Skipping unreadable audit spill line: {}", line);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Captures audit events in the mutation methods without adding a write to their transaction.
+ * The event is built on the request thread (where the actor is known) and handed to a lock-free
+ * ring buffer after the transaction commits, so rolled-back changes are never audited;
+ * {@link AuditWriter} persists the buffer in batches. When the buffer is full the configured
+ * overflow policy decides whether the request waits, drops the event, or spills it to a local file.
+ */
+@Slf4j
+@Service
+public class AuditTrail {
+
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final AuditSpillFile spillFile;
+    private final AuditProperties properties;
+    private final Counter droppedEvents;
+    private final Counter spilledEvents;
+
+    public AuditTrail(BoundedRingBuffer<AuditEvent> auditBuffer, AuditSpillFile spillFile,
+                      AuditProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = auditBuffer;
+        this.spillFile = spillFile;
+        this.properties = properties;
+        this.droppedEvents = Counter.builder("inventory.audit.dropped")
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        this.spilledEvents = Counter.builder("inventory.audit.spilled")
+                .description("Audit events written to the spill file because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("inventory.audit.buffer.size", auditBuffer, BoundedRingBuffer::size)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a mutation, to be buffered once the current transaction commits
+     *
+     * @param action Kind of mutation
+     * @param entityType Kind of entity changed
+     * @param entityId ID of the changed entity
+     * @param details Changed values
+     */
+    public void record(AuditEvent.Action action, AuditEvent.EntityType entityType, Long entityId, Map<String, Object> details) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(Instant.now(), currentActor(), action, entityType, entityId, details);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (buffer.offer(event)) {
+                        return;
+                    }
+                }
+                droppedEvents.increment();
+            }
+            case SPILL -> {
+                try {
+                    spillFile.append(List.of(event));
+                    spilledEvents.increment();
+                } catch (UncheckedIOException e) {
+                    log.warn("Dropping audit event: {}", e.getMessage());
+                    droppedEvents.increment();
+                }
+            }
+            case DROP -> droppedEvents.increment();
+        }
+    }
+
+    private String currentActor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String actor = servletAttributes.getRequest().getHeader(properties.getActorHeader());
+            return actor == null || actor.isBlank() ? "anonymous" : actor;
+        }
+        return "system";
+    }
+}
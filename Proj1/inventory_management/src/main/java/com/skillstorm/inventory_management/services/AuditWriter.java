@@ -0,0 +1,145 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.config.AuditProperties;
+import com.skillstorm.inventory_management.repositories.AuditEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single consumer of the audit ring buffer: drains it in batches of up to batch-size and writes
+ * each batch with one JDBC batch insert, waiting up to flush-interval for a partial batch to fill.
+ * A batch the database rejects is spilled to the local file instead of being lost, and the spill
+ * file is replayed whenever the buffer is empty.
+ */
+@Slf4j
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final AuditEventRepository auditEventRepository;
+    private final AuditSpillFile spillFile;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter writtenEvents;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditWriter(BoundedRingBuffer<AuditEvent> auditBuffer, AuditEventRepository auditEventRepository,
+                       AuditSpillFile spillFile, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = auditBuffer;
+        this.auditEventRepository = auditEventRepository;
+        this.spillFile = spillFile;
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.writtenEvents = Counter.builder("inventory.audit.written")
+                .description("Audit events persisted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever is still buffered goes to the database, or to the spill file for the next start
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server (phases stop highest first), so events from the last
+     * in-flight requests are still written
+     *
+     * @return Lifecycle phase
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStarted = 0;
+        while (running) {
+            if (batch.isEmpty()) {
+                batchStarted = System.nanoTime();
+            }
+            buffer.drainTo(batch, batchSize - batch.size());
+            boolean full = batch.size() >= batchSize;
+            boolean due = System.nanoTime() - batchStarted >= flushIntervalNanos;
+            if (!batch.isEmpty() && (full || due)) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            } else if (batch.isEmpty() && spillFile.hasPending()) {
+                replaySpillFile();
+            } else if (!full) {
+                LockSupport.parkNanos(Math.min(flushIntervalNanos, 10_000_000L));
+            }
+            if (Thread.interrupted()) {
+                break;
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            auditEventRepository.insertBatch(batch);
+            writtenEvents.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} audit events, spilling them: {}", batch.size(), e.getMessage());
+            try {
+                spillFile.append(batch);
+            } catch (RuntimeException spillFailure) {
+                log.error("Lost {} audit events: {}", batch.size(), spillFailure.getMessage());
+            }
+        }
+    }
+
+    private void replaySpillFile() {
+        try {
+            int replayed = spillFile.replay(batchSize, batch -> {
+                auditEventRepository.insertBatch(batch);
+                writtenEvents.increment(batch.size());
+            });
+            if (replayed > 0) {
+                log.info("Replayed {} spilled audit events", replayed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not replay audit spill file, retrying later: {}", e.getMessage());
+            LockSupport.parkNanos(flushIntervalNanos * 10);
+        }
+    }
+}
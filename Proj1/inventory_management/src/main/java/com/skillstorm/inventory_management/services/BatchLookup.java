@@ -0,0 +1,77 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.BatchGetResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helper for the batch-get service methods.
+ * Normalizes requested IDs, splits them into IN-clause sized chunks and assembles the response.
+ */
+final class BatchLookup {
+
+    /**
+     * Maximum number of IDs bound into a single IN clause
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Removes duplicate IDs while keeping request order and enforces the batch limit
+     *
+     * @param ids Requested IDs
+     * @param maxIds Maximum number of distinct IDs allowed
+     * @return Distinct IDs in request order
+     * @throws IllegalArgumentException if more than maxIds distinct IDs are requested
+     */
+    static List<Long> distinctIds(List<Long> ids, int maxIds) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > maxIds) {
+            throw new IllegalArgumentException(
+                "Batch get supports at most " + maxIds + " IDs, but " + distinct.size() + " were requested"
+            );
+        }
+        return distinct;
+    }
+
+    /**
+     * Splits IDs into chunks of at most CHUNK_SIZE
+     *
+     * @param ids Distinct IDs
+     * @return List of chunks
+     */
+    static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Builds the batch response, ordering found resources by the requested IDs
+     *
+     * @param ids Distinct IDs in request order
+     * @param found Resolved resources keyed by ID
+     * @param <T> Type of the resolved DTO
+     * @return Batch response
+     */
+    static <T> BatchGetResponse<T> toResponse(List<Long> ids, Map<Long, T> found) {
+        List<T> resolved = new ArrayList<>(found.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : ids) {
+            T dto = found.get(id);
+            if (dto != null) {
+                resolved.add(dto);
+            } else {
+                notFound.add(id);
+            }
+        }
+        return new BatchGetResponse<>(resolved, notFound);
+    }
+}
@@ -0,0 +1,114 @@
+package com.skillstorm.inventory_management.services;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bounded ring buffer for many producers and a single consumer.
+ * Each slot carries a sequence number: a producer claims a position with one CAS on the tail
+ * and publishes its element by advancing the slot's sequence, so producers never block each
+ * other or the consumer, and a full buffer is reported instead of waited on.
+ *
+ * @param <E> Element type
+ */
+public class BoundedRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param requestedCapacity Minimum capacity; rounded up to a power of two
+     */
+    public BoundedRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room. Safe to call from any number of threads.
+     *
+     * @param element Element to add
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called from the single consumer thread.
+     *
+     * @return Oldest element, or null if none has been published yet
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.set(index, position + elements.length);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Moves up to {@code max} elements into a collection. Consumer thread only.
+     *
+     * @param target Collection to add to
+     * @param max Largest number of elements to move
+     * @return Number of elements moved
+     */
+    public int drainTo(Collection<? super E> target, int max) {
+        int drained = 0;
+        E element;
+        while (drained < max && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return Approximate number of elements waiting
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(elements.length, tail.get() - head));
+    }
+
+    /**
+     * @return Number of slots
+     */
+    public int capacity() {
+        return elements.length;
+    }
+}
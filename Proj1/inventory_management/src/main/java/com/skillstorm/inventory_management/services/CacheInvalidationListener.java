@@ -0,0 +1,119 @@
+package com.skillstorm.inventory_management.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Receives cache invalidations published by any node (including this one) with LISTEN.
+ * Uses a dedicated connection outside the pool, since it is held for the lifetime of the
+ * application. Whenever the connection is (re)established all local caches are cleared,
+ * because messages sent while not listening are lost.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final CacheInvalidationPublisher publisher;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final int pollMillis;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public CacheInvalidationListener(CacheInvalidationPublisher publisher,
+                                     DataSourceProperties dataSourceProperties,
+                                     @Value("${inventory.cache.invalidation.channel:inventory_cache}") String channel,
+                                     @Value("${inventory.cache.invalidation.poll-millis:500}") int pollMillis) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel name: " + channel);
+        }
+        this.publisher = publisher;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(pollMillis * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return true while the listener connection is subscribed to the channel
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                publisher.clearAll();
+                listening = true;
+                log.info("Listening for cache invalidations on channel '{}'", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            publisher.apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                listening = false;
+                publisher.clearAll();
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting: {}", e.getMessage());
+                    try {
+                        Thread.sleep(RECONNECT_DELAY_MILLIS);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                }
+            } finally {
+                listening = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.config.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Publishes cache invalidations to every node.
+ * Messages are sent with pg_notify inside the writing transaction; PostgreSQL delivers them
+ * only when that transaction commits and drops them on rollback. The local node's entries are
+ * evicted right after commit as well, so it reads its own writes without waiting for delivery.
+ * Payloads are {@code <cache>} (clear) or {@code <cache>:<id>} (evict one entry).
+ */
+@Slf4j
+@Service
+public class CacheInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final String channel;
+
+    public CacheInvalidationPublisher(DataSource dataSource, CacheManager cacheManager,
+                                      @Value("${inventory.cache.invalidation.channel:inventory_cache}") String channel) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cacheManager = cacheManager;
+        this.channel = channel;
+    }
+
+    /**
+     * Invalidates cached warehouse DTOs, whose capacity figures change with their items
+     *
+     * @param warehouseIds Affected warehouse IDs; nulls are ignored
+     */
+    public void warehousesChanged(Long... warehouseIds) {
+        for (Long id : warehouseIds) {
+            if (id != null) {
+                publish(CacheConfig.WAREHOUSES + ":" + id);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached category list
+     */
+    public void categoriesChanged() {
+        publish(CacheConfig.CATEGORIES);
+    }
+
+    /**
+     * Applies an invalidation message to this node's caches
+     *
+     * @param payload Message payload
+     */
+    public void apply(String payload) {
+        int separator = payload.indexOf(':');
+        String cacheName = separator < 0 ? payload : payload.substring(0, separator);
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            log.warn("Ignoring invalidation for unknown cache '{}'", cacheName);
+            return;
+        }
+        if (separator < 0) {
+            cache.clear();
+        } else {
+            cache.evict(Long.valueOf(payload.substring(separator + 1)));
+        }
+    }
+
+    /**
+     * Clears every cache on this node, used when invalidations may have been missed
+     */
+    public void clearAll() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private void publish(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, payload);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(payload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(payload);
+            }
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory index of warehouses ordered by available capacity.
+ * A red-black tree keyed by (available capacity, ID) finds the first warehouse able to take a
+ * quantity in O(log n), and walks on from there in either direction: most room first, or tightest
+ * fit first (the smallest available capacity that still fits). A hash map gives each warehouse's
+ * current entry, so an update is one removal and one insertion. Readers and writers are separated
+ * by a read-write lock.
+ */
+public class CapacityIndex {
+
+    /**
+     * Order in which warehouses with room are returned
+     */
+    public enum Fit {
+        /**
+         * Largest available capacity first, spreading stock across the network
+         */
+        MOST_ROOM,
+        /**
+         * Smallest available capacity that still fits first, keeping large free spaces for large receipts
+         */
+        TIGHTEST;
+
+        /**
+         * @param value Fit name, case-insensitive
+         * @return The fit
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Fit parse(String value) {
+            for (Fit fit : values()) {
+                if (fit.name().equalsIgnoreCase(value)) {
+                    return fit;
+                }
+            }
+            throw new IllegalArgumentException("fit must be one of " + Arrays.toString(values()));
+        }
+    }
+
+    private static final Comparator<WarehouseCapacity> BY_AVAILABLE = Comparator
+            .comparingLong(WarehouseCapacity::available)
+            .thenComparingLong(WarehouseCapacity::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, WarehouseCapacity> byId = new HashMap<>();
+    private final NavigableSet<WarehouseCapacity> byAvailable = new TreeSet<>(BY_AVAILABLE);
+
+    /**
+     * Adds a warehouse, or replaces its figures if it is already indexed
+     *
+     * @param warehouse Capacity figures
+     */
+    public void put(WarehouseCapacity warehouse) {
+        lock.writeLock().lock();
+        try {
+            WarehouseCapacity previous = byId.put(warehouse.id(), warehouse);
+            if (previous != null) {
+                byAvailable.remove(previous);
+            }
+            byAvailable.add(warehouse);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a warehouse
+     *
+     * @param warehouseId Warehouse ID
+     */
+    public void remove(long warehouseId) {
+        lock.writeLock().lock();
+        try {
+            WarehouseCapacity previous = byId.remove(warehouseId);
+            if (previous != null) {
+                byAvailable.remove(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param warehouseId Warehouse ID
+     * @return Current figures of the warehouse, or null if it is not indexed
+     */
+    public WarehouseCapacity get(long warehouseId) {
+        lock.readLock().lock();
+        try {
+            return byId.get(warehouseId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Copy of every indexed warehouse's figures
+     */
+    public List<WarehouseCapacity> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(byId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of indexed warehouses
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds warehouses able to take a quantity
+     *
+     * @param quantity Units to place
+     * @param fit Order of the results
+     * @param limit Maximum number of warehouses
+     * @param excluded Warehouses to leave out
+     * @return Warehouses whose available capacity is at least the quantity, in the requested order
+     */
+    public List<WarehouseCapacity> withRoomFor(long quantity, Fit fit, int limit, LongPredicate excluded) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<WarehouseCapacity> fitting = byAvailable.tailSet(
+                    new WarehouseCapacity(Long.MIN_VALUE, null, 0, -quantity, null, null), true);
+            Iterator<WarehouseCapacity> iterator = fit == Fit.TIGHTEST ? fitting.iterator() : fitting.descendingIterator();
+            List<WarehouseCapacity> result = new ArrayList<>();
+            while (iterator.hasNext() && result.size() < limit) {
+                WarehouseCapacity warehouse = iterator.next();
+                if (!excluded.test(warehouse.id())) {
+                    result.add(warehouse);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
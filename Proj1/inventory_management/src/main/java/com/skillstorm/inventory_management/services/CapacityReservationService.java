@@ -0,0 +1,381 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.ReceiptRequest;
+import com.skillstorm.inventory_management.dtos.ReservationDto;
+import com.skillstorm.inventory_management.dtos.ReservationRequest;
+import com.skillstorm.inventory_management.entities.InventoryItem;
+import com.skillstorm.inventory_management.entities.Warehouse;
+import com.skillstorm.inventory_management.exceptions.InsufficientCapacityException;
+import com.skillstorm.inventory_management.exceptions.ResourceNotFoundException;
+import com.skillstorm.inventory_management.repositories.CapacityReservationRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Change;
+import com.skillstorm.inventory_management.repositories.InventoryItemRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseLockRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds warehouse capacity for inbound shipments until they are received or the hold expires.
+ * Held capacity is kept in the warehouse's reserved_capacity column, which
+ * {@link Warehouse#hasCapacity} counts, so every capacity check sees it.
+ * Expiry is event-driven: each reservation is scheduled in a {@link DelayQueue} when it is seen in
+ * the change log (see {@link ChangeLogFollower}), and an expiry thread wakes only when the next
+ * one is due, so no node ever scans the table for expired holds. Every node schedules every
+ * reservation; the first to delete it wins and the others find nothing to do.
+ */
+@Slf4j
+@Service
+public class CapacityReservationService extends ChangeLogFollower {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final CapacityReservationRepository capacityReservationRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryItemService inventoryItemService;
+    private final WarehouseLockRepository warehouseLockRepository;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final AuditTrail auditTrail;
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionTemplate writeTransaction;
+    private final Duration maxTtl;
+
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private final Map<Long, Expiry> scheduled = new ConcurrentHashMap<>();
+    private Thread expirer;
+
+    public CapacityReservationService(CapacityReservationRepository capacityReservationRepository,
+                                      WarehouseRepository warehouseRepository,
+                                      InventoryItemRepository inventoryItemRepository,
+                                      InventoryItemService inventoryItemService,
+                                      WarehouseLockRepository warehouseLockRepository,
+                                      CacheInvalidationPublisher cacheInvalidationPublisher,
+                                      AuditTrail auditTrail,
+                                      ChangeLogRepository changeLogRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${inventory.reservations.max-ttl:7d}") Duration maxTtl,
+                                      @Value("${inventory.reservations.refresh-interval:200ms}") Duration refreshInterval) {
+        super("capacity reservation schedule", "reservation-log-follower", changeLogRepository, transactionManager,
+                refreshInterval);
+        this.capacityReservationRepository = capacityReservationRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.inventoryItemService = inventoryItemService;
+        this.warehouseLockRepository = warehouseLockRepository;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.auditTrail = auditTrail;
+        this.changeLogRepository = changeLogRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.maxTtl = maxTtl;
+    }
+
+    /**
+     * Holds capacity in a warehouse
+     *
+     * @param warehouseId Warehouse ID
+     * @param request Quantity, time to live and optional reference
+     * @return The reservation
+     * @throws ResourceNotFoundException if the warehouse is not found
+     * @throws InsufficientCapacityException if the warehouse cannot take the quantity
+     * @throws IllegalArgumentException if the TTL is not positive or above the maximum
+     */
+    @Transactional
+    public ReservationDto createReservation(Long warehouseId, ReservationRequest request) {
+        Duration ttl = request.getTtl();
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("TTL must be positive and at most " + maxTtl);
+        }
+        warehouseLockRepository.lockWarehouses(warehouseId);
+        Warehouse warehouse = warehouseRepository.findByIdWithItems(warehouseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + warehouseId));
+        if (!warehouse.hasCapacity(request.getQuantity())) {
+            throw new InsufficientCapacityException(
+                "Insufficient warehouse capacity. Available: " + warehouse.getAvailableCapacity() +
+                ", Required: " + request.getQuantity()
+            );
+        }
+
+        ReservationDto reservation = capacityReservationRepository.create(warehouseId, request.getQuantity(),
+                request.getReference(), ttl);
+        auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.RESERVATION, reservation.getId(),
+                auditDetails(reservation));
+        logChange(reservation);
+        return reservation;
+    }
+
+    /**
+     * Lists a warehouse's reservations that have not expired
+     *
+     * @param warehouseId Warehouse ID
+     * @return Reservations, soonest to expire first
+     * @throws ResourceNotFoundException if the warehouse is not found
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getReservations(Long warehouseId) {
+        List<ReservationDto> reservations = capacityReservationRepository.findActiveByWarehouseId(warehouseId);
+        if (reservations.isEmpty() && !warehouseRepository.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Warehouse not found with id: " + warehouseId);
+        }
+        return reservations;
+    }
+
+    /**
+     * Releases a reservation before it expires, e.g. because the shipment was cancelled
+     *
+     * @param id Reservation ID
+     * @throws ResourceNotFoundException if the reservation is not found
+     */
+    @Transactional
+    public void releaseReservation(Long id) {
+        lockReservationWarehouse(id);
+        ReservationDto released = capacityReservationRepository.delete(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.RESERVATION, id, auditDetails(released));
+        logChange(released);
+    }
+
+    /**
+     * Receives the shipment a reservation was held for: the hold is released and the received
+     * quantity stored in the same transaction, so the capacity cannot be taken in between.
+     *
+     * @param id Reservation ID
+     * @param receipt SKU, item details and quantity received
+     * @return The created or updated inventory item
+     * @throws ResourceNotFoundException if the reservation is not found or has expired
+     * @throws InsufficientCapacityException if more was received than the warehouse can take
+     * @throws IllegalArgumentException if the SKU is new to the warehouse and no item name is given
+     */
+    @Transactional
+    public InventoryItemDto receiveReservation(Long id, ReceiptRequest receipt) {
+        Long warehouseId = lockReservationWarehouse(id);
+        // Released before any entity is loaded, so the capacity check below reads the reduced reserved capacity
+        ReservationDto reservation = capacityReservationRepository.deleteActive(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Active reservation not found with id: " + id));
+        Map<String, Object> details = auditDetails(reservation);
+        details.put("received", true);
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.RESERVATION, id, details);
+        logChange(reservation);
+
+        int quantity = receipt.getQuantity() != null ? receipt.getQuantity() : reservation.getQuantity();
+        Optional<InventoryItem> existing = inventoryItemRepository.findByWarehouseId(warehouseId).stream()
+                .filter(item -> item.getSku().equals(receipt.getSku()))
+                .findFirst();
+        if (existing.isPresent()) {
+            InventoryItem item = existing.get();
+            return inventoryItemService.updateItem(item.getId(), new InventoryItemDto(item.getId(), item.getSku(),
+                    item.getName(), item.getDescription(), item.getCategory(), item.getQuantity() + quantity,
+                    item.getStorageLocation(), warehouseId, null));
+        }
+        if (receipt.getName() == null || receipt.getName().isBlank()) {
+            throw new IllegalArgumentException("Item name is required for a SKU new to the warehouse");
+        }
+        return inventoryItemService.createItem(new InventoryItemDto(null, receipt.getSku(), receipt.getName(),
+                receipt.getDescription(), receipt.getCategory(), quantity, receipt.getStorageLocation(),
+                warehouseId, null));
+    }
+
+    /**
+     * @return Number of reservations scheduled to expire on this node
+     */
+    public int scheduledCount() {
+        return scheduled.size();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        expirer = new Thread(this::expireDue, "reservation-expirer");
+        expirer.setDaemon(true);
+        expirer.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (expirer != null) {
+            expirer.interrupt();
+        }
+    }
+
+    @Override
+    protected void load() {
+        capacityReservationRepository.findAll().forEach(this::schedule);
+    }
+
+    @Override
+    protected void apply(List<Change> changes) {
+        Set<Long> ids = new HashSet<>();
+        for (Change change : changes) {
+            if (ChangeLogRepository.RESERVATION.equals(change.entityType())) {
+                ids.add(change.entityId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (ReservationDto reservation : capacityReservationRepository.findByIds(ids)) {
+            schedule(reservation);
+            ids.remove(reservation.getId());
+        }
+        // Received, released or expired elsewhere
+        for (Long id : ids) {
+            Expiry expiry = scheduled.remove(id);
+            if (expiry != null) {
+                expiries.remove(expiry);
+            }
+        }
+    }
+
+    private void schedule(ReservationDto reservation) {
+        Expiry expiry = new Expiry(reservation.getId(), reservation.getWarehouseId(), reservation.getExpiresAt());
+        if (scheduled.putIfAbsent(reservation.getId(), expiry) == null) {
+            expiries.add(expiry);
+        }
+    }
+
+    /**
+     * Takes each reservation off the queue when it is due and deletes it
+     */
+    private void expireDue() {
+        while (isRunning() && !Thread.currentThread().isInterrupted()) {
+            Expiry expiry;
+            try {
+                expiry = expiries.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!scheduled.remove(expiry.id(), expiry)) {
+                continue;
+            }
+            try {
+                if (!expire(expiry)) {
+                    // Not due by the database clock yet. When the local clock runs ahead, expiresAt is
+                    // already past here, so wait at least the retry delay instead of spinning on it
+                    Instant retryAt = Instant.now().plusMillis(RETRY_DELAY_MILLIS);
+                    capacityReservationRepository.findByIds(List.of(expiry.id())).forEach(reservation ->
+                            reschedule(reservation.getId(), reservation.getWarehouseId(),
+                                    reservation.getExpiresAt().isAfter(retryAt) ? reservation.getExpiresAt() : retryAt));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not expire reservation {}, retrying: {}", expiry.id(), e.getMessage());
+                reschedule(expiry.id(), expiry.warehouseId(), Instant.now().plusMillis(RETRY_DELAY_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Puts a reservation back on the expiry queue unless it has been scheduled again meanwhile
+     *
+     * @param id Reservation ID
+     * @param warehouseId Warehouse ID
+     * @param dueAt When to try expiring it next
+     */
+    private void reschedule(long id, long warehouseId, Instant dueAt) {
+        Expiry retry = new Expiry(id, warehouseId, dueAt);
+        if (scheduled.putIfAbsent(id, retry) == null) {
+            expiries.add(retry);
+        }
+    }
+
+    /**
+     * Deletes a reservation if it has expired
+     *
+     * @param expiry Scheduled expiry
+     * @return false if the reservation still exists and has not expired
+     */
+    private boolean expire(Expiry expiry) {
+        Optional<ReservationDto> expired = writeTransaction.execute(status -> {
+            warehouseLockRepository.lockWarehouses(expiry.warehouseId());
+            Optional<ReservationDto> deleted = capacityReservationRepository.deleteExpired(expiry.id());
+            deleted.ifPresent(reservation -> {
+                auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.RESERVATION, reservation.getId(),
+                        auditDetails(reservation));
+                logChange(reservation);
+            });
+            return deleted;
+        });
+        if (expired.isPresent()) {
+            log.info("Reservation {} of {} units in warehouse {} expired", expiry.id(), expired.get().getQuantity(),
+                    expiry.warehouseId());
+            return true;
+        }
+        return capacityReservationRepository.findWarehouseId(expiry.id()).isEmpty();
+    }
+
+    /**
+     * Locks the warehouse of a reservation
+     *
+     * @param id Reservation ID
+     * @return Warehouse ID
+     * @throws ResourceNotFoundException if the reservation is not found
+     */
+    private Long lockReservationWarehouse(Long id) {
+        Long warehouseId = capacityReservationRepository.findWarehouseId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        warehouseLockRepository.lockWarehouses(warehouseId);
+        return warehouseId;
+    }
+
+    /**
+     * Logs a created or deleted reservation and the change to its warehouse's reserved capacity
+     */
+    private void logChange(ReservationDto reservation) {
+        changeLogRepository.reservationChanged(reservation.getId(), reservation.getWarehouseId());
+        cacheInvalidationPublisher.warehousesChanged(reservation.getWarehouseId());
+    }
+
+    /**
+     * Captures a reservation's values for the audit trail
+     *
+     * @param reservation Reservation
+     * @return Audit details
+     */
+    private static Map<String, Object> auditDetails(ReservationDto reservation) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("warehouseId", reservation.getWarehouseId());
+        details.put("quantity", reservation.getQuantity());
+        details.put("reference", reservation.getReference());
+        details.put("expiresAt", reservation.getExpiresAt().toString());
+        return details;
+    }
+
+    /**
+     * Reservation waiting in the delay queue
+     *
+     * @param id Reservation ID
+     * @param warehouseId Warehouse ID, locked while expiring
+     * @param expiresAt When the reservation expires
+     */
+    private record Expiry(long id, long warehouseId, Instant expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAt.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((Expiry) other).expiresAt);
+        }
+    }
+}
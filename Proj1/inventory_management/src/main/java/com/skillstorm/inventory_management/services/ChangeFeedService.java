@@ -0,0 +1,131 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.BatchGetResponse;
+import com.skillstorm.inventory_management.dtos.ChangeFeedResponse;
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Change;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Position;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serves the delta-sync change feed for offline clients.
+ * A client takes a cursor, loads the full lists once, and from then on asks only for what changed
+ * since its cursor: the change log gives the IDs, and their current state is resolved with the
+ * batch lookups, so a reconnect costs the size of the delta rather than the size of the tables.
+ * Entities that no longer exist are returned as tombstones.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final InventoryItemService inventoryItemService;
+    private final WarehouseService warehouseService;
+
+    /**
+     * Maximum number of change-log rows read by a single call
+     */
+    @Value("${inventory.change-feed.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * Retrieves the changes after a cursor.
+     * Without a cursor, returns only the current cursor, to be taken before loading the full lists.
+     *
+     * @param since Cursor from a previous call (optional)
+     * @param limit Maximum number of change-log rows to read
+     * @return Changed entities, tombstones and the next cursor
+     * @throws IllegalArgumentException if the cursor or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        // Taken first: every transaction before it has finished, so the rows read below are final
+        Position settled = changeLogRepository.settledPosition();
+        if (since == null) {
+            return emptyResponse(settled, false);
+        }
+        Position after = parseCursor(since);
+        Position pruned = changeLogRepository.prunedPosition();
+        if (pruned != null && after.compareTo(pruned) < 0) {
+            return emptyResponse(settled, true);
+        }
+
+        List<Change> changes = changeLogRepository.findBetween(after, settled, limit);
+        Set<Long> itemIds = new LinkedHashSet<>();
+        Set<Long> warehouseIds = new LinkedHashSet<>();
+        for (Change change : changes) {
+            if (ChangeLogRepository.ITEM.equals(change.entityType())) {
+                itemIds.add(change.entityId());
+            } else if (ChangeLogRepository.WAREHOUSE.equals(change.entityType())) {
+                warehouseIds.add(change.entityId());
+            }
+        }
+        BatchGetResponse<InventoryItemDto> items = itemIds.isEmpty()
+                ? new BatchGetResponse<>(List.of(), List.of())
+                : inventoryItemService.getItemsByIds(new ArrayList<>(itemIds));
+        BatchGetResponse<WarehouseDto> warehouses = warehouseIds.isEmpty()
+                ? new BatchGetResponse<>(List.of(), List.of())
+                : warehouseService.getWarehousesByIds(new ArrayList<>(warehouseIds));
+
+        boolean hasMore = changes.size() == limit;
+        Position next = hasMore ? changes.get(changes.size() - 1).position() : max(after, settled);
+        return new ChangeFeedResponse(formatCursor(next), hasMore, false,
+                items.getFound(), warehouses.getFound(), items.getNotFound(), warehouses.getNotFound());
+    }
+
+    private static ChangeFeedResponse emptyResponse(Position cursor, boolean resyncRequired) {
+        return new ChangeFeedResponse(formatCursor(cursor), false, resyncRequired,
+                List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static Position max(Position a, Position b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * Formats a change-log position as an opaque cursor
+     *
+     * @param position Change-log position
+     * @return Cursor
+     */
+    static String formatCursor(Position position) {
+        return position.xid() + "." + position.seq();
+    }
+
+    /**
+     * Parses a cursor produced by {@link #formatCursor}
+     *
+     * @param cursor Cursor
+     * @return Change-log position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static Position parseCursor(String cursor) {
+        int separator = cursor.indexOf('.');
+        try {
+            if (separator < 0) {
+                throw new NumberFormatException();
+            }
+            long xid = Long.parseLong(cursor.substring(0, separator));
+            long seq = Long.parseLong(cursor.substring(separator + 1));
+            if (xid < 0 || seq < 0) {
+                throw new NumberFormatException();
+            }
+            return new Position(xid, seq);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid change feed cursor: " + cursor);
+        }
+    }
+}
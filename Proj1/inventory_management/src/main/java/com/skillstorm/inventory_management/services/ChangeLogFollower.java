@@ -0,0 +1,146 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.exceptions.ViewLoadingException;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Change;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Position;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Base for in-memory views kept current by tailing the change log.
+ * The view is loaded once in a read-only transaction, with the tail starting at a change-log
+ * position taken before the load, so changes made during the load are replayed by the first
+ * refresh. A daemon thread then applies the changes logged since, every refresh interval, so
+ * writes made on any node reach every node's view.
+ */
+@Slf4j
+public abstract class ChangeLogFollower implements SmartLifecycle {
+
+    private static final int TAIL_BATCH = 1000;
+    private static final long LOADING_RETRY_AFTER_SECONDS = 5;
+
+    private final String viewName;
+    private final String threadName;
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long refreshIntervalNanos;
+
+    private volatile boolean running;
+    private volatile boolean ready;
+    private Thread follower;
+    private Position cursor;
+
+    protected ChangeLogFollower(String viewName, String threadName, ChangeLogRepository changeLogRepository,
+                                PlatformTransactionManager transactionManager, Duration refreshInterval) {
+        this.viewName = viewName;
+        this.threadName = threadName;
+        this.changeLogRepository = changeLogRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Loads the complete view. Runs in a read-only transaction.
+     */
+    protected abstract void load();
+
+    /**
+     * Applies a batch of logged changes, oldest first
+     *
+     * @param changes Changes of every entity type
+     */
+    protected abstract void apply(List<Change> changes);
+
+    /**
+     * @return true once the view has been loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rejects a request that needs the view while it is still loading
+     *
+     * @throws ViewLoadingException until the view has been loaded
+     */
+    protected void requireReady() {
+        if (!ready) {
+            throw new ViewLoadingException(Character.toUpperCase(viewName.charAt(0)) + viewName.substring(1)
+                    + " is still loading", LOADING_RETRY_AFTER_SECONDS);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        follower = new Thread(this::run, threadName);
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (follower != null) {
+            follower.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running && !ready) {
+            try {
+                loadFromPosition();
+                ready = true;
+            } catch (RuntimeException e) {
+                log.warn("Could not load {}, retrying: {}", viewName, e.getMessage());
+                LockSupport.parkNanos(refreshIntervalNanos * 10);
+            }
+        }
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh {}: {}", viewName, e.getMessage());
+            }
+            LockSupport.parkNanos(refreshIntervalNanos);
+        }
+    }
+
+    private void loadFromPosition() {
+        long started = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            cursor = changeLogRepository.settledPosition();
+            load();
+        });
+        log.info("Loaded {} in {} ms", viewName, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Applies the changes logged since the last refresh
+     */
+    void refresh() {
+        boolean more = true;
+        while (more) {
+            List<Change> changes = readOnlyTransaction.execute(status ->
+                    changeLogRepository.findBetween(cursor, changeLogRepository.settledPosition(), TAIL_BATCH));
+            if (!changes.isEmpty()) {
+                apply(changes);
+                cursor = changes.get(changes.size() - 1).position();
+            }
+            more = changes.size() == TAIL_BATCH;
+        }
+    }
+}
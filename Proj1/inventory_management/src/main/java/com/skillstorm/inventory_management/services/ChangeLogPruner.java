@@ -0,0 +1,76 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes change-log rows older than the retention period, so the change feed's table stays
+ * proportional to recent write volume. Clients whose cursor falls behind the pruned range are told
+ * to resync instead of receiving an incomplete delta.
+ */
+@Slf4j
+@Component
+public class ChangeLogPruner implements SmartLifecycle {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final Duration retention;
+    private final Duration interval;
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public ChangeLogPruner(ChangeLogRepository changeLogRepository,
+                           @Value("${inventory.change-feed.retention:7d}") Duration retention,
+                           @Value("${inventory.change-feed.prune-interval:1h}") Duration interval) {
+        this.changeLogRepository = changeLogRepository;
+        this.retention = retention;
+        this.interval = interval;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-log-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::prune, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Deletes changes older than the retention period
+     */
+    void prune() {
+        try {
+            int deleted = changeLogRepository.pruneBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Pruned {} change-log rows older than {}", deleted, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not prune change log: {}", e.getMessage());
+        }
+    }
+}
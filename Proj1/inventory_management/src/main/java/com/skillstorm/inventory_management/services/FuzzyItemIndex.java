@@ -0,0 +1,762 @@
+package com.skillstorm.inventory_management.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory typo-tolerant index over item SKUs and name words.
+ * Every distinct lower-cased term (the SKU and each word of the name) is entered once in a trigram
+ * index, with the items using it. Candidates for a query word within edit distance k come from
+ * whichever of two pigeonhole filters reads the shorter posting lists: the partition filter, by
+ * which a matching term contains one of any k + 1 disjoint segments of the word exactly (segments
+ * are placed on the rarest trigrams), or the q-gram lemma, by which a matching term appears in one
+ * of the 3k + 1 shortest lists of the word's trigrams. Candidates are screened by length and by a
+ * 64-bit signature of their trigrams, then verified with Myers' bit-parallel edit distance
+ * (a Levenshtein computation bounded to a band of width 2k + 1 for words over 64 characters).
+ * The distance allowed per word also depends on its length:
+ * none up to 2 characters, one up to 5, the requested maximum beyond, so short words are not
+ * matched by almost anything. A query of several words matches the items that match every word,
+ * scored by the sum of the distances. Verified terms are visited best first, and the walk stops
+ * once the requested number of results can no longer improve, so common words do not cost a pass
+ * over every item that uses them. Readers and writers are separated by a read-write lock.
+ */
+public class FuzzyItemIndex {
+
+    private static final int Q = 3;
+    private static final char PAD = '\u0000';
+    private static final int MIN_WORD_LENGTH = 2;
+
+    /**
+     * Field of an item a term came from
+     */
+    public enum Field { SKU, NAME }
+
+    /**
+     * Item whose SKU or name matched a query
+     *
+     * @param itemId Item ID
+     * @param field Field that matched the most selective query word
+     * @param term Matched terms, one per query word, separated by spaces
+     * @param distance Total edit distance between the query words and the terms
+     */
+    public record Match(long itemId, Field field, String term, int distance) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Term> termsByText = new HashMap<>();
+    private final Map<Long, int[]> postings = new HashMap<>();
+    private final List<Term> termsById = new ArrayList<>();
+    private long[] signatures = new long[1024];
+    private int[] lengths = new int[1024];
+    private final Map<Long, Term[]> termsByItem = new HashMap<>();
+
+    /**
+     * Adds an item, or replaces its terms if it is already indexed
+     *
+     * @param itemId Item ID
+     * @param sku Item SKU
+     * @param name Item name
+     */
+    public void put(long itemId, String sku, String name) {
+        List<String> words = name != null ? words(name) : List.of();
+        String normalizedSku = sku != null ? normalize(sku) : "";
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+            Term[] terms = new Term[words.size() + 1];
+            int count = 0;
+            if (!normalizedSku.isEmpty()) {
+                terms[count++] = term(normalizedSku, Field.SKU);
+            }
+            for (String word : words) {
+                Term term = term(word, Field.NAME);
+                if (!contains(terms, count, term)) {
+                    terms[count++] = term;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                terms[i].items.add(itemId);
+            }
+            termsByItem.put(itemId, count == terms.length ? terms : Arrays.copyOf(terms, count));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an item
+     *
+     * @param itemId Item ID
+     */
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of indexed items
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByItem.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds items matching every word of the query within an edit distance.
+     * Each item is reported once, with its best match.
+     *
+     * @param query Query, compared case-insensitively
+     * @param maxDistance Largest edit distance accepted per word
+     * @param limit Maximum number of matches
+     * @return Matches ranked by total distance, then SKU before name, then shorter terms first
+     */
+    public List<Match> search(String query, int maxDistance, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Term, Integer>> verified = new ArrayList<>(words.size());
+            for (String word : words) {
+                Map<Term, Integer> terms = verify(word, allowedDistance(word, maxDistance));
+                if (terms.isEmpty()) {
+                    return List.of();
+                }
+                verified.add(terms);
+            }
+            // The word whose terms cover the fewest items drives the walk; the others are checked per item
+            int driver = 0;
+            long fewest = Long.MAX_VALUE;
+            for (int i = 0; i < verified.size(); i++) {
+                long covered = verified.get(i).keySet().stream().mapToLong(term -> term.items.size()).sum();
+                if (covered < fewest) {
+                    fewest = covered;
+                    driver = i;
+                }
+            }
+            return walk(verified, driver, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings, giving up once it must exceed a bound
+     *
+     * @param a First string
+     * @param b Second string
+     * @param max Bound
+     * @return Edit distance, or {@code max + 1} if it is larger than max
+     */
+    static int boundedLevenshtein(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int big = max + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : big;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : big;
+            if (from > 1) {
+                current[from - 1] = big;
+            }
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, big);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = big;
+            }
+            if (rowMin > max) {
+                return big;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], big);
+    }
+
+    private List<Match> walk(List<Map<Term, Integer>> verified, int driver, int limit) {
+        Map<Term, Integer> driverTerms = verified.get(driver);
+        List<Term> ordered = new ArrayList<>(driverTerms.keySet());
+        ordered.sort(Comparator.<Term>comparingInt(driverTerms::get)
+                .thenComparing(Term::bestField)
+                .thenComparingInt(term -> term.text.length())
+                .thenComparing(term -> term.text));
+
+        Set<Long> seen = new HashSet<>();
+        List<Match> results = new ArrayList<>();
+        int[] settled = new int[1];
+        for (Term term : ordered) {
+            int driverDistance = driverTerms.get(term);
+            // Items reached from here on score at least driverDistance, so results scoring no more are final
+            settled[0] = (int) results.stream().filter(match -> match.distance() <= driverDistance).count();
+            if (settled[0] >= limit) {
+                break;
+            }
+            boolean stopped = !term.items.forEach(itemId -> {
+                if (!seen.add(itemId)) {
+                    return true;
+                }
+                Match match = score(itemId, term, driverDistance, verified, driver);
+                if (match != null) {
+                    results.add(match);
+                    if (match.distance() <= driverDistance) {
+                        settled[0]++;
+                    }
+                }
+                return settled[0] < limit;
+            });
+            if (stopped) {
+                break;
+            }
+        }
+        results.sort(Comparator.comparingInt(Match::distance));
+        return results.size() > limit ? List.copyOf(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * Scores an item reached through a term of the driving word against the other query words
+     *
+     * @return Match, or null if the item does not match every word
+     */
+    private Match score(long itemId, Term driverTerm, int driverDistance, List<Map<Term, Integer>> verified, int driver) {
+        if (verified.size() == 1) {
+            return new Match(itemId, driverTerm.bestField(), driverTerm.text, driverDistance);
+        }
+        Term[] itemTerms = termsByItem.get(itemId);
+        StringBuilder matched = new StringBuilder();
+        int total = 0;
+        for (int i = 0; i < verified.size(); i++) {
+            Term best = driverTerm;
+            int bestDistance = driverDistance;
+            if (i != driver) {
+                best = null;
+                bestDistance = Integer.MAX_VALUE;
+                for (Term candidate : itemTerms) {
+                    Integer distance = verified.get(i).get(candidate);
+                    if (distance != null && distance < bestDistance) {
+                        best = candidate;
+                        bestDistance = distance;
+                    }
+                }
+                if (best == null) {
+                    return null;
+                }
+            }
+            total += bestDistance;
+            if (i > 0) {
+                matched.append(' ');
+            }
+            matched.append(best.text);
+        }
+        return new Match(itemId, driverTerm.bestField(), matched.toString(), total);
+    }
+
+    /**
+     * Finds the terms within a distance of a query word
+     *
+     * @return Verified terms still used by an item, with their distance
+     */
+    private Map<Term, Integer> verify(String word, int maxDistance) {
+        Map<Term, Integer> verified = new HashMap<>();
+        if (maxDistance == 0) {
+            Term term = termsByText.get(word);
+            if (term != null && !term.items.isEmpty()) {
+                verified.put(term, 0);
+            }
+            return verified;
+        }
+        long signature = signature(distinctGrams(word));
+        BitParallelPattern pattern = word.length() <= Long.SIZE ? new BitParallelPattern(word) : null;
+        int[] candidates = candidates(word, maxDistance);
+        for (int termId : candidates) {
+            if (Math.abs(lengths[termId] - word.length()) > maxDistance
+                    || Long.bitCount(signature & ~signatures[termId]) > Q * maxDistance) {
+                continue;
+            }
+            Term term = termsById.get(termId);
+            if (term.items.isEmpty()) {
+                continue;
+            }
+            int distance = pattern != null
+                    ? pattern.distance(term.text, maxDistance)
+                    : boundedLevenshtein(word, term.text, maxDistance);
+            if (distance <= maxDistance) {
+                verified.put(term, distance);
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * Picks the cheaper pigeonhole filter for a word, estimating each by the posting lists it reads
+     *
+     * @return Distinct candidate term IDs, in ascending order
+     */
+    private int[] candidates(String word, int maxDistance) {
+        long[] grams = distinctGrams(word);
+        int[][] lists = new int[grams.length][];
+        int present = 0;
+        for (long gram : grams) {
+            int[] list = postings.get(gram);
+            if (list != null) {
+                lists[present++] = list;
+            }
+        }
+        int[][] found = Arrays.copyOf(lists, present);
+        Arrays.sort(found, Comparator.comparingInt(list -> list[0]));
+        // Grams missing from the index are empty lists, which count towards the pigeonhole bound
+        int toRead = Math.min(found.length, Math.max(0, Q * maxDistance + 1 - (grams.length - present)));
+        long gramCost = 0;
+        for (int i = 0; i < toRead; i++) {
+            gramCost += found[i][0];
+        }
+
+        int[][] segments = segments(word, maxDistance + 1);
+        if (segments != null && segments[maxDistance + 1][0] < gramCost) {
+            return segmentCandidates(word, segments, maxDistance + 1);
+        }
+        int[] union = new int[0];
+        for (int i = 0; i < toRead; i++) {
+            union = merge(union, Arrays.copyOfRange(found[i], 1, found[i][0] + 1));
+        }
+        return union;
+    }
+
+    /**
+     * Places disjoint segments of at least three characters on the word so that the sum over
+     * segments of their rarest trigram's list size is smallest
+     *
+     * @return For each segment its {@code [from, to)} bounds, then the estimated cost as the last
+     * element; null if the word is too short to split
+     */
+    private int[][] segments(String word, int count) {
+        int n = word.length();
+        if (n < Q * count) {
+            return null;
+        }
+        int[] sizes = new int[n - Q + 1];
+        for (int i = 0; i < sizes.length; i++) {
+            int[] list = postings.get(gram(word, i));
+            sizes[i] = list == null ? 0 : list[0];
+        }
+        // best[s][i]: cheapest placement of s segments within the first i characters
+        long[][] best = new long[count + 1][n + 1];
+        int[][] startOf = new int[count + 1][n + 1];
+        for (int s = 1; s <= count; s++) {
+            Arrays.fill(best[s], Long.MAX_VALUE);
+            Arrays.fill(startOf[s], -1);
+            for (int i = Q; i <= n; i++) {
+                best[s][i] = best[s][i - 1];
+                long rarest = Long.MAX_VALUE;
+                for (int from = i - Q; from >= 0; from--) {
+                    rarest = Math.min(rarest, sizes[from]);
+                    if (best[s - 1][from] != Long.MAX_VALUE && best[s - 1][from] + rarest < best[s][i]) {
+                        best[s][i] = best[s - 1][from] + rarest;
+                        startOf[s][i] = from;
+                    }
+                }
+            }
+        }
+        int[][] segments = new int[count + 1][];
+        segments[count] = new int[] {(int) Math.min(Integer.MAX_VALUE, best[count][n])};
+        int end = n;
+        for (int s = count; s >= 1; s--) {
+            // Positions without a start carry the placement from the position before
+            while (startOf[s][end] == -1) {
+                end--;
+            }
+            segments[s - 1] = new int[] {startOf[s][end], end};
+            end = startOf[s][end];
+        }
+        return segments;
+    }
+
+    /**
+     * Partition filter: a word within k edits of a term leaves at least one of k + 1 disjoint
+     * segments untouched, so the term contains it. Candidates are the terms holding every trigram
+     * of some segment, found by intersecting that segment's posting lists.
+     *
+     * @return Distinct candidate term IDs, in ascending order
+     */
+    private int[] segmentCandidates(String word, int[][] segments, int count) {
+        int[] union = new int[0];
+        for (int s = 0; s < count; s++) {
+            int from = segments[s][0];
+            int to = segments[s][1];
+            int[][] lists = new int[to - from - Q + 1][];
+            boolean missing = false;
+            for (int i = from; i + Q <= to; i++) {
+                int[] list = postings.get(gram(word, i));
+                if (list == null) {
+                    missing = true;
+                    break;
+                }
+                lists[i - from] = list;
+            }
+            if (missing) {
+                continue;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list[0]));
+            int[] matching = Arrays.copyOfRange(lists[0], 1, lists[0][0] + 1);
+            for (int l = 1; l < lists.length && matching.length > 0; l++) {
+                int[] list = lists[l];
+                int kept = 0;
+                for (int termId : matching) {
+                    if (Arrays.binarySearch(list, 1, list[0] + 1, termId) >= 0) {
+                        matching[kept++] = termId;
+                    }
+                }
+                matching = Arrays.copyOf(matching, kept);
+            }
+            union = merge(union, matching);
+        }
+        return union;
+    }
+
+    /**
+     * Merges two ascending arrays of distinct IDs
+     */
+    private static int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            int next = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            if (i < a.length && a[i] == next) {
+                i++;
+            }
+            if (j < b.length && b[j] == next) {
+                j++;
+            }
+            merged[n++] = next;
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    /**
+     * Caps the edit distance by word length, the way search engines do, so that one or two edits
+     * are never most of the word
+     */
+    private static int allowedDistance(String word, int maxDistance) {
+        int byLength = word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : Integer.MAX_VALUE;
+        return Math.min(maxDistance, byLength);
+    }
+
+    private void removeLocked(long itemId) {
+        Term[] terms = termsByItem.remove(itemId);
+        if (terms != null) {
+            // Emptied terms stay in the postings and are skipped by lookups; the term is reused if the text returns
+            for (Term term : terms) {
+                term.items.remove(itemId);
+            }
+        }
+    }
+
+    private Term term(String text, Field field) {
+        Term term = termsByText.get(text);
+        if (term == null) {
+            term = new Term(termsById.size(), text);
+            termsByText.put(text, term);
+            termsById.add(term);
+            long[] grams = distinctGrams(text);
+            if (term.id == signatures.length) {
+                signatures = Arrays.copyOf(signatures, term.id * 2);
+                lengths = Arrays.copyOf(lengths, term.id * 2);
+            }
+            signatures[term.id] = signature(grams);
+            lengths[term.id] = text.length();
+            for (long gram : grams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    postings.put(gram, new int[] {1, term.id});
+                } else {
+                    // Slot 0 holds the number of term IDs that follow
+                    int size = list[0];
+                    if (size + 1 == list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        postings.put(gram, list);
+                    }
+                    list[size + 1] = term.id;
+                    list[0] = size + 1;
+                }
+            }
+        }
+        term.fields |= (byte) (1 << field.ordinal());
+        return term;
+    }
+
+    private static boolean contains(Term[] terms, int count, Term term) {
+        for (int i = 0; i < count; i++) {
+            if (terms[i] == term) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text on whitespace into lower-cased words, trimming punctuation from their ends
+     * and dropping single characters
+     */
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        String normalized = normalize(text);
+        int i = 0;
+        while (i < normalized.length()) {
+            while (i < normalized.length() && !Character.isLetterOrDigit(normalized.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < normalized.length() && !Character.isWhitespace(normalized.charAt(i))) {
+                i++;
+            }
+            int end = i;
+            while (end > start && !Character.isLetterOrDigit(normalized.charAt(end - 1))) {
+                end--;
+            }
+            if (end - start >= MIN_WORD_LENGTH) {
+                words.add(normalized.substring(start, end));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Distinct trigrams of a string padded with two boundary characters on each side,
+     * each packed into a long
+     */
+    private static long[] distinctGrams(String text) {
+        int n = text.length() + 2;
+        long[] grams = new long[n];
+        for (int i = 0; i < n; i++) {
+            grams[i] = gram(text, i - 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == n ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * One bit per trigram, so the bits of a word missing from a term's signature
+     * never exceed the trigrams the term is missing
+     */
+    private static long signature(long[] grams) {
+        long signature = 0;
+        for (long gram : grams) {
+            signature |= 1L << ((gram * 0x9E3779B97F4A7C15L) >>> 58);
+        }
+        return signature;
+    }
+
+    /**
+     * Trigram starting at a position, packed into a long; positions outside the text are padding
+     */
+    private static long gram(String text, int i) {
+        return ((long) charAt(text, i) << 32) | ((long) charAt(text, i + 1) << 16) | charAt(text, i + 2);
+    }
+
+    private static char charAt(String text, int i) {
+        return i < 0 || i >= text.length() ? PAD : text.charAt(i);
+    }
+
+    /**
+     * Myers' bit-parallel edit distance (in Hyyro's formulation) against a fixed word of up to
+     * 64 characters: each column of the dynamic-programming matrix is kept as vertical
+     * delta bit vectors and advanced with a handful of word operations per character.
+     */
+    static final class BitParallelPattern {
+        private final long[] asciiMasks = new long[128];
+        private final Map<Character, Long> otherMasks = new HashMap<>();
+        private final int length;
+        private final long lastBit;
+
+        BitParallelPattern(String word) {
+            length = word.length();
+            lastBit = 1L << (length - 1);
+            for (int i = 0; i < length; i++) {
+                char c = word.charAt(i);
+                if (c < 128) {
+                    asciiMasks[c] |= 1L << i;
+                } else {
+                    otherMasks.merge(c, 1L << i, (a, b) -> a | b);
+                }
+            }
+        }
+
+        /**
+         * @param text Text compared with the word
+         * @param max Bound
+         * @return Edit distance, or {@code max + 1} if it is larger than max
+         */
+        int distance(String text, int max) {
+            int n = text.length();
+            if (Math.abs(n - length) > max) {
+                return max + 1;
+            }
+            long positive = -1L;
+            long negative = 0;
+            int score = length;
+            for (int j = 0; j < n; j++) {
+                char c = text.charAt(j);
+                long equal = c < 128 ? asciiMasks[c] : otherMasks.getOrDefault(c, 0L);
+                long xv = equal | negative;
+                long xh = (((equal & positive) + positive) ^ positive) | equal;
+                long horizontalPositive = negative | ~(xh | positive);
+                long horizontalNegative = positive & xh;
+                if ((horizontalPositive & lastBit) != 0) {
+                    score++;
+                } else if ((horizontalNegative & lastBit) != 0) {
+                    score--;
+                }
+                // Each remaining character lowers the score by at most one
+                if (score - (n - j - 1) > max) {
+                    return max + 1;
+                }
+                horizontalPositive = (horizontalPositive << 1) | 1;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(xv | horizontalPositive);
+                negative = horizontalPositive & xv;
+            }
+            return Math.min(score, max + 1);
+        }
+    }
+
+    private static final class Term {
+        final int id;
+        final String text;
+        final ItemSet items = new ItemSet();
+        byte fields;
+
+        Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        Field bestField() {
+            return (fields & 1) != 0 ? Field.SKU : Field.NAME;
+        }
+    }
+
+    /**
+     * Item IDs of a term. Most terms (SKUs, rare words) belong to a handful of items and are kept
+     * in a small array; only common words switch to a hash set.
+     */
+    private static final class ItemSet {
+        private static final int ARRAY_LIMIT = 16;
+
+        private long[] small = new long[1];
+        private int size;
+        private Set<Long> large;
+
+        void add(long itemId) {
+            if (large != null) {
+                large.add(itemId);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (small[i] == itemId) {
+                    return;
+                }
+            }
+            if (size == ARRAY_LIMIT) {
+                large = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    large.add(small[i]);
+                }
+                large.add(itemId);
+                small = null;
+                return;
+            }
+            if (size == small.length) {
+                small = Arrays.copyOf(small, Math.min(ARRAY_LIMIT, size * 2));
+            }
+            small[size++] = itemId;
+        }
+
+        void remove(long itemId) {
+            if (large != null) {
+                large.remove(itemId);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (small[i] == itemId) {
+                    small[i] = small[--size];
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return large != null ? large.size() : size;
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        /**
+         * Visits the item IDs until the action returns false
+         *
+         * @return false if the visit was stopped early
+         */
+        boolean forEach(LongPredicate action) {
+            if (large != null) {
+                for (long itemId : large) {
+                    if (!action.test(itemId)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!action.test(small[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
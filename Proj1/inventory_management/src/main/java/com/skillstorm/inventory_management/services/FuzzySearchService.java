@@ -0,0 +1,113 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.FuzzyMatchDto;
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.exceptions.ViewLoadingException;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Change;
+import com.skillstorm.inventory_management.repositories.InventoryItemStreamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Typo-tolerant SKU and name search backed by an in-memory {@link FuzzyItemIndex}.
+ * The index is loaded once at startup and then kept current by tailing the change log
+ * (see {@link ChangeLogFollower}). Matches are resolved to current item DTOs with one batch lookup.
+ */
+@Slf4j
+@Service
+public class FuzzySearchService extends ChangeLogFollower {
+
+    private final FuzzyItemIndex index = new FuzzyItemIndex();
+    private final InventoryItemStreamRepository inventoryItemStreamRepository;
+    private final InventoryItemService inventoryItemService;
+    private final int maxDistance;
+    private final int maxResults;
+
+    public FuzzySearchService(InventoryItemStreamRepository inventoryItemStreamRepository,
+                              ChangeLogRepository changeLogRepository,
+                              InventoryItemService inventoryItemService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.fuzzy-search.max-distance:2}") int maxDistance,
+                              @Value("${inventory.fuzzy-search.max-results:100}") int maxResults,
+                              @Value("${inventory.fuzzy-search.refresh-interval:500ms}") Duration refreshInterval) {
+        super("fuzzy search index", "fuzzy-index-refresher", changeLogRepository, transactionManager, refreshInterval);
+        this.inventoryItemStreamRepository = inventoryItemStreamRepository;
+        this.inventoryItemService = inventoryItemService;
+        this.maxDistance = maxDistance;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Finds items whose SKU or name is within an edit distance of the query, best matches first
+     *
+     * @param query Possibly mistyped SKU or name
+     * @param distance Largest edit distance (optional, defaults to and capped by the configured maximum)
+     * @param limit Maximum number of results
+     * @return Ranked matches with the current item state
+     * @throws IllegalArgumentException if the query is shorter than 3 characters or a parameter is out of range
+     * @throws ViewLoadingException if the index is still loading
+     */
+    public List<FuzzyMatchDto> search(String query, Integer distance, int limit) {
+        if (query == null || query.trim().length() < 3) {
+            throw new IllegalArgumentException("Fuzzy search needs at least 3 characters");
+        }
+        int k = distance != null ? distance : maxDistance;
+        if (k < 0 || k > maxDistance) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + maxDistance);
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+        requireReady();
+        List<FuzzyItemIndex.Match> matches = index.search(query, k, limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, InventoryItemDto> items = inventoryItemService
+                .getItemsByIds(matches.stream().map(FuzzyItemIndex.Match::itemId).toList())
+                .getFound().stream()
+                .collect(Collectors.toMap(InventoryItemDto::getId, Function.identity()));
+        // Items deleted since the index last refreshed are left out
+        return matches.stream()
+                .filter(match -> items.containsKey(match.itemId()))
+                .map(match -> new FuzzyMatchDto(items.get(match.itemId()), match.field().name(),
+                        match.term(), match.distance()))
+                .toList();
+    }
+
+    @Override
+    protected void load() {
+        inventoryItemStreamRepository.forEachItemTerms(index::put);
+        log.info("Fuzzy search index holds {} items", index.size());
+    }
+
+    @Override
+    protected void apply(List<Change> changes) {
+        Set<Long> itemIds = new HashSet<>();
+        for (Change change : changes) {
+            if (ChangeLogRepository.ITEM.equals(change.entityType())) {
+                itemIds.add(change.entityId());
+            }
+        }
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = new HashSet<>();
+        inventoryItemStreamRepository.forEachItemTerms(itemIds, (id, sku, name) -> {
+            index.put(id, sku, name);
+            existing.add(id);
+        });
+        itemIds.stream().filter(id -> !existing.contains(id)).forEach(index::remove);
+    }
+}
@@ -1,19 +1,46 @@
 package com.skillstorm.inventory_management.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.config.CacheConfig;
+import com.skillstorm.inventory_management.dtos.BatchGetResponse;
+import com.skillstorm.inventory_management.dtos.FacetedSearchResponse;
+import com.skillstorm.inventory_management.dtos.FieldSelection;
 import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.InventoryItemJsonWriter;
+import com.skillstorm.inventory_management.dtos.SkuStockDto;
 import com.skillstorm.inventory_management.dtos.TransferRequest;
 import com.skillstorm.inventory_management.entities.InventoryItem;
 import com.skillstorm.inventory_management.entities.Warehouse;
 import com.skillstorm.inventory_management.exceptions.DuplicateResourceException;
 import com.skillstorm.inventory_management.exceptions.InsufficientCapacityException;
 import com.skillstorm.inventory_management.exceptions.ResourceNotFoundException;
+import com.skillstorm.inventory_management.jfr.ItemSearchEvent;
+import com.skillstorm.inventory_management.jfr.ItemTransferEvent;
+import com.skillstorm.inventory_management.jfr.ItemWriteEvent;
+import com.skillstorm.inventory_management.repositories.CategoryStatsRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.InventoryItemFacetRepository;
 import com.skillstorm.inventory_management.repositories.InventoryItemRepository;
+import com.skillstorm.inventory_management.repositories.InventoryItemStreamRepository;
+import com.skillstorm.inventory_management.repositories.SkuStockRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseLockRepository;
 import com.skillstorm.inventory_management.repositories.WarehouseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +53,27 @@ public class InventoryItemService {
 
     private final InventoryItemRepository inventoryItemRepository;
     private final WarehouseRepository warehouseRepository;
+    private final InventoryItemStreamRepository inventoryItemStreamRepository;
+    private final WarehouseLockRepository warehouseLockRepository;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final AuditTrail auditTrail;
+    private final ChangeLogRepository changeLogRepository;
+    private final SkuStockRepository skuStockRepository;
+    private final CategoryStatsRepository categoryStatsRepository;
+    private final InventoryItemFacetRepository inventoryItemFacetRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Maximum number of distinct IDs accepted by a single batch get
+     */
+    @Value("${inventory.batch-get.max-ids:1000}")
+    private int batchGetMaxIds;
+
+    /**
+     * Largest page accepted by the faceted search
+     */
+    @Value("${inventory.search.max-page-size:200}")
+    private int maxFacetPageSize;
 
     /**
      * Retrieves all inventory items
@@ -34,11 +82,25 @@ public class InventoryItemService {
      */
     @Transactional(readOnly = true)
     public List<InventoryItemDto> getAllItems() {
-        return inventoryItemRepository.findAll().stream()
+        return inventoryItemRepository.findAllWithWarehouse().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves all inventory items, reading only the selected columns
+     *
+     * @param fields Sparse fieldset
+     * @return List of inventory item DTOs with only the selected fields populated
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> getAllItems(FieldSelection fields) {
+        if (fields.isAll()) {
+            return getAllItems();
+        }
+        return inventoryItemRepository.findSelectedFields(fields.getFields(), null, null);
+    }
+
     /**
      * Retrieves an inventory item by ID
      *
@@ -46,13 +108,33 @@ public class InventoryItemService {
      * @return Inventory item DTO
      * @throws ResourceNotFoundException if item not found
      */
+    @SingleFlight("items.byId")
     @Transactional(readOnly = true)
     public InventoryItemDto getItemById(Long id) {
-        InventoryItem item = inventoryItemRepository.findById(id)
+        InventoryItem item = inventoryItemRepository.findByIdWithWarehouse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
         return convertToDto(item);
     }
 
+    /**
+     * Retrieves several inventory items by ID.
+     * IDs are resolved with chunked IN queries that fetch the warehouse in the same statement.
+     *
+     * @param ids Item IDs
+     * @return Found items in request order and the IDs that were not found
+     * @throws IllegalArgumentException if more IDs are requested than the batch limit allows
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<InventoryItemDto> getItemsByIds(List<Long> ids) {
+        List<Long> distinctIds = BatchLookup.distinctIds(ids, batchGetMaxIds);
+        Map<Long, InventoryItemDto> found = new HashMap<>();
+        for (List<Long> chunk : BatchLookup.chunks(distinctIds)) {
+            inventoryItemRepository.findAllByIdWithWarehouse(chunk)
+                    .forEach(item -> found.put(item.getId(), convertToDto(item)));
+        }
+        return BatchLookup.toResponse(distinctIds, found);
+    }
+
     /**
      * Retrieves all items in a specific warehouse
      *
@@ -66,6 +148,21 @@ public class InventoryItemService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves all items in a specific warehouse, reading only the selected columns
+     *
+     * @param warehouseId Warehouse ID
+     * @param fields Sparse fieldset
+     * @return List of inventory item DTOs with only the selected fields populated
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> getItemsByWarehouse(Long warehouseId, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getItemsByWarehouse(warehouseId);
+        }
+        return inventoryItemRepository.findSelectedFields(fields.getFields(), null, warehouseId);
+    }
+
     /**
      * Creates a new inventory item
      *
@@ -77,39 +174,65 @@ public class InventoryItemService {
      */
     @Transactional
     public InventoryItemDto createItem(InventoryItemDto itemDto) {
-        // Check for duplicate SKU in the same warehouse
-        List<InventoryItem> existingItems = inventoryItemRepository.findByWarehouseId(itemDto.getWarehouseId());
-        boolean skuExistsInWarehouse = existingItems.stream()
-                .anyMatch(item -> item.getSku().equals(itemDto.getSku()));
+        ItemWriteEvent event = new ItemWriteEvent();
+        event.begin();
+        event.setOperation("create");
+        event.setWarehouseId(idOrZero(itemDto.getWarehouseId()));
+        event.setPreviousWarehouseId(idOrZero(itemDto.getWarehouseId()));
+        event.setQuantity(quantityOrZero(itemDto.getQuantity()));
+        try {
+            warehouseLockRepository.lockWarehouses(itemDto.getWarehouseId());
+            warehouseLockRepository.lockSkus(itemDto.getSku());
+
+            // Check for duplicate SKU in the same warehouse
+            List<InventoryItem> existingItems = inventoryItemRepository.findByWarehouseId(itemDto.getWarehouseId());
+            boolean skuExistsInWarehouse = existingItems.stream()
+                    .anyMatch(item -> item.getSku().equals(itemDto.getSku()));
 
-        if (skuExistsInWarehouse) {
-            throw new DuplicateResourceException("Item with SKU '" + itemDto.getSku() + "' already exists in this warehouse");
-        }
+            if (skuExistsInWarehouse) {
+                throw new DuplicateResourceException("Item with SKU '" + itemDto.getSku() + "' already exists in this warehouse");
+            }
 
-        // Find warehouse
-        Warehouse warehouse = warehouseRepository.findByIdWithItems(itemDto.getWarehouseId())
-                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + itemDto.getWarehouseId()));
+            // Find warehouse
+            long capacityCheckStart = System.nanoTime();
+            Warehouse warehouse = warehouseRepository.findByIdWithItems(itemDto.getWarehouseId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + itemDto.getWarehouseId()));
 
-        // Check warehouse capacity
-        if (!warehouse.hasCapacity(itemDto.getQuantity())) {
-            throw new InsufficientCapacityException(
-                "Insufficient warehouse capacity. Available: " + warehouse.getAvailableCapacity() +
-                ", Required: " + itemDto.getQuantity()
-            );
-        }
+            // Check warehouse capacity
+            boolean hasCapacity = warehouse.hasCapacity(itemDto.getQuantity());
+            event.setCapacityCheckDuration(System.nanoTime() - capacityCheckStart);
+            event.setWarehouseItemCount(warehouse.getItems().size());
+            if (!hasCapacity) {
+                throw new InsufficientCapacityException(
+                    "Insufficient warehouse capacity. Available: " + warehouse.getAvailableCapacity() +
+                    ", Required: " + itemDto.getQuantity()
+                );
+            }
 
-        // Create item
-        InventoryItem item = new InventoryItem();
-        item.setSku(itemDto.getSku());
-        item.setName(itemDto.getName());
-        item.setDescription(itemDto.getDescription());
-        item.setCategory(itemDto.getCategory());
-        item.setQuantity(itemDto.getQuantity());
-        item.setStorageLocation(itemDto.getStorageLocation());
-        item.setWarehouse(warehouse);
-
-        InventoryItem saved = inventoryItemRepository.save(item);
-        return convertToDto(saved);
+            // Create item
+            InventoryItem item = new InventoryItem();
+            item.setSku(itemDto.getSku());
+            item.setName(itemDto.getName());
+            item.setDescription(itemDto.getDescription());
+            item.setCategory(itemDto.getCategory());
+            item.setQuantity(itemDto.getQuantity());
+            item.setStorageLocation(itemDto.getStorageLocation());
+            item.setWarehouse(warehouse);
+
+            InventoryItem saved = inventoryItemRepository.save(item);
+            event.setItemId(saved.getId());
+            auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.ITEM, saved.getId(), auditDetails(saved));
+            changeLogRepository.itemsAndWarehousesChanged(List.of(saved.getId()), warehouse.getId());
+            adjustStock(saved.getSku(), saved.getCategory(), warehouse.getId(), saved.getQuantity(), 1);
+            cacheInvalidationPublisher.warehousesChanged(warehouse.getId());
+            cacheInvalidationPublisher.categoriesChanged();
+            return convertToDto(saved);
+        } catch (RuntimeException e) {
+            event.setOutcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -124,56 +247,94 @@ public class InventoryItemService {
      */
     @Transactional
     public InventoryItemDto updateItem(Long id, InventoryItemDto itemDto) {
-        InventoryItem item = inventoryItemRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
-
-        // Check for duplicate SKU in the target warehouse (excluding current item)
-        if (!item.getSku().equals(itemDto.getSku()) || !item.getWarehouse().getId().equals(itemDto.getWarehouseId())) {
-            List<InventoryItem> existingItems = inventoryItemRepository.findByWarehouseId(itemDto.getWarehouseId());
-            boolean skuExistsInWarehouse = existingItems.stream()
-                    .filter(i -> !i.getId().equals(id)) // Exclude current item
-                    .anyMatch(i -> i.getSku().equals(itemDto.getSku()));
-
-            if (skuExistsInWarehouse) {
-                throw new DuplicateResourceException("Item with SKU '" + itemDto.getSku() + "' already exists in this warehouse");
+        ItemWriteEvent event = new ItemWriteEvent();
+        event.begin();
+        event.setOperation("update");
+        event.setItemId(id);
+        event.setWarehouseId(idOrZero(itemDto.getWarehouseId()));
+        event.setQuantity(quantityOrZero(itemDto.getQuantity()));
+        try {
+            Long currentWarehouseId = inventoryItemRepository.findWarehouseIdById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
+            warehouseLockRepository.lockWarehouses(currentWarehouseId, itemDto.getWarehouseId());
+
+            InventoryItem item = inventoryItemRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
+            warehouseLockRepository.lockSkus(item.getSku(), itemDto.getSku());
+            Long previousWarehouseId = item.getWarehouse().getId();
+            String previousSku = item.getSku();
+            String previousCategory = item.getCategory();
+            int previousQuantity = item.getQuantity();
+            event.setPreviousWarehouseId(previousWarehouseId);
+
+            // Check for duplicate SKU in the target warehouse (excluding current item)
+            if (!item.getSku().equals(itemDto.getSku()) || !item.getWarehouse().getId().equals(itemDto.getWarehouseId())) {
+                List<InventoryItem> existingItems = inventoryItemRepository.findByWarehouseId(itemDto.getWarehouseId());
+                boolean skuExistsInWarehouse = existingItems.stream()
+                        .filter(i -> !i.getId().equals(id)) // Exclude current item
+                        .anyMatch(i -> i.getSku().equals(itemDto.getSku()));
+
+                if (skuExistsInWarehouse) {
+                    throw new DuplicateResourceException("Item with SKU '" + itemDto.getSku() + "' already exists in this warehouse");
+                }
             }
-        }
-
-        // If warehouse is changing or quantity is increasing, check capacity
-        if (!item.getWarehouse().getId().equals(itemDto.getWarehouseId()) ||
-            itemDto.getQuantity() > item.getQuantity()) {
-
-            Warehouse newWarehouse = warehouseRepository.findByIdWithItems(itemDto.getWarehouseId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + itemDto.getWarehouseId()));
 
-            int capacityNeeded;
-            if (!item.getWarehouse().getId().equals(itemDto.getWarehouseId())) {
-                // Moving to different warehouse - need full quantity
-                capacityNeeded = itemDto.getQuantity();
-            } else {
-                // Same warehouse - only need the increase
-                capacityNeeded = itemDto.getQuantity() - item.getQuantity();
+            // If warehouse is changing or quantity is increasing, check capacity
+            if (!item.getWarehouse().getId().equals(itemDto.getWarehouseId()) ||
+                itemDto.getQuantity() > item.getQuantity()) {
+
+                long capacityCheckStart = System.nanoTime();
+                Warehouse newWarehouse = warehouseRepository.findByIdWithItems(itemDto.getWarehouseId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + itemDto.getWarehouseId()));
+
+                int capacityNeeded;
+                if (!item.getWarehouse().getId().equals(itemDto.getWarehouseId())) {
+                    // Moving to different warehouse - need full quantity
+                    capacityNeeded = itemDto.getQuantity();
+                } else {
+                    // Same warehouse - only need the increase
+                    capacityNeeded = itemDto.getQuantity() - item.getQuantity();
+                }
+
+                boolean hasCapacity = newWarehouse.hasCapacity(capacityNeeded);
+                event.setCapacityCheckDuration(System.nanoTime() - capacityCheckStart);
+                event.setWarehouseItemCount(newWarehouse.getItems().size());
+                if (!hasCapacity) {
+                    throw new InsufficientCapacityException(
+                        "Insufficient warehouse capacity. Available: " + newWarehouse.getAvailableCapacity() +
+                        ", Required: " + capacityNeeded
+                    );
+                }
+
+                item.setWarehouse(newWarehouse);
             }
 
-            if (!newWarehouse.hasCapacity(capacityNeeded)) {
-                throw new InsufficientCapacityException(
-                    "Insufficient warehouse capacity. Available: " + newWarehouse.getAvailableCapacity() +
-                    ", Required: " + capacityNeeded
-                );
+            item.setSku(itemDto.getSku());
+            item.setName(itemDto.getName());
+            item.setDescription(itemDto.getDescription());
+            item.setCategory(itemDto.getCategory());
+            item.setQuantity(itemDto.getQuantity());
+            item.setStorageLocation(itemDto.getStorageLocation());
+
+            InventoryItem updated = inventoryItemRepository.save(item);
+            auditTrail.record(AuditEvent.Action.UPDATE, AuditEvent.EntityType.ITEM, id, auditDetails(updated));
+            changeLogRepository.itemsAndWarehousesChanged(List.of(id), previousWarehouseId, updated.getWarehouse().getId());
+            if (previousSku.equals(updated.getSku()) && Objects.equals(previousCategory, updated.getCategory())
+                    && previousWarehouseId.equals(updated.getWarehouse().getId())) {
+                adjustStock(previousSku, previousCategory, previousWarehouseId, updated.getQuantity() - previousQuantity, 0);
+            } else {
+                adjustStock(previousSku, previousCategory, previousWarehouseId, -previousQuantity, -1);
+                adjustStock(updated.getSku(), updated.getCategory(), updated.getWarehouse().getId(), updated.getQuantity(), 1);
             }
-
-            item.setWarehouse(newWarehouse);
+            cacheInvalidationPublisher.warehousesChanged(previousWarehouseId, updated.getWarehouse().getId());
+            cacheInvalidationPublisher.categoriesChanged();
+            return convertToDto(updated);
+        } catch (RuntimeException e) {
+            event.setOutcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.commit();
         }
-
-        item.setSku(itemDto.getSku());
-        item.setName(itemDto.getName());
-        item.setDescription(itemDto.getDescription());
-        item.setCategory(itemDto.getCategory());
-        item.setQuantity(itemDto.getQuantity());
-        item.setStorageLocation(itemDto.getStorageLocation());
-
-        InventoryItem updated = inventoryItemRepository.save(item);
-        return convertToDto(updated);
     }
 
     /**
@@ -184,9 +345,19 @@ public class InventoryItemService {
      */
     @Transactional
     public void deleteItem(Long id) {
+        Long warehouseId = inventoryItemRepository.findWarehouseIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
+        warehouseLockRepository.lockWarehouses(warehouseId);
+
         InventoryItem item = inventoryItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
+        warehouseLockRepository.lockSkus(item.getSku());
         inventoryItemRepository.delete(item);
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.ITEM, id, auditDetails(item));
+        changeLogRepository.itemsAndWarehousesChanged(List.of(id), item.getWarehouse().getId());
+        adjustStock(item.getSku(), item.getCategory(), item.getWarehouse().getId(), -item.getQuantity(), -1);
+        cacheInvalidationPublisher.warehousesChanged(item.getWarehouse().getId());
+        cacheInvalidationPublisher.categoriesChanged();
     }
 
     /**
@@ -200,83 +371,117 @@ public class InventoryItemService {
      */
     @Transactional
     public InventoryItemDto transferItem(TransferRequest transferRequest) {
-        // Validate item exists
-        InventoryItem item = inventoryItemRepository.findById(transferRequest.getItemId())
-                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + transferRequest.getItemId()));
-
-        // Validate source warehouse
-        if (!item.getWarehouse().getId().equals(transferRequest.getSourceWarehouseId())) {
-            throw new IllegalArgumentException("Item is not in the specified source warehouse");
-        }
-
-        // Validate quantity
-        if (transferRequest.getQuantity() > item.getQuantity()) {
-            throw new IllegalArgumentException(
-                "Transfer quantity (" + transferRequest.getQuantity() +
-                ") exceeds available quantity (" + item.getQuantity() + ")"
-            );
-        }
+        ItemTransferEvent event = new ItemTransferEvent();
+        event.begin();
+        event.setItemId(idOrZero(transferRequest.getItemId()));
+        event.setSourceWarehouseId(idOrZero(transferRequest.getSourceWarehouseId()));
+        event.setDestinationWarehouseId(idOrZero(transferRequest.getDestinationWarehouseId()));
+        event.setQuantity(quantityOrZero(transferRequest.getQuantity()));
+        try {
+            warehouseLockRepository.lockWarehouses(transferRequest.getSourceWarehouseId(), transferRequest.getDestinationWarehouseId());
+            // Published up front; the notification is discarded if the transfer fails and rolls back
+            cacheInvalidationPublisher.warehousesChanged(transferRequest.getSourceWarehouseId(), transferRequest.getDestinationWarehouseId());
+            // Likewise only buffered if the transfer commits
+            auditTrail.record(AuditEvent.Action.TRANSFER, AuditEvent.EntityType.ITEM, transferRequest.getItemId(), auditDetails(transferRequest));
+
+            // Validate item exists
+            InventoryItem item = inventoryItemRepository.findById(transferRequest.getItemId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + transferRequest.getItemId()));
+
+            // Validate source warehouse
+            if (!item.getWarehouse().getId().equals(transferRequest.getSourceWarehouseId())) {
+                throw new IllegalArgumentException("Item is not in the specified source warehouse");
+            }
+            warehouseLockRepository.lockSkus(item.getSku());
 
-        // Get destination warehouse
-        Warehouse destinationWarehouse = warehouseRepository.findByIdWithItems(transferRequest.getDestinationWarehouseId())
-                .orElseThrow(() -> new ResourceNotFoundException("Destination warehouse not found with id: " + transferRequest.getDestinationWarehouseId()));
+            // Validate quantity
+            if (transferRequest.getQuantity() > item.getQuantity()) {
+                throw new IllegalArgumentException(
+                    "Transfer quantity (" + transferRequest.getQuantity() +
+                    ") exceeds available quantity (" + item.getQuantity() + ")"
+                );
+            }
 
-        // Check destination warehouse capacity
-        if (!destinationWarehouse.hasCapacity(transferRequest.getQuantity())) {
-            throw new InsufficientCapacityException(
-                "Insufficient capacity in destination warehouse. Available: " + destinationWarehouse.getAvailableCapacity() +
-                ", Required: " + transferRequest.getQuantity()
-            );
-        }
+            // Get destination warehouse
+            long capacityCheckStart = System.nanoTime();
+            Warehouse destinationWarehouse = warehouseRepository.findByIdWithItems(transferRequest.getDestinationWarehouseId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Destination warehouse not found with id: " + transferRequest.getDestinationWarehouseId()));
 
-        // Check if same SKU exists in destination warehouse
-        List<InventoryItem> existingItems = inventoryItemRepository.findByWarehouseId(destinationWarehouse.getId());
-        InventoryItem existingItem = existingItems.stream()
-                .filter(i -> i.getSku().equals(item.getSku()))
-                .findFirst()
-                .orElse(null);
-
-        // If transferring partial quantity
-        if (transferRequest.getQuantity() < item.getQuantity()) {
-            // Reduce quantity in source
-            item.setQuantity(item.getQuantity() - transferRequest.getQuantity());
-            inventoryItemRepository.save(item);
-
-            if (existingItem != null) {
-                // Update existing item quantity in destination
-                existingItem.setQuantity(existingItem.getQuantity() + transferRequest.getQuantity());
-                InventoryItem updated = inventoryItemRepository.save(existingItem);
-                return convertToDto(updated);
-            } else {
-                // Create new item in destination with same SKU
-                InventoryItem newItem = new InventoryItem();
-                newItem.setSku(item.getSku()); // Keep same SKU
-                newItem.setName(item.getName());
-                newItem.setDescription(item.getDescription());
-                newItem.setCategory(item.getCategory());
-                newItem.setQuantity(transferRequest.getQuantity());
-                newItem.setStorageLocation(item.getStorageLocation());
-                newItem.setWarehouse(destinationWarehouse);
-                InventoryItem created = inventoryItemRepository.save(newItem);
-                return convertToDto(created);
+            // Check destination warehouse capacity
+            boolean hasCapacity = destinationWarehouse.hasCapacity(transferRequest.getQuantity());
+            event.setCapacityCheckDuration(System.nanoTime() - capacityCheckStart);
+            event.setDestinationItemCount(destinationWarehouse.getItems().size());
+            if (!hasCapacity) {
+                throw new InsufficientCapacityException(
+                    "Insufficient capacity in destination warehouse. Available: " + destinationWarehouse.getAvailableCapacity() +
+                    ", Required: " + transferRequest.getQuantity()
+                );
             }
-        } else {
-            // Transfer entire quantity
-            if (existingItem != null) {
-                // Merge with existing item in destination
-                existingItem.setQuantity(existingItem.getQuantity() + item.getQuantity());
-                inventoryItemRepository.save(existingItem);
 
-                // Delete the source item
-                inventoryItemRepository.delete(item);
-
-                return convertToDto(existingItem);
+            // Check if same SKU exists in destination warehouse; its items were fetched with it for the capacity check
+            InventoryItem existingItem = destinationWarehouse.getItems().stream()
+                    .filter(i -> i.getSku().equals(item.getSku()))
+                    .findFirst()
+                    .orElse(null);
+
+            // If transferring partial quantity
+            if (transferRequest.getQuantity() < item.getQuantity()) {
+                // Reduce quantity in source
+                item.setQuantity(item.getQuantity() - transferRequest.getQuantity());
+                inventoryItemRepository.save(item);
+                adjustStock(item.getSku(), item.getCategory(), transferRequest.getSourceWarehouseId(), -transferRequest.getQuantity(), 0);
+
+                if (existingItem != null) {
+                    // Update existing item quantity in destination
+                    existingItem.setQuantity(existingItem.getQuantity() + transferRequest.getQuantity());
+                    InventoryItem updated = inventoryItemRepository.save(existingItem);
+                    logTransfer(transferRequest, updated.getId());
+                    adjustStock(item.getSku(), existingItem.getCategory(), destinationWarehouse.getId(), transferRequest.getQuantity(), 0);
+                    return convertToDto(updated);
+                } else {
+                    // Create new item in destination with same SKU
+                    InventoryItem newItem = new InventoryItem();
+                    newItem.setSku(item.getSku()); // Keep same SKU
+                    newItem.setName(item.getName());
+                    newItem.setDescription(item.getDescription());
+                    newItem.setCategory(item.getCategory());
+                    newItem.setQuantity(transferRequest.getQuantity());
+                    newItem.setStorageLocation(item.getStorageLocation());
+                    newItem.setWarehouse(destinationWarehouse);
+                    InventoryItem created = inventoryItemRepository.save(newItem);
+                    logTransfer(transferRequest, created.getId());
+                    adjustStock(item.getSku(), item.getCategory(), destinationWarehouse.getId(), transferRequest.getQuantity(), 1);
+                    return convertToDto(created);
+                }
             } else {
-                // Move entire item to destination warehouse
-                item.setWarehouse(destinationWarehouse);
-                InventoryItem updated = inventoryItemRepository.save(item);
-                return convertToDto(updated);
+                // Transfer entire quantity
+                if (existingItem != null) {
+                    // Merge with existing item in destination
+                    existingItem.setQuantity(existingItem.getQuantity() + item.getQuantity());
+                    inventoryItemRepository.save(existingItem);
+                    logTransfer(transferRequest, existingItem.getId());
+
+                    // Delete the source item
+                    inventoryItemRepository.delete(item);
+                    adjustStock(item.getSku(), item.getCategory(), transferRequest.getSourceWarehouseId(), -item.getQuantity(), -1);
+                    adjustStock(item.getSku(), existingItem.getCategory(), destinationWarehouse.getId(), item.getQuantity(), 0);
+
+                    return convertToDto(existingItem);
+                } else {
+                    // Move entire item to destination warehouse
+                    item.setWarehouse(destinationWarehouse);
+                    InventoryItem updated = inventoryItemRepository.save(item);
+                    logTransfer(transferRequest, updated.getId());
+                    adjustStock(item.getSku(), item.getCategory(), transferRequest.getSourceWarehouseId(), -item.getQuantity(), -1);
+                    adjustStock(item.getSku(), item.getCategory(), destinationWarehouse.getId(), item.getQuantity(), 1);
+                    return convertToDto(updated);
+                }
             }
+        } catch (RuntimeException e) {
+            event.setOutcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.commit();
         }
     }
 
@@ -289,10 +494,101 @@ public class InventoryItemService {
      */
     @Transactional(readOnly = true)
     public List<InventoryItemDto> searchItems(String searchTerm, Long warehouseId) {
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
         String searchPattern = searchTerm != null ? "%" + searchTerm.toLowerCase() + "%" : null;
-        return inventoryItemRepository.searchItems(searchTerm, searchPattern, warehouseId).stream()
+        List<InventoryItem> items = warehouseId != null
+                ? inventoryItemRepository.searchItemsInWarehouse(searchTerm, searchPattern, warehouseId)
+                : inventoryItemRepository.searchItems(searchTerm, searchPattern);
+        List<InventoryItemDto> results = items.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        commitSearchEvent(event, searchTerm, warehouseId, results.size(), "list");
+        return results;
+    }
+
+    /**
+     * Searches inventory items by criteria, reading only the selected columns
+     *
+     * @param searchTerm Search term
+     * @param warehouseId Optional warehouse filter
+     * @param fields Sparse fieldset
+     * @return List of matching inventory item DTOs with only the selected fields populated
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> searchItems(String searchTerm, Long warehouseId, FieldSelection fields) {
+        if (fields.isAll()) {
+            return searchItems(searchTerm, warehouseId);
+        }
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        String searchPattern = searchTerm != null ? "%" + searchTerm.toLowerCase() + "%" : null;
+        List<InventoryItemDto> results = inventoryItemRepository.findSelectedFields(fields.getFields(), searchPattern, warehouseId);
+        commitSearchEvent(event, searchTerm, warehouseId, results.size(), "fields");
+        return results;
+    }
+
+    /**
+     * Searches inventory items and returns one page of results with category and warehouse facet counts,
+     * all computed by a single statement
+     *
+     * @param searchTerm Optional search term matched against name, SKU and category
+     * @param warehouseId Optional warehouse drill-down
+     * @param category Optional category drill-down
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return Page of results, total and facet counts
+     * @throws IllegalArgumentException if page or size is out of range
+     */
+    @Transactional(readOnly = true)
+    public FacetedSearchResponse searchItemsWithFacets(String searchTerm, Long warehouseId, String category, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > maxFacetPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxFacetPageSize);
+        }
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        String searchPattern = searchTerm != null ? "%" + searchTerm.toLowerCase() + "%" : null;
+        FacetedSearchResponse response = inventoryItemFacetRepository.search(searchPattern, warehouseId, category, page, size);
+        commitSearchEvent(event, searchTerm, warehouseId, (int) response.getTotal(), "facets");
+        return response;
+    }
+
+    /**
+     * Writes matching inventory items as a JSON array directly to an output stream.
+     * Rows are serialized as they are read from the database cursor, so no list of
+     * entities or DTOs is built regardless of result size.
+     *
+     * @param searchTerm Optional search term matched against name, SKU and category
+     * @param warehouseId Optional warehouse filter
+     * @param out Target stream
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void writeItemsJson(String searchTerm, Long warehouseId, OutputStream out) throws IOException {
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        int[] resultCount = new int[1];
+        String searchPattern = searchTerm != null ? "%" + searchTerm.toLowerCase() + "%" : null;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            try {
+                inventoryItemStreamRepository.forEachItem(searchPattern, warehouseId, item -> {
+                    try {
+                        InventoryItemJsonWriter.write(generator, item);
+                        resultCount[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+        commitSearchEvent(event, searchTerm, warehouseId, resultCount[0], "stream");
     }
 
     /**
@@ -300,9 +596,125 @@ public class InventoryItemService {
      *
      * @return List of categories
      */
+    @SingleFlight("items.categories")
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, sync = true)
     @Transactional(readOnly = true)
     public List<String> getCategories() {
-        return inventoryItemRepository.findDistinctCategories();
+        // Shared by collapsed callers and the cache, so handed out unmodifiable
+        return List.copyOf(categoryStatsRepository.findCategories());
+    }
+
+    /**
+     * Gets the stock of a SKU across all warehouses from the sku_stock rollup,
+     * reading one row per warehouse holding the SKU
+     *
+     * @param sku Stock Keeping Unit
+     * @return Total quantity and per-warehouse breakdown
+     * @throws ResourceNotFoundException if no warehouse holds the SKU
+     */
+    @Transactional(readOnly = true)
+    public SkuStockDto getSkuStock(String sku) {
+        List<SkuStockDto.WarehouseStock> warehouses = skuStockRepository.findBySku(sku);
+        if (warehouses.isEmpty()) {
+            throw new ResourceNotFoundException("No stock found for SKU: " + sku);
+        }
+        long total = warehouses.stream().mapToLong(SkuStockDto.WarehouseStock::getQuantity).sum();
+        return new SkuStockDto(sku, total, warehouses);
+    }
+
+    /**
+     * Recomputes the sku_stock rollup from inventory_items, raising or clearing the low-stock alerts
+     * whose stock changes as a result
+     *
+     * @return Number of rows that had drifted and were corrected
+     */
+    @Transactional
+    public int rebuildSkuStock() {
+        return skuStockRepository.rebuild();
+    }
+
+    /**
+     * Ends a search event and, if JFR records it, fills in its fields and commits it
+     *
+     * @param event Started search event
+     * @param searchTerm Search term, may be null
+     * @param warehouseId Warehouse filter, may be null
+     * @param resultCount Number of items returned
+     * @param mode list, fields or stream
+     */
+    private void commitSearchEvent(ItemSearchEvent event, String searchTerm, Long warehouseId, int resultCount, String mode) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSearchTerm(searchTerm);
+            event.setWarehouseId(idOrZero(warehouseId));
+            event.setResultCount(resultCount);
+            event.setMode(mode);
+            event.commit();
+        }
+    }
+
+    private static long idOrZero(Long id) {
+        return id != null ? id : 0L;
+    }
+
+    private static int quantityOrZero(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+
+    /**
+     * Applies an item quantity change to the per-SKU and per-category rollups
+     *
+     * @param sku Item SKU
+     * @param category Item category, may be null
+     * @param warehouseId Warehouse holding the item
+     * @param quantityDelta Change in quantity
+     * @param itemCountDelta Change in the number of items (-1, 0 or 1)
+     */
+    private void adjustStock(String sku, String category, Long warehouseId, long quantityDelta, int itemCountDelta) {
+        skuStockRepository.adjust(sku, warehouseId, quantityDelta, itemCountDelta);
+        categoryStatsRepository.adjust(category, warehouseId, quantityDelta, itemCountDelta);
+    }
+
+    /**
+     * Logs a transfer's source item, destination item and both warehouses to the change log in one statement
+     *
+     * @param transferRequest Transfer details
+     * @param destinationItemId ID of the item now holding the transferred stock
+     */
+    private void logTransfer(TransferRequest transferRequest, Long destinationItemId) {
+        changeLogRepository.itemsAndWarehousesChanged(Arrays.asList(transferRequest.getItemId(), destinationItemId),
+                transferRequest.getSourceWarehouseId(), transferRequest.getDestinationWarehouseId());
+    }
+
+    /**
+     * Captures an item's values for the audit trail
+     *
+     * @param item Inventory item entity
+     * @return Audit details
+     */
+    private static Map<String, Object> auditDetails(InventoryItem item) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("sku", item.getSku());
+        details.put("name", item.getName());
+        details.put("category", item.getCategory());
+        details.put("quantity", item.getQuantity());
+        details.put("storageLocation", item.getStorageLocation());
+        details.put("warehouseId", item.getWarehouse().getId());
+        return details;
+    }
+
+    /**
+     * Captures a transfer for the audit trail
+     *
+     * @param transferRequest Transfer details
+     * @return Audit details
+     */
+    private static Map<String, Object> auditDetails(TransferRequest transferRequest) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("sourceWarehouseId", transferRequest.getSourceWarehouseId());
+        details.put("destinationWarehouseId", transferRequest.getDestinationWarehouseId());
+        details.put("quantity", transferRequest.getQuantity());
+        return details;
     }
 
     /**
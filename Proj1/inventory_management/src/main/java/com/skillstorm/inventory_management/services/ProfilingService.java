@@ -0,0 +1,135 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.RecordingStatus;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Runs at most one on-demand Java Flight Recorder recording at a time.
+ * Every recording is bounded: it stops by itself after its duration (capped at
+ * {@code inventory.profiling.max-duration}) and keeps at most {@code inventory.profiling.max-size}
+ * on disk, so a forgotten recording cannot grow without limit. A stopped recording is kept
+ * until it is downloaded or a new one is started.
+ */
+@Slf4j
+@Service
+public class ProfilingService {
+
+    private static final String RECORDING_NAME = "inventory-on-demand";
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final String settings;
+
+    private Recording recording;
+
+    public ProfilingService(@Value("${inventory.profiling.default-duration:60s}") Duration defaultDuration,
+                            @Value("${inventory.profiling.max-duration:10m}") Duration maxDuration,
+                            @Value("${inventory.profiling.max-size:200MB}") DataSize maxSize,
+                            @Value("${inventory.profiling.settings:profile}") String settings) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    /**
+     * Starts a recording, discarding a stopped recording that was never downloaded
+     *
+     * @param duration Requested duration, or null for the default; capped at the maximum
+     * @return Status of the new recording
+     * @throws IllegalStateException if a recording is already running
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public synchronized RecordingStatus start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running; stop it before starting another");
+        }
+        if (duration != null && (duration.isZero() || duration.isNegative())) {
+            throw new IllegalArgumentException("Recording duration must be positive");
+        }
+        closeRecording();
+
+        Duration bounded = duration == null ? defaultDuration : duration;
+        if (bounded.compareTo(maxDuration) > 0) {
+            bounded = maxDuration;
+        }
+        Recording newRecording;
+        try {
+            newRecording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings '" + settings + "'", e);
+        }
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setDuration(bounded);
+        newRecording.setMaxSize(maxSize.toBytes());
+        newRecording.start();
+        recording = newRecording;
+        log.info("Started JFR recording with '{}' settings for {}", settings, bounded);
+        return getStatus();
+    }
+
+    /**
+     * Stops the recording if it is still running and writes it to a temporary file.
+     * The recording is released; the caller must delete the file.
+     *
+     * @return Path of the .jfr file
+     * @throws IllegalStateException if no recording has been started
+     */
+    public synchronized Path stopAndDump() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = Files.createTempFile("inventory-", ".jfr");
+            recording.dump(file);
+            log.info("Dumped JFR recording ({} bytes)", Files.size(file));
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeRecording();
+        }
+    }
+
+    /**
+     * @return Status of the current recording, with state NONE if there is none
+     */
+    public synchronized RecordingStatus getStatus() {
+        if (recording == null) {
+            return new RecordingStatus("NONE", null, null, null, null);
+        }
+        Duration duration = recording.getDuration();
+        return new RecordingStatus(
+                recording.getState().name(),
+                settings,
+                recording.getStartTime(),
+                duration != null ? duration.toSeconds() : null,
+                recording.getSize()
+        );
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
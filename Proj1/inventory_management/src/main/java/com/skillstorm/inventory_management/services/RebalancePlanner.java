@@ -0,0 +1,171 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.TransferRequest;
+import com.skillstorm.inventory_management.repositories.RebalanceCandidateRepository.Candidate;
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Assigns the stock to move out of over-target warehouses to warehouses with room under the target.
+ * Every planned unit costs the same, so the units moved are fixed by the excess; the planner keeps
+ * the number of transfers low instead. Each source gives up its largest items first, and the
+ * moves are placed largest first, each into the warehouse with the most room left (first-fit
+ * decreasing), so a move is split across destinations only when no single warehouse can take it.
+ * A warehouse that already stocks the SKU and can take the whole move is preferred, so moves
+ * merge into existing items instead of creating new ones.
+ */
+final class RebalancePlanner {
+
+    private final Map<Long, Destination> destinations = new HashMap<>();
+    private final TreeSet<Destination> byRoom = new TreeSet<>(
+            Comparator.comparingLong(Destination::room).reversed().thenComparingLong(Destination::id));
+    private final Map<Long, Long> excess = new LinkedHashMap<>();
+
+    /**
+     * @param warehouses Capacity figures of every warehouse
+     * @param targetUtilization Target utilization percentage
+     */
+    RebalancePlanner(Collection<WarehouseCapacity> warehouses, double targetUtilization) {
+        for (WarehouseCapacity warehouse : warehouses) {
+            long limit = limitFor(warehouse.maxCapacity(), targetUtilization);
+            if (warehouse.used() > limit) {
+                excess.put(warehouse.id(), warehouse.used() - limit);
+            } else if (warehouse.used() < limit) {
+                Destination destination = new Destination(warehouse.id(), limit - warehouse.used());
+                destinations.put(destination.id(), destination);
+                byRoom.add(destination);
+            }
+        }
+    }
+
+    /**
+     * @param maxCapacity Maximum capacity
+     * @param targetUtilization Target utilization percentage
+     * @return Most units a warehouse may hold at the target
+     */
+    static long limitFor(int maxCapacity, double targetUtilization) {
+        return (long) Math.floor(maxCapacity * targetUtilization / 100);
+    }
+
+    /**
+     * @return Units to move out, keyed by over-target warehouse ID
+     */
+    Map<Long, Long> excess() {
+        return new LinkedHashMap<>(excess);
+    }
+
+    /**
+     * Plans the transfers
+     *
+     * @param candidates Each over-target warehouse's largest items covering its excess, by warehouse and then
+     *                   largest first (see {@link com.skillstorm.inventory_management.repositories.RebalanceCandidateRepository})
+     * @param stockedIn Warehouses already holding each candidate SKU
+     * @return Transfers in the order they are to be performed
+     */
+    List<TransferRequest> plan(List<Candidate> candidates, Map<String, List<Long>> stockedIn) {
+        List<Move> moves = new ArrayList<>(candidates.size());
+        Map<Long, Long> uncovered = new HashMap<>(excess);
+        for (Candidate candidate : candidates) {
+            long left = uncovered.getOrDefault(candidate.warehouseId(), 0L);
+            if (left > 0) {
+                long quantity = Math.min(left, candidate.quantity());
+                moves.add(new Move(candidate, quantity));
+                uncovered.put(candidate.warehouseId(), left - quantity);
+            }
+        }
+        moves.sort(Comparator.comparingLong(Move::quantity).reversed()
+                .thenComparingLong(move -> move.candidate().itemId()));
+
+        Map<String, Set<Long>> holders = new HashMap<>();
+        List<TransferRequest> transfers = new ArrayList<>();
+        for (Move move : moves) {
+            Candidate candidate = move.candidate();
+            Set<Long> skuHolders = holders.computeIfAbsent(candidate.sku(),
+                    sku -> new HashSet<>(stockedIn.getOrDefault(sku, List.of())));
+            long remaining = move.quantity();
+            while (remaining > 0 && !byRoom.isEmpty()) {
+                Destination destination = holderWithRoom(skuHolders, remaining);
+                if (destination == null) {
+                    destination = byRoom.first();
+                }
+                long quantity = Math.min(remaining, destination.room());
+                transfers.add(new TransferRequest(candidate.itemId(), candidate.warehouseId(), destination.id(),
+                        (int) quantity));
+                byRoom.remove(destination);
+                destination.take(quantity);
+                if (destination.room() > 0) {
+                    byRoom.add(destination);
+                }
+                skuHolders.add(destination.id());
+                excess.merge(candidate.warehouseId(), -quantity, Long::sum);
+                remaining -= quantity;
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * @return Over-target warehouses the planned transfers do not bring under the target
+     */
+    List<Long> unresolved() {
+        return excess.entrySet().stream().filter(entry -> entry.getValue() > 0).map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Finds the warehouse with the most room among those holding a SKU that can take a whole move
+     */
+    private Destination holderWithRoom(Set<Long> skuHolders, long quantity) {
+        Destination best = null;
+        for (Long warehouseId : skuHolders) {
+            Destination destination = destinations.get(warehouseId);
+            if (destination != null && destination.room() >= quantity
+                    && (best == null || destination.room() > best.room()
+                        || destination.room() == best.room() && destination.id() < best.id())) {
+                best = destination;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Part of an item to move out of its warehouse
+     */
+    private record Move(Candidate candidate, long quantity) {
+    }
+
+    /**
+     * Warehouse under the target and the units it can still take before reaching it
+     */
+    private static final class Destination {
+
+        private final long id;
+        private long room;
+
+        Destination(long id, long room) {
+            this.id = id;
+            this.room = room;
+        }
+
+        long id() {
+            return id;
+        }
+
+        long room() {
+            return room;
+        }
+
+        void take(long quantity) {
+            room -= quantity;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.RebalancePlanDto;
+import com.skillstorm.inventory_management.dtos.TransferRequest;
+import com.skillstorm.inventory_management.repositories.RebalanceCandidateRepository;
+import com.skillstorm.inventory_management.repositories.RebalanceCandidateRepository.Candidate;
+import com.skillstorm.inventory_management.repositories.SkuStockRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Plans, and optionally performs, the transfers that bring every warehouse under a utilization target.
+ * Planning reads warehouse usage from the category_stats rollup and only the items needed to cover each
+ * over-target warehouse's excess, in one repeatable-read snapshot, then assigns them in memory
+ * (see {@link RebalancePlanner}). Executing runs each planned transfer in its own transaction through
+ * {@link InventoryItemService#transferItem}, so every move is validated, locked and audited like a
+ * manual transfer; a transfer made stale by concurrent writes fails alone and is reported. A call executes
+ * at most {@code inventory.rebalance.max-transfers} transfers and reports how many remain, so the caller
+ * repeats it until the plan is empty instead of holding a request thread for the whole plan.
+ */
+@Slf4j
+@Service
+public class RebalancingService {
+
+    private final WarehouseCapacityRepository warehouseCapacityRepository;
+    private final RebalanceCandidateRepository rebalanceCandidateRepository;
+    private final SkuStockRepository skuStockRepository;
+    private final InventoryItemService inventoryItemService;
+    private final TransactionTemplate snapshotTransaction;
+    private final int maxTransfers;
+
+    public RebalancingService(WarehouseCapacityRepository warehouseCapacityRepository,
+                              RebalanceCandidateRepository rebalanceCandidateRepository,
+                              SkuStockRepository skuStockRepository,
+                              InventoryItemService inventoryItemService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.rebalance.max-transfers:20}") int maxTransfers) {
+        this.warehouseCapacityRepository = warehouseCapacityRepository;
+        this.rebalanceCandidateRepository = rebalanceCandidateRepository;
+        this.skuStockRepository = skuStockRepository;
+        this.inventoryItemService = inventoryItemService;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxTransfers = maxTransfers;
+    }
+
+    /**
+     * Plans the transfers that bring every warehouse to at most a target utilization
+     *
+     * @param targetUtilization Target utilization percentage, as in {@code WarehouseDto.utilizationPercentage}
+     * @param execute Whether to perform the first {@code max-transfers} transfers; false for a dry run
+     * @return The plan, cut to the transfers performed when executed, with any that failed
+     * @throws IllegalArgumentException if the target is not above 0 and at most 100
+     */
+    public RebalancePlanDto rebalance(double targetUtilization, boolean execute) {
+        if (!(targetUtilization > 0 && targetUtilization <= 100)) {
+            throw new IllegalArgumentException("targetUtilization must be above 0 and at most 100");
+        }
+        RebalancePlanDto plan = snapshotTransaction.execute(status -> plan(targetUtilization));
+        if (execute) {
+            List<TransferRequest> planned = plan.getTransfers();
+            List<TransferRequest> batch = List.copyOf(planned.subList(0, Math.min(planned.size(), maxTransfers)));
+            plan.setTransfers(batch);
+            plan.setQuantityMoved(batch.stream().mapToLong(TransferRequest::getQuantity).sum());
+            plan.setRemainingTransfers(planned.size() - batch.size());
+            List<String> failures = new ArrayList<>();
+            for (TransferRequest transfer : batch) {
+                try {
+                    inventoryItemService.transferItem(transfer);
+                } catch (RuntimeException e) {
+                    failures.add("Item " + transfer.getItemId() + " from warehouse " + transfer.getSourceWarehouseId()
+                            + " to " + transfer.getDestinationWarehouseId() + ": " + e.getMessage());
+                }
+            }
+            plan.setExecuted(true);
+            plan.setFailures(failures);
+            log.info("Rebalanced to {}% with {} transfers, {} failed, {} left for a later call",
+                    targetUtilization, batch.size(), failures.size(), plan.getRemainingTransfers());
+        }
+        return plan;
+    }
+
+    private RebalancePlanDto plan(double targetUtilization) {
+        RebalancePlanner planner = new RebalancePlanner(warehouseCapacityRepository.findAll(), targetUtilization);
+        Map<Long, Long> excess = planner.excess();
+        List<Candidate> candidates = rebalanceCandidateRepository.findLargestCovering(excess);
+        Set<String> skus = candidates.stream().map(Candidate::sku).collect(Collectors.toSet());
+        List<TransferRequest> transfers = planner.plan(candidates, skuStockRepository.findWarehouseIdsBySkus(skus));
+        long quantityMoved = transfers.stream().mapToLong(TransferRequest::getQuantity).sum();
+        return new RebalancePlanDto(targetUtilization, false, excess.size(), transfers, quantityMoved, 0,
+                planner.unresolved(), List.of());
+    }
+}
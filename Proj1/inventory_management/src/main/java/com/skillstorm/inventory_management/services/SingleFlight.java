@@ -0,0 +1,27 @@
+package com.skillstorm.inventory_management.services;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent identical calls should share one execution.
+ * Calls with the same operation name and equal arguments that arrive while a call is
+ * in flight wait for it and receive its result (or exception) instead of querying again.
+ * The result is not copied: every joined caller gets the same instance, so annotated methods
+ * must return values their callers only read (DTOs that are serialized, unmodifiable lists).
+ *
+ * @see SingleFlightAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /**
+     * @return Operation name used in the coalescing key and as the metrics tag
+     */
+    String value();
+}
@@ -0,0 +1,101 @@
+package com.skillstorm.inventory_management.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalesces concurrent identical calls to {@link SingleFlight} methods.
+ * Runs outside the transaction interceptor, so callers that join an in-flight
+ * call never borrow a database connection. (One step below highest precedence so
+ * Spring's ExposeInvocationInterceptor still runs first and argument binding works.)
+ * A caller only joins a call that is still running; once it completes, the next
+ * caller starts a fresh query, so results are never older than one query's duration.
+ * Each call is counted in {@code inventory.single.flight.calls}, tagged with the
+ * operation and whether it was {@code executed} or {@code collapsed}. Counters are per
+ * operation, never per key, so the number of series is bounded by the annotated methods.
+ * Joined callers share the executing call's result object; see {@link SingleFlight}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "inventory.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightAspect {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        Key key = new Key(singleFlight.value(), Arrays.asList(joinPoint.getArgs()));
+        Counter[] operationCounters = counters.computeIfAbsent(singleFlight.value(), this::registerCounters);
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            operationCounters[1].increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        operationCounters[0].increment();
+        try {
+            Object result = joinPoint.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Registers the executed and collapsed counters for an operation
+     *
+     * @param operation Operation name
+     * @return Counters indexed executed (0) and collapsed (1)
+     */
+    private Counter[] registerCounters(String operation) {
+        return new Counter[] {
+            Counter.builder("inventory.single.flight.calls")
+                    .description("Reads handled by the single-flight layer")
+                    .tag("operation", operation)
+                    .tag("outcome", "executed")
+                    .register(meterRegistry),
+            Counter.builder("inventory.single.flight.calls")
+                    .description("Reads handled by the single-flight layer")
+                    .tag("operation", operation)
+                    .tag("outcome", "collapsed")
+                    .register(meterRegistry)
+        };
+    }
+
+    /**
+     * Coalescing key: operation name plus call arguments
+     */
+    private record Key(String operation, List<Object> args) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable k-d tree over warehouse coordinates for k-nearest-neighbour queries.
+ * Points are stored as unit vectors, so straight-line (chord) distance orders them exactly as
+ * great-circle distance does, with no special cases at the antimeridian or the poles. The tree is
+ * laid out implicitly in arrays: the median of each range is its root, splitting on x, y and z in
+ * turn. A query descends towards the target first and only visits the far side of a split when the
+ * splitting plane is closer than the k-th best accepted point. Coordinates change rarely, so the
+ * tree is rebuilt on change and swapped in whole, and queries need no locks.
+ */
+public final class SpatialIndex {
+
+    /**
+     * Mean Earth radius used for reported distances
+     */
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final SpatialIndex EMPTY = new SpatialIndex(new long[0], new double[0][]);
+
+    /**
+     * Warehouse found by a nearest-neighbour query
+     *
+     * @param warehouseId Warehouse ID
+     * @param distanceKm Great-circle distance from the query point
+     */
+    public record Neighbor(long warehouseId, double distanceKm) {
+    }
+
+    private final long[] ids;
+    private final double[][] points;
+
+    private SpatialIndex(long[] ids, double[][] points) {
+        this.ids = ids;
+        this.points = points;
+    }
+
+    /**
+     * Builds the tree over the warehouses that have coordinates
+     *
+     * @param warehouses Warehouses; those without coordinates are left out
+     * @return Spatial index
+     */
+    public static SpatialIndex of(Collection<WarehouseCapacity> warehouses) {
+        List<Point> located = new ArrayList<>(warehouses.size());
+        for (WarehouseCapacity warehouse : warehouses) {
+            if (warehouse.isLocated()) {
+                located.add(new Point(warehouse.id(), toVector(warehouse.latitude(), warehouse.longitude())));
+            }
+        }
+        if (located.isEmpty()) {
+            return EMPTY;
+        }
+        build(located, 0, located.size(), 0);
+        long[] ids = new long[located.size()];
+        double[][] points = new double[located.size()][];
+        for (int i = 0; i < located.size(); i++) {
+            ids[i] = located.get(i).id();
+            points[i] = located.get(i).vector();
+        }
+        return new SpatialIndex(ids, points);
+    }
+
+    /**
+     * @return Number of warehouses in the tree
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the warehouses closest to a point among those accepted by a filter
+     *
+     * @param latitude Latitude in degrees
+     * @param longitude Longitude in degrees
+     * @param k Maximum number of warehouses
+     * @param accept Filter, e.g. on available capacity
+     * @return Up to k accepted warehouses, nearest first
+     */
+    public List<Neighbor> nearest(double latitude, double longitude, int k, LongPredicate accept) {
+        double[] target = toVector(latitude, longitude);
+        // Max-heap on squared chord distance holding the best k accepted points so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distanceSquared).reversed());
+        search(0, ids.length, 0, target, k, accept, best);
+        List<Neighbor> result = new ArrayList<>(best.size());
+        for (Candidate candidate : best) {
+            double chord = Math.sqrt(candidate.distanceSquared());
+            result.add(new Neighbor(ids[candidate.index()], 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2))));
+        }
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm).thenComparingLong(Neighbor::warehouseId));
+        return result;
+    }
+
+    private void search(int from, int to, int depth, double[] target, int k, LongPredicate accept,
+                        PriorityQueue<Candidate> best) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double[] point = points[mid];
+        if (accept.test(ids[mid])) {
+            double dx = point[0] - target[0];
+            double dy = point[1] - target[1];
+            double dz = point[2] - target[2];
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (best.size() < k) {
+                best.add(new Candidate(mid, distanceSquared));
+            } else if (distanceSquared < best.peek().distanceSquared()) {
+                best.poll();
+                best.add(new Candidate(mid, distanceSquared));
+            }
+        }
+        int axis = depth % 3;
+        double offset = target[axis] - point[axis];
+        boolean lowFirst = offset < 0;
+        search(lowFirst ? from : mid + 1, lowFirst ? mid : to, depth + 1, target, k, accept, best);
+        if (best.size() < k || offset * offset < best.peek().distanceSquared()) {
+            search(lowFirst ? mid + 1 : from, lowFirst ? to : mid, depth + 1, target, k, accept, best);
+        }
+    }
+
+    /**
+     * Arranges a range so that its median on the depth's axis sits in the middle,
+     * with smaller coordinates before it and larger ones after, then recurses into both halves
+     */
+    private static void build(List<Point> points, int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = depth % 3;
+        points.subList(from, to).sort(Comparator.comparingDouble(point -> point.vector()[axis]));
+        int mid = (from + to) >>> 1;
+        build(points, from, mid, depth + 1);
+        build(points, mid + 1, to, depth + 1);
+    }
+
+    private static double[] toVector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        return new double[] {Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    private record Point(long id, double[] vector) {
+    }
+
+    private record Candidate(int index, double distanceSquared) {
+    }
+}
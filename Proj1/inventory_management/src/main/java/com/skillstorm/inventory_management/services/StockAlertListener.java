@@ -0,0 +1,131 @@
+package com.skillstorm.inventory_management.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.dtos.StockThresholdDto;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Receives low-stock alerts raised or cleared on any node (including this one) with LISTEN and
+ * pushes them to this node's subscribers. Uses a dedicated connection outside the pool, like
+ * {@link CacheInvalidationListener}. Alerts published while not listening are not pushed;
+ * subscribers see the current state again from {@code GET /api/items/alerts} or by resubscribing.
+ */
+@Slf4j
+@Component
+public class StockAlertListener implements SmartLifecycle {
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final StockAlertService stockAlertService;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int pollMillis;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public StockAlertListener(StockAlertService stockAlertService,
+                              DataSourceProperties dataSourceProperties,
+                              ObjectMapper objectMapper,
+                              @Value("${inventory.alerts.channel:inventory_alerts}") String channel,
+                              @Value("${inventory.alerts.poll-millis:500}") int pollMillis) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid stock alert channel name: " + channel);
+        }
+        this.stockAlertService = stockAlertService;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "stock-alert-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(pollMillis * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return true while the listener connection is subscribed to the channel
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listening = true;
+                log.info("Listening for stock alerts on channel '{}'", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                listening = false;
+                if (running) {
+                    log.warn("Stock alert listener disconnected, reconnecting: {}", e.getMessage());
+                    try {
+                        Thread.sleep(RECONNECT_DELAY_MILLIS);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                }
+            } finally {
+                listening = false;
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            stockAlertService.deliver(objectMapper.readValue(payload, StockThresholdDto.class));
+        } catch (IOException e) {
+            log.warn("Ignoring malformed stock alert '{}': {}", payload, e.getMessage());
+        }
+    }
+}
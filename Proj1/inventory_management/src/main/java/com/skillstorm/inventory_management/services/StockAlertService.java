@@ -0,0 +1,216 @@
+package com.skillstorm.inventory_management.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.dtos.StockThresholdDto;
+import com.skillstorm.inventory_management.dtos.StockThresholdRequest;
+import com.skillstorm.inventory_management.entities.InventoryItem;
+import com.skillstorm.inventory_management.exceptions.BulkheadRejectedException;
+import com.skillstorm.inventory_management.exceptions.ResourceNotFoundException;
+import com.skillstorm.inventory_management.repositories.InventoryItemRepository;
+import com.skillstorm.inventory_management.repositories.SkuStockRepository;
+import com.skillstorm.inventory_management.repositories.StockThresholdRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Manages low-stock thresholds and pushes their alerts to subscribers.
+ * Alerts are raised and cleared as stock changes by {@link SkuStockRepository#adjust}, which every
+ * quantity-changing write goes through, and only when stock crosses a threshold: below the reorder
+ * point to raise, back at the recovery level to clear. Crossings are published with pg_notify on
+ * commit and delivered to this node's subscribers by {@link StockAlertListener}, so subscribers on
+ * every node see alerts raised by writes on any node.
+ */
+@Slf4j
+@Service
+public class StockAlertService {
+
+    private final StockThresholdRepository stockThresholdRepository;
+    private final SkuStockRepository skuStockRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final WarehouseLockRepository warehouseLockRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final int hysteresisPercent;
+    private final int maxSubscribers;
+    private final Duration subscriberTimeout;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    public StockAlertService(StockThresholdRepository stockThresholdRepository,
+                             SkuStockRepository skuStockRepository,
+                             InventoryItemRepository inventoryItemRepository,
+                             WarehouseLockRepository warehouseLockRepository,
+                             ObjectMapper objectMapper,
+                             DataSource dataSource,
+                             @Value("${inventory.alerts.channel:inventory_alerts}") String channel,
+                             @Value("${inventory.alerts.hysteresis-percent:10}") int hysteresisPercent,
+                             @Value("${inventory.alerts.max-subscribers:100}") int maxSubscribers,
+                             @Value("${inventory.alerts.subscriber-timeout:30m}") Duration subscriberTimeout) {
+        this.stockThresholdRepository = stockThresholdRepository;
+        this.skuStockRepository = skuStockRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.warehouseLockRepository = warehouseLockRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.channel = channel;
+        this.hysteresisPercent = hysteresisPercent;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberTimeout = subscriberTimeout;
+    }
+
+    /**
+     * Sets the threshold on an item's SKU in the item's warehouse
+     *
+     * @param itemId Inventory item ID
+     * @param request Reorder point and optional recovery level
+     * @return The threshold with its alert state for the current stock
+     * @throws ResourceNotFoundException if the item is not found
+     * @throws IllegalArgumentException if the recovery level is below the reorder point
+     */
+    @Transactional
+    public StockThresholdDto setItemThreshold(Long itemId, StockThresholdRequest request) {
+        InventoryItem item = inventoryItemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + itemId));
+        return setThreshold(item.getSku(), item.getWarehouse().getId(), request);
+    }
+
+    /**
+     * Sets the threshold on a SKU's stock across all warehouses
+     *
+     * @param sku Stock Keeping Unit
+     * @param request Reorder point and optional recovery level
+     * @return The threshold with its alert state for the current stock
+     * @throws IllegalArgumentException if the recovery level is below the reorder point
+     */
+    @Transactional
+    public StockThresholdDto setSkuThreshold(String sku, StockThresholdRequest request) {
+        return setThreshold(sku, null, request);
+    }
+
+    /**
+     * Deletes a threshold, clearing its alert if raised
+     *
+     * @param id Threshold ID
+     * @throws ResourceNotFoundException if the threshold is not found
+     */
+    @Transactional
+    public void deleteThreshold(Long id) {
+        StockThresholdDto deleted = stockThresholdRepository.delete(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock threshold not found with id: " + id));
+        if (deleted.isAlertActive()) {
+            deleted.setAlertActive(false);
+            publish(deleted);
+        }
+    }
+
+    /**
+     * @return Raised alerts, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<StockThresholdDto> getActiveAlerts() {
+        return stockThresholdRepository.findActive();
+    }
+
+    /**
+     * Subscribes to alerts. The subscriber first receives every raised alert, then each alert raised or
+     * cleared from then on; an alert changing while the subscription starts may arrive twice.
+     *
+     * @return Server-sent event stream of {@code alert} events
+     * @throws BulkheadRejectedException if this node has the maximum number of subscribers
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BulkheadRejectedException("Too many alert subscribers", 5);
+        }
+        SseEmitter emitter = new SseEmitter(subscriberTimeout.toMillis());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        for (StockThresholdDto alert : stockThresholdRepository.findActive()) {
+            if (!send(emitter, alert)) {
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes an alert raised or cleared on any node to this node's subscribers
+     *
+     * @param alert Threshold whose alert changed
+     */
+    public void deliver(StockThresholdDto alert) {
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, alert);
+        }
+    }
+
+    /**
+     * @return Number of subscribers on this node
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private StockThresholdDto setThreshold(String sku, Long warehouseId, StockThresholdRequest request) {
+        if (sku == null || sku.isBlank()) {
+            throw new IllegalArgumentException("SKU is required");
+        }
+        int reorderPoint = request.getReorderPoint();
+        int recoveryLevel = request.getRecoveryLevel() != null
+                ? request.getRecoveryLevel()
+                : reorderPoint + Math.max(1, (int) Math.ceil(reorderPoint * hysteresisPercent / 100.0));
+        if (recoveryLevel < reorderPoint) {
+            throw new IllegalArgumentException("Recovery level must not be below the reorder point");
+        }
+        // The SKU lock waits for stock writes in flight, so the quantity read below is committed stock;
+        // locking the current threshold keeps stock adjustments from evaluating it until it is replaced
+        warehouseLockRepository.lockSkus(sku);
+        Optional<StockThresholdDto> previous = stockThresholdRepository.findForUpdate(sku, warehouseId);
+        boolean wasActive = previous.map(StockThresholdDto::isAlertActive).orElse(false);
+        long quantity = skuStockRepository.quantityOf(sku, warehouseId);
+        boolean active = wasActive ? quantity < recoveryLevel : quantity < reorderPoint;
+        StockThresholdDto saved = stockThresholdRepository.save(sku, warehouseId, reorderPoint, recoveryLevel,
+                active, quantity);
+        if (active != wasActive) {
+            publish(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Publishes an alert change to every node once the transaction commits
+     */
+    private void publish(StockThresholdDto alert) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, objectMapper.writeValueAsString(alert));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize stock alert", e);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, StockThresholdDto alert) {
+        try {
+            emitter.send(SseEmitter.event().name("alert").data(alert));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(emitter);
+            log.debug("Dropped alert subscriber: {}", e.getMessage());
+            return false;
+        }
+    }
+}
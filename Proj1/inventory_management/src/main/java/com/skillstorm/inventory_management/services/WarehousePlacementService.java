@@ -0,0 +1,202 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.PlacementSuggestionDto;
+import com.skillstorm.inventory_management.dtos.SkuStockDto;
+import com.skillstorm.inventory_management.exceptions.ViewLoadingException;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository.Change;
+import com.skillstorm.inventory_management.repositories.SkuStockRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Suggests destination warehouses for a quantity from an in-memory {@link CapacityIndex}, and
+ * finds the nearest warehouses with room from a {@link SpatialIndex} over their coordinates.
+ * Every write that changes a warehouse's stored quantity logs the warehouse in the change log,
+ * so both follow changes made on any node (see {@link ChangeLogFollower}). The spatial index is
+ * rebuilt only when a warehouse is added, removed or moved; capacity is read from the capacity
+ * index while searching, so quantity changes never touch it.
+ * Suggestions are advisory: transfers and receipts still check capacity under the warehouse lock.
+ */
+@Service
+public class WarehousePlacementService extends ChangeLogFollower {
+
+    private final CapacityIndex index = new CapacityIndex();
+    private volatile SpatialIndex spatialIndex = SpatialIndex.of(List.of());
+    private final WarehouseCapacityRepository warehouseCapacityRepository;
+    private final SkuStockRepository skuStockRepository;
+    private final int maxResults;
+
+    public WarehousePlacementService(WarehouseCapacityRepository warehouseCapacityRepository,
+                                     SkuStockRepository skuStockRepository,
+                                     ChangeLogRepository changeLogRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${inventory.placement.max-results:50}") int maxResults,
+                                     @Value("${inventory.placement.refresh-interval:200ms}") Duration refreshInterval) {
+        super("warehouse capacity index", "capacity-index-refresher", changeLogRepository, transactionManager,
+                refreshInterval);
+        this.warehouseCapacityRepository = warehouseCapacityRepository;
+        this.skuStockRepository = skuStockRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Suggests warehouses that can take a quantity. When a SKU is given, warehouses already
+     * stocking it come first, so stock of one SKU is not scattered.
+     *
+     * @param quantity Units to place
+     * @param sku SKU being placed (optional)
+     * @param excludeWarehouseId Warehouse to leave out, e.g. the transfer source (optional)
+     * @param fit Order among warehouses of the same preference
+     * @param limit Maximum number of suggestions
+     * @return Warehouses with room for the quantity, best first; empty if none has room
+     * @throws IllegalArgumentException if quantity or limit is out of range
+     * @throws ViewLoadingException if the index is still loading
+     */
+    public List<PlacementSuggestionDto> suggest(int quantity, String sku, Long excludeWarehouseId,
+                                                CapacityIndex.Fit fit, int limit) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be at least 1");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+        requireReady();
+
+        List<PlacementSuggestionDto> suggestions = new ArrayList<>();
+        Set<Long> taken = new HashSet<>();
+        if (excludeWarehouseId != null) {
+            taken.add(excludeWarehouseId);
+        }
+        Map<Long, Long> skuQuantities = new HashMap<>();
+        if (sku != null && !sku.isBlank()) {
+            List<WarehouseCapacity> stocking = new ArrayList<>();
+            for (SkuStockDto.WarehouseStock stock : skuStockRepository.findBySku(sku)) {
+                skuQuantities.put(stock.getWarehouseId(), stock.getQuantity());
+                WarehouseCapacity warehouse = index.get(stock.getWarehouseId());
+                if (warehouse != null && warehouse.available() >= quantity && !taken.contains(warehouse.id())) {
+                    stocking.add(warehouse);
+                }
+            }
+            Comparator<WarehouseCapacity> order = Comparator.comparingLong(WarehouseCapacity::available)
+                    .thenComparingLong(WarehouseCapacity::id);
+            stocking.sort(fit == CapacityIndex.Fit.TIGHTEST ? order : order.reversed());
+            for (WarehouseCapacity warehouse : stocking.subList(0, Math.min(limit, stocking.size()))) {
+                suggestions.add(toDto(warehouse, skuQuantities));
+                taken.add(warehouse.id());
+            }
+        }
+        if (suggestions.size() < limit) {
+            index.withRoomFor(quantity, fit, limit - suggestions.size(), taken::contains)
+                    .forEach(warehouse -> suggestions.add(toDto(warehouse, skuQuantities)));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Finds the warehouses nearest to a point that can take a quantity
+     *
+     * @param latitude Latitude in degrees
+     * @param longitude Longitude in degrees
+     * @param quantity Units to place
+     * @param sku SKU being placed, to report the quantity already stocked (optional)
+     * @param excludeWarehouseId Warehouse to leave out, e.g. the transfer source (optional)
+     * @param k Maximum number of warehouses
+     * @return Warehouses with room and coordinates, nearest first
+     * @throws IllegalArgumentException if a parameter is out of range
+     * @throws ViewLoadingException if the index is still loading
+     */
+    public List<PlacementSuggestionDto> nearest(double latitude, double longitude, int quantity, String sku,
+                                                Long excludeWarehouseId, int k) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be at least 1");
+        }
+        if (k < 1 || k > maxResults) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxResults);
+        }
+        requireReady();
+        List<SpatialIndex.Neighbor> neighbors = spatialIndex.nearest(latitude, longitude, k, id -> {
+            if (excludeWarehouseId != null && id == excludeWarehouseId) {
+                return false;
+            }
+            WarehouseCapacity warehouse = index.get(id);
+            return warehouse != null && warehouse.available() >= quantity;
+        });
+        Map<Long, Long> skuQuantities = new HashMap<>();
+        if (sku != null && !sku.isBlank() && !neighbors.isEmpty()) {
+            skuStockRepository.findBySku(sku)
+                    .forEach(stock -> skuQuantities.put(stock.getWarehouseId(), stock.getQuantity()));
+        }
+        List<PlacementSuggestionDto> suggestions = new ArrayList<>(neighbors.size());
+        for (SpatialIndex.Neighbor neighbor : neighbors) {
+            WarehouseCapacity warehouse = index.get(neighbor.warehouseId());
+            if (warehouse != null) {
+                PlacementSuggestionDto dto = toDto(warehouse, skuQuantities);
+                dto.setDistanceKm(Math.round(neighbor.distanceKm() * 10) / 10.0);
+                suggestions.add(dto);
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    protected void load() {
+        warehouseCapacityRepository.findAll().forEach(index::put);
+        spatialIndex = SpatialIndex.of(index.snapshot());
+    }
+
+    @Override
+    protected void apply(List<Change> changes) {
+        Set<Long> warehouseIds = new HashSet<>();
+        for (Change change : changes) {
+            if (ChangeLogRepository.WAREHOUSE.equals(change.entityType())) {
+                warehouseIds.add(change.entityId());
+            }
+        }
+        if (warehouseIds.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = new HashSet<>();
+        boolean moved = false;
+        for (WarehouseCapacity warehouse : warehouseCapacityRepository.findByIds(warehouseIds)) {
+            WarehouseCapacity previous = index.get(warehouse.id());
+            moved |= previous == null
+                    ? warehouse.isLocated()
+                    : !Objects.equals(previous.latitude(), warehouse.latitude())
+                        || !Objects.equals(previous.longitude(), warehouse.longitude());
+            index.put(warehouse);
+            existing.add(warehouse.id());
+        }
+        for (Long id : warehouseIds) {
+            if (!existing.contains(id)) {
+                WarehouseCapacity previous = index.get(id);
+                moved |= previous != null && previous.isLocated();
+                index.remove(id);
+            }
+        }
+        if (moved) {
+            spatialIndex = SpatialIndex.of(index.snapshot());
+        }
+    }
+
+    private static PlacementSuggestionDto toDto(WarehouseCapacity warehouse, Map<Long, Long> skuQuantities) {
+        return new PlacementSuggestionDto(warehouse.id(), warehouse.name(), warehouse.maxCapacity(),
+                warehouse.available(), skuQuantities.getOrDefault(warehouse.id(), 0L), null);
+    }
+}
@@ -1,15 +1,33 @@
 package com.skillstorm.inventory_management.services;
 
+import com.skillstorm.inventory_management.config.CacheConfig;
+import com.skillstorm.inventory_management.dtos.BatchGetResponse;
+import com.skillstorm.inventory_management.dtos.CategoryStatsDto;
+import com.skillstorm.inventory_management.dtos.FieldSelection;
 import com.skillstorm.inventory_management.dtos.WarehouseDto;
 import com.skillstorm.inventory_management.entities.Warehouse;
 import com.skillstorm.inventory_management.exceptions.DuplicateResourceException;
 import com.skillstorm.inventory_management.exceptions.ResourceNotFoundException;
+import com.skillstorm.inventory_management.repositories.CategoryStatsRepository;
+import com.skillstorm.inventory_management.repositories.ChangeLogRepository;
+import com.skillstorm.inventory_management.repositories.InventoryItemPartitionRepository;
+import com.skillstorm.inventory_management.repositories.InventoryItemRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseLockRepository;
 import com.skillstorm.inventory_management.repositories.WarehouseRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseUsage;
+import com.skillstorm.inventory_management.repositories.WarehouseWithUsage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -20,7 +38,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WarehouseService {
 
+    /**
+     * WarehouseDto properties derived from the warehouse's items rather than stored columns
+     */
+    private static final Set<String> USAGE_FIELDS =
+            Set.of("currentCapacity", "availableCapacity", "utilizationPercentage", "itemCount");
+
     private final WarehouseRepository warehouseRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryItemPartitionRepository inventoryItemPartitionRepository;
+    private final WarehouseLockRepository warehouseLockRepository;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final AuditTrail auditTrail;
+    private final ChangeLogRepository changeLogRepository;
+    private final CategoryStatsRepository categoryStatsRepository;
+
+    /**
+     * Maximum number of distinct IDs accepted by a single batch get
+     */
+    @Value("${inventory.batch-get.max-ids:1000}")
+    private int batchGetMaxIds;
 
     /**
      * Retrieves all warehouses from the database
@@ -29,11 +66,25 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public List<WarehouseDto> getAllWarehouses() {
-        return warehouseRepository.findAll().stream()
-                .map(this::convertToDto)
+        return warehouseRepository.findAllWithUsage().stream()
+                .map(row -> convertToDto(row.getWarehouse(), row))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves all warehouses, reading only the selected columns
+     *
+     * @param fields Sparse fieldset
+     * @return List of warehouse DTOs with at least the selected fields populated
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseDto> getAllWarehouses(FieldSelection fields) {
+        if (fields.isAll()) {
+            return getAllWarehouses();
+        }
+        return findSelectedFields(fields, null);
+    }
+
     /**
      * Retrieves a warehouse by its ID
      *
@@ -41,19 +92,75 @@ public class WarehouseService {
      * @return Warehouse DTO
      * @throws ResourceNotFoundException if warehouse not found
      */
+    @SingleFlight("warehouses.byId")
+    @Cacheable(cacheNames = CacheConfig.WAREHOUSES, sync = true)
     @Transactional(readOnly = true)
     public WarehouseDto getWarehouseById(Long id) {
-        Warehouse warehouse = warehouseRepository.findByIdWithItems(id)
+        WarehouseWithUsage row = warehouseRepository.findByIdWithUsage(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
-        return convertToDto(warehouse);
+        return convertToDto(row.getWarehouse(), row);
     }
 
     /**
-     * Creates a new warehouse
+     * Retrieves several warehouses by ID.
+     * Capacity figures come from a SUM/COUNT aggregate instead of loading each items collection.
+     *
+     * @param ids Warehouse IDs
+     * @return Found warehouses in request order and the IDs that were not found
+     * @throws IllegalArgumentException if more IDs are requested than the batch limit allows
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<WarehouseDto> getWarehousesByIds(List<Long> ids) {
+        List<Long> distinctIds = BatchLookup.distinctIds(ids, batchGetMaxIds);
+        Map<Long, WarehouseDto> found = new HashMap<>();
+        for (List<Long> chunk : BatchLookup.chunks(distinctIds)) {
+            Map<Long, WarehouseUsage> usageById = new HashMap<>();
+            inventoryItemRepository.sumUsageByWarehouseIds(chunk)
+                    .forEach(usage -> usageById.put(usage.getWarehouseId(), usage));
+            warehouseRepository.findAllById(chunk)
+                    .forEach(warehouse -> found.put(warehouse.getId(),
+                            convertToDto(warehouse, usageById.get(warehouse.getId()))));
+        }
+        return BatchLookup.toResponse(distinctIds, found);
+    }
+
+    /**
+     * Retrieves the category breakdown of a warehouse from the category_stats rollup
+     *
+     * @param id Warehouse ID
+     * @return Statistics per category, largest quantity first
+     * @throws ResourceNotFoundException if warehouse not found
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryStatsDto> getCategoryStats(Long id) {
+        List<CategoryStatsDto> stats = categoryStatsRepository.findByWarehouseId(id);
+        if (stats.isEmpty() && !warehouseRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Warehouse not found with id: " + id);
+        }
+        return stats;
+    }
+
+    /**
+     * Recomputes the category_stats rollup from inventory_items
+     *
+     * @return Number of rows that had drifted and were corrected
+     */
+    @Transactional
+    public int rebuildCategoryStats() {
+        int drifted = categoryStatsRepository.rebuild();
+        if (drifted > 0) {
+            cacheInvalidationPublisher.categoriesChanged();
+        }
+        return drifted;
+    }
+
+    /**
+     * Creates a new warehouse together with its inventory_items partition
      *
      * @param warehouseDto Warehouse data
      * @return Created warehouse DTO
      * @throws DuplicateResourceException if warehouse name already exists
+     * @throws IllegalArgumentException if only one of latitude and longitude is given
      */
     @Transactional
     public WarehouseDto createWarehouse(WarehouseDto warehouseDto) {
@@ -61,27 +168,38 @@ public class WarehouseService {
             throw new DuplicateResourceException("Warehouse with name '" + warehouseDto.getName() + "' already exists");
         }
 
+        requireBothOrNeitherCoordinate(warehouseDto);
         Warehouse warehouse = new Warehouse();
         warehouse.setName(warehouseDto.getName());
         warehouse.setLocation(warehouseDto.getLocation());
         warehouse.setMaxCapacity(warehouseDto.getMaxCapacity());
+        warehouse.setLatitude(warehouseDto.getLatitude());
+        warehouse.setLongitude(warehouseDto.getLongitude());
 
         Warehouse saved = warehouseRepository.save(warehouse);
+        inventoryItemPartitionRepository.createPartition(saved.getId());
+        auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.WAREHOUSE, saved.getId(), auditDetails(saved));
+        changeLogRepository.warehousesChanged(saved.getId());
         return convertToDto(saved);
     }
 
     /**
-     * Updates an existing warehouse
+     * Updates an existing warehouse.
+     * Coordinates are kept when the request carries neither latitude nor longitude, so clients
+     * that only edit name, location and capacity do not drop the warehouse from nearest lookups.
      *
      * @param id Warehouse ID
      * @param warehouseDto Updated warehouse data
      * @return Updated warehouse DTO
      * @throws ResourceNotFoundException if warehouse not found
      * @throws DuplicateResourceException if new name conflicts with existing warehouse
-     * @throws IllegalArgumentException if new capacity is less than current usage
+     * @throws IllegalArgumentException if new capacity is less than current usage,
+     * or only one of latitude and longitude is given
      */
     @Transactional
     public WarehouseDto updateWarehouse(Long id, WarehouseDto warehouseDto) {
+        requireBothOrNeitherCoordinate(warehouseDto);
+        warehouseLockRepository.lockWarehouses(id);
         Warehouse warehouse = warehouseRepository.findByIdWithItems(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
 
@@ -91,24 +209,32 @@ public class WarehouseService {
             throw new DuplicateResourceException("Warehouse with name '" + warehouseDto.getName() + "' already exists");
         }
 
-        // Validate that new capacity is not less than current usage
-        if (warehouseDto.getMaxCapacity() < warehouse.getCurrentCapacity()) {
+        // Validate that new capacity is not less than current usage plus reservations
+        if (warehouseDto.getMaxCapacity() < warehouse.getCurrentCapacity() + warehouse.getReservedCapacity()) {
             throw new IllegalArgumentException(
                 "Cannot reduce capacity to " + warehouseDto.getMaxCapacity() +
-                ". Current usage is " + warehouse.getCurrentCapacity() + " items."
+                ". Current usage is " + warehouse.getCurrentCapacity() + " items and " +
+                warehouse.getReservedCapacity() + " reserved."
             );
         }
 
         warehouse.setName(warehouseDto.getName());
         warehouse.setLocation(warehouseDto.getLocation());
         warehouse.setMaxCapacity(warehouseDto.getMaxCapacity());
+        if (warehouseDto.getLatitude() != null) {
+            warehouse.setLatitude(warehouseDto.getLatitude());
+            warehouse.setLongitude(warehouseDto.getLongitude());
+        }
 
         Warehouse updated = warehouseRepository.save(warehouse);
+        auditTrail.record(AuditEvent.Action.UPDATE, AuditEvent.EntityType.WAREHOUSE, id, auditDetails(updated));
+        changeLogRepository.warehousesChanged(id);
+        cacheInvalidationPublisher.warehousesChanged(id);
         return convertToDto(updated);
     }
 
     /**
-     * Deletes a warehouse by ID
+     * Deletes a warehouse by ID and drops its inventory_items partition
      *
      * @param id Warehouse ID
      * @throws ResourceNotFoundException if warehouse not found
@@ -116,6 +242,7 @@ public class WarehouseService {
      */
     @Transactional
     public void deleteWarehouse(Long id) {
+        warehouseLockRepository.lockWarehouses(id);
         Warehouse warehouse = warehouseRepository.findByIdWithItems(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
 
@@ -127,6 +254,10 @@ public class WarehouseService {
         }
 
         warehouseRepository.delete(warehouse);
+        inventoryItemPartitionRepository.dropPartition(id);
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.WAREHOUSE, id, auditDetails(warehouse));
+        changeLogRepository.warehousesChanged(id);
+        cacheInvalidationPublisher.warehousesChanged(id);
     }
 
     /**
@@ -137,13 +268,93 @@ public class WarehouseService {
      */
     @Transactional(readOnly = true)
     public List<WarehouseDto> searchWarehousesByName(String name) {
-        return warehouseRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::convertToDto)
+        return warehouseRepository.findByNameContainingWithUsage(name).stream()
+                .map(row -> convertToDto(row.getWarehouse(), row))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Converts Warehouse entity to DTO
+     * Searches warehouses by name, reading only the selected columns
+     *
+     * @param name Search term
+     * @param fields Sparse fieldset
+     * @return List of matching warehouse DTOs with at least the selected fields populated
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseDto> searchWarehousesByName(String name, FieldSelection fields) {
+        if (fields.isAll()) {
+            return searchWarehousesByName(name);
+        }
+        return findSelectedFields(fields, name);
+    }
+
+    /**
+     * Loads the selected warehouse columns and, only when usage fields are requested,
+     * fills them from a SUM/COUNT aggregate over the items table
+     *
+     * @param fields Sparse fieldset (not all)
+     * @param nameFilter Optional name substring filter
+     * @return Partially populated warehouse DTOs
+     */
+    private List<WarehouseDto> findSelectedFields(FieldSelection fields, String nameFilter) {
+        Set<String> columns = new LinkedHashSet<>();
+        boolean needsUsage = false;
+        for (String field : fields.getFields()) {
+            if (USAGE_FIELDS.contains(field)) {
+                needsUsage = true;
+            } else {
+                columns.add(field);
+            }
+        }
+        if (!needsUsage) {
+            return warehouseRepository.findSelectedColumns(columns, nameFilter);
+        }
+
+        columns.add("id");
+        columns.add("maxCapacity");
+        columns.add("reservedCapacity");
+        List<WarehouseDto> warehouses = warehouseRepository.findSelectedColumns(columns, nameFilter);
+        List<Long> ids = warehouses.stream().map(WarehouseDto::getId).toList();
+        Map<Long, WarehouseUsage> usageById = new HashMap<>();
+        for (List<Long> chunk : BatchLookup.chunks(ids)) {
+            inventoryItemRepository.sumUsageByWarehouseIds(chunk)
+                    .forEach(usage -> usageById.put(usage.getWarehouseId(), usage));
+        }
+        warehouses.forEach(dto -> applyUsage(dto, usageById.get(dto.getId())));
+        return warehouses;
+    }
+
+    /**
+     * Captures a warehouse's values for the audit trail
+     *
+     * @param warehouse Warehouse entity
+     * @return Audit details
+     */
+    private static Map<String, Object> auditDetails(Warehouse warehouse) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("name", warehouse.getName());
+        details.put("location", warehouse.getLocation());
+        details.put("maxCapacity", warehouse.getMaxCapacity());
+        details.put("latitude", warehouse.getLatitude());
+        details.put("longitude", warehouse.getLongitude());
+        return details;
+    }
+
+    /**
+     * Rejects a warehouse with only one of its two coordinates
+     *
+     * @param warehouseDto Warehouse data
+     * @throws IllegalArgumentException if exactly one of latitude and longitude is given
+     */
+    private static void requireBothOrNeitherCoordinate(WarehouseDto warehouseDto) {
+        if ((warehouseDto.getLatitude() == null) != (warehouseDto.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+    }
+
+    /**
+     * Converts Warehouse entity to DTO.
+     * Reads the items collection, so only use it where the items are already loaded.
      *
      * @param warehouse Warehouse entity
      * @return Warehouse DTO
@@ -154,10 +365,49 @@ public class WarehouseService {
         dto.setName(warehouse.getName());
         dto.setLocation(warehouse.getLocation());
         dto.setMaxCapacity(warehouse.getMaxCapacity());
+        dto.setLatitude(warehouse.getLatitude());
+        dto.setLongitude(warehouse.getLongitude());
         dto.setCurrentCapacity(warehouse.getCurrentCapacity());
+        dto.setReservedCapacity(warehouse.getReservedCapacity());
         dto.setAvailableCapacity(warehouse.getAvailableCapacity());
         dto.setUtilizationPercentage(warehouse.getUtilizationPercentage());
         dto.setItemCount(warehouse.getItems() != null ? warehouse.getItems().size() : 0);
         return dto;
     }
+
+    /**
+     * Converts Warehouse entity to DTO using pre-aggregated usage figures
+     * instead of the items collection
+     *
+     * @param warehouse Warehouse entity
+     * @param usage Aggregated usage, or null if the warehouse has no items
+     * @return Warehouse DTO
+     */
+    private WarehouseDto convertToDto(Warehouse warehouse, WarehouseUsage usage) {
+        WarehouseDto dto = new WarehouseDto();
+        dto.setId(warehouse.getId());
+        dto.setName(warehouse.getName());
+        dto.setLocation(warehouse.getLocation());
+        dto.setMaxCapacity(warehouse.getMaxCapacity());
+        dto.setLatitude(warehouse.getLatitude());
+        dto.setLongitude(warehouse.getLongitude());
+        dto.setReservedCapacity(warehouse.getReservedCapacity());
+        applyUsage(dto, usage);
+        return dto;
+    }
+
+    /**
+     * Fills the capacity and item count fields of a DTO from aggregated usage figures
+     *
+     * @param dto Warehouse DTO with maxCapacity and reservedCapacity populated
+     * @param usage Aggregated usage, or null if the warehouse has no items
+     */
+    private void applyUsage(WarehouseDto dto, WarehouseUsage usage) {
+        int currentCapacity = usage != null ? usage.getTotalQuantity().intValue() : 0;
+        int maxCapacity = dto.getMaxCapacity();
+        dto.setCurrentCapacity(currentCapacity);
+        dto.setAvailableCapacity(maxCapacity - currentCapacity - dto.getReservedCapacity());
+        dto.setUtilizationPercentage(maxCapacity == 0 ? 0.0 : ((double) currentCapacity / maxCapacity) * 100);
+        dto.setItemCount(usage != null ? usage.getItemCount().intValue() : 0);
+    }
 }
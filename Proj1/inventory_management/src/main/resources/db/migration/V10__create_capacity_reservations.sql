@@ -0,0 +1,25 @@
+-- Capacity held for inbound shipments until they are received or the hold expires.
+-- reserved_capacity is the sum of a warehouse's reservations, maintained under the warehouse lock
+-- together with the reservation rows, so every capacity check counts holds without reading them.
+
+ALTER TABLE warehouses ADD COLUMN IF NOT EXISTS reserved_capacity INT NOT NULL DEFAULT 0;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'warehouses_reserved_capacity_check') THEN
+        ALTER TABLE warehouses ADD CONSTRAINT warehouses_reserved_capacity_check CHECK (reserved_capacity >= 0);
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS capacity_reservations (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    warehouse_id BIGINT       NOT NULL REFERENCES warehouses (id) ON DELETE CASCADE,
+    quantity     INT          NOT NULL CHECK (quantity >= 1),
+    reference    VARCHAR(255),
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    expires_at   TIMESTAMPTZ  NOT NULL
+);
+
+-- Reservations of a warehouse (GET /api/warehouses/{id}/reservations)
+CREATE INDEX IF NOT EXISTS capacity_reservations_warehouse_idx
+    ON capacity_reservations (warehouse_id, expires_at);
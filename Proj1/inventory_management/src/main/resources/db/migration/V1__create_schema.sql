@@ -0,0 +1,21 @@
+-- Initial schema, as previously created by Hibernate (ddl-auto: update).
+-- IF NOT EXISTS lets databases created that way be adopted with baseline-on-migrate.
+
+CREATE TABLE IF NOT EXISTS warehouses (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    location     VARCHAR(255) NOT NULL,
+    max_capacity INTEGER      NOT NULL CHECK (max_capacity >= 1)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_items (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sku              VARCHAR(255)  NOT NULL,
+    name             VARCHAR(255)  NOT NULL,
+    description      VARCHAR(1000),
+    category         VARCHAR(255),
+    quantity         INTEGER       NOT NULL CHECK (quantity >= 0),
+    storage_location VARCHAR(255),
+    warehouse_id     BIGINT        NOT NULL REFERENCES warehouses (id),
+    UNIQUE (sku, warehouse_id)
+);
@@ -0,0 +1,73 @@
+-- Rebuilds inventory_items as a table list-partitioned on warehouse_id, one partition per warehouse
+-- (inventory_items_w<id>). Rows of a warehouse without its own partition go to inventory_items_default.
+-- Partitions are created and dropped by the application together with their warehouse.
+
+ALTER TABLE inventory_items RENAME TO inventory_items_unpartitioned;
+ALTER TABLE inventory_items_unpartitioned ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Free the index-backed constraint names for the new table
+DO $$
+DECLARE
+    c RECORD;
+BEGIN
+    FOR c IN SELECT conname FROM pg_constraint
+             WHERE conrelid = 'inventory_items_unpartitioned'::regclass AND contype IN ('p', 'u', 'f')
+    LOOP
+        EXECUTE format('ALTER TABLE inventory_items_unpartitioned DROP CONSTRAINT %I', c.conname);
+    END LOOP;
+END $$;
+
+CREATE SEQUENCE inventory_items_id_seq;
+
+-- The primary key must include the partition key; id alone stays unique through the sequence
+CREATE TABLE inventory_items (
+    id               BIGINT        NOT NULL DEFAULT nextval('inventory_items_id_seq'),
+    sku              VARCHAR(255)  NOT NULL,
+    name             VARCHAR(255)  NOT NULL,
+    description      VARCHAR(1000),
+    category         VARCHAR(255),
+    quantity         INTEGER       NOT NULL CONSTRAINT inventory_items_quantity_check CHECK (quantity >= 0),
+    storage_location VARCHAR(255),
+    warehouse_id     BIGINT        NOT NULL CONSTRAINT inventory_items_warehouse_id_fkey REFERENCES warehouses (id),
+    CONSTRAINT inventory_items_pkey PRIMARY KEY (id, warehouse_id),
+    CONSTRAINT inventory_items_sku_warehouse_id_key UNIQUE (sku, warehouse_id)
+) PARTITION BY LIST (warehouse_id);
+
+ALTER SEQUENCE inventory_items_id_seq OWNED BY inventory_items.id;
+
+CREATE TABLE inventory_items_default PARTITION OF inventory_items DEFAULT;
+
+-- Creates the partition for a warehouse. The table is built detached and then attached, which
+-- takes only a SHARE UPDATE EXCLUSIVE lock on inventory_items, so reads and writes of other
+-- warehouses continue; the CHECK constraint spares the attach from validating the new table.
+CREATE FUNCTION create_inventory_items_partition(p_warehouse_id BIGINT) RETURNS VOID AS $$
+DECLARE
+    partition_name TEXT := 'inventory_items_w' || p_warehouse_id;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE inventory_items INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (warehouse_id = %s)',
+                   partition_name, partition_name || '_warehouse_check', p_warehouse_id);
+    EXECUTE format('ALTER TABLE inventory_items ATTACH PARTITION %I FOR VALUES IN (%s)', partition_name, p_warehouse_id);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops the partition of a warehouse. Needs an ACCESS EXCLUSIVE lock on inventory_items for
+-- the duration of the calling transaction, so callers should set a lock_timeout.
+CREATE FUNCTION drop_inventory_items_partition(p_warehouse_id BIGINT) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('DROP TABLE IF EXISTS %I', 'inventory_items_w' || p_warehouse_id);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_inventory_items_partition(id) FROM warehouses;
+
+INSERT INTO inventory_items (id, sku, name, description, category, quantity, storage_location, warehouse_id)
+SELECT id, sku, name, description, category, quantity, storage_location, warehouse_id
+FROM inventory_items_unpartitioned;
+
+SELECT setval('inventory_items_id_seq', COALESCE((SELECT MAX(id) FROM inventory_items), 0) + 1, false);
+
+DROP TABLE inventory_items_unpartitioned;
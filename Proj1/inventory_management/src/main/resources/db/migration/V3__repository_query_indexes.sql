@@ -0,0 +1,37 @@
+-- Indexes matched to the queries of InventoryItemRepository and WarehouseRepository.
+-- Indexes on the partitioned inventory_items cascade to every partition, including ones attached later.
+-- QueryPlanTests fails when one of these queries falls back to a filtering sequential scan.
+--
+-- Already covered by V2:
+--   findBySku, existsBySku                   -> inventory_items_sku_warehouse_id_key (sku, warehouse_id)
+--   findById, findAllByIdWithWarehouse,
+--   findWarehouseIdById                      -> inventory_items_pkey (id, warehouse_id)
+--   findByWarehouseId, searchItemsInWarehouse -> partition pruning on warehouse_id
+
+-- Substring search with LOWER(column) LIKE '%term%' needs trigram indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- findByCategory, findDistinctCategories (index-only scan)
+CREATE INDEX IF NOT EXISTS inventory_items_category_idx ON inventory_items (category);
+
+-- searchItems, searchItemsInWarehouse, findSelectedFields, find*ContainingIgnoreCase
+CREATE INDEX IF NOT EXISTS inventory_items_name_trgm_idx
+    ON inventory_items USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS inventory_items_sku_trgm_idx
+    ON inventory_items USING gin (LOWER(sku) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS inventory_items_category_trgm_idx
+    ON inventory_items USING gin (LOWER(category) gin_trgm_ops);
+
+-- sumUsageByWarehouseIds: covering index so capacity checks sum quantities without touching the heap
+CREATE INDEX IF NOT EXISTS inventory_items_warehouse_quantity_idx
+    ON inventory_items (warehouse_id) INCLUDE (quantity);
+
+-- WarehouseRepository.findByName, existsByName
+CREATE INDEX IF NOT EXISTS warehouses_name_idx ON warehouses (name);
+
+-- WarehouseRepository.findByLocation
+CREATE INDEX IF NOT EXISTS warehouses_location_idx ON warehouses (location);
+
+-- WarehouseRepository.findByNameContainingIgnoreCase, findSelectedColumns
+CREATE INDEX IF NOT EXISTS warehouses_name_trgm_idx
+    ON warehouses USING gin (LOWER(name) gin_trgm_ops);
@@ -0,0 +1,15 @@
+-- Append-only audit trail of item and warehouse mutations, written in batches by AuditWriter.
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    occurred_at TIMESTAMPTZ  NOT NULL,
+    actor       VARCHAR(255) NOT NULL,
+    action      VARCHAR(32)  NOT NULL,
+    entity_type VARCHAR(32)  NOT NULL,
+    entity_id   BIGINT,
+    details     JSONB
+);
+
+-- GET /api/audit: time range, optionally narrowed to one entity
+CREATE INDEX IF NOT EXISTS audit_events_occurred_at_idx ON audit_events (occurred_at);
+CREATE INDEX IF NOT EXISTS audit_events_entity_idx ON audit_events (entity_type, entity_id, occurred_at);
@@ -0,0 +1,21 @@
+-- Delta-sync change feed (GET /api/items/changes). One row per item or warehouse write, recorded by the
+-- service write paths in the writing transaction. change_xid orders rows by transaction so a reader can
+-- stop below the oldest transaction still in flight and never skip a change that commits late.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    seq         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    change_xid  XID8        NOT NULL DEFAULT pg_current_xact_id(),
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    changed_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS change_log_cursor_idx ON change_log (change_xid, seq);
+CREATE INDEX IF NOT EXISTS change_log_changed_at_idx ON change_log (changed_at);
+
+-- Highest (change_xid, seq) removed by retention pruning; older cursors must resync
+CREATE TABLE IF NOT EXISTS change_log_pruned (
+    id         INT PRIMARY KEY CHECK (id = 1),
+    change_xid XID8   NOT NULL,
+    seq        BIGINT NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Network-wide stock per SKU (GET /api/items/sku/{sku}/stock). One row per SKU and warehouse that
+-- stocks it, adjusted by delta in the same transaction as every item write, so reading a SKU's
+-- totals never scans inventory_items.
+
+CREATE TABLE IF NOT EXISTS sku_stock (
+    sku          VARCHAR(255) NOT NULL,
+    warehouse_id BIGINT       NOT NULL REFERENCES warehouses (id) ON DELETE CASCADE,
+    quantity     BIGINT       NOT NULL,
+    item_count   INT          NOT NULL,
+    PRIMARY KEY (sku, warehouse_id)
+);
+
+INSERT INTO sku_stock (sku, warehouse_id, quantity, item_count)
+SELECT sku, warehouse_id, SUM(quantity), COUNT(*)
+FROM inventory_items
+GROUP BY sku, warehouse_id
+ON CONFLICT (sku, warehouse_id) DO NOTHING;
@@ -0,0 +1,20 @@
+-- Per-warehouse category statistics, adjusted by delta in the same transaction as every item write,
+-- so category lists and breakdowns never group inventory_items. Uncategorized items are counted
+-- under the empty string. POST /api/admin/category-stats/rebuild recomputes the table from scratch.
+
+CREATE TABLE IF NOT EXISTS category_stats (
+    warehouse_id   BIGINT       NOT NULL REFERENCES warehouses (id) ON DELETE CASCADE,
+    category       VARCHAR(255) NOT NULL,
+    item_count     INT          NOT NULL,
+    total_quantity BIGINT       NOT NULL,
+    PRIMARY KEY (warehouse_id, category)
+);
+
+-- GET /api/items/categories
+CREATE INDEX IF NOT EXISTS category_stats_category_idx ON category_stats (category);
+
+INSERT INTO category_stats (warehouse_id, category, item_count, total_quantity)
+SELECT warehouse_id, COALESCE(category, ''), COUNT(*), SUM(quantity)
+FROM inventory_items
+GROUP BY warehouse_id, COALESCE(category, '')
+ON CONFLICT (warehouse_id, category) DO NOTHING;
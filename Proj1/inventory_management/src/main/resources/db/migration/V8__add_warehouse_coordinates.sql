@@ -0,0 +1,24 @@
+-- Geographic coordinates for nearest-warehouse lookups (GET /api/warehouses/nearest).
+-- Optional: warehouses without coordinates are simply never returned by distance.
+
+ALTER TABLE warehouses ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE warehouses ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'warehouses_coordinates_check') THEN
+        ALTER TABLE warehouses ADD CONSTRAINT warehouses_coordinates_check CHECK (
+            (latitude IS NULL AND longitude IS NULL)
+            OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180));
+    END IF;
+END $$;
+
+-- Sample warehouses created by DataInitializer
+UPDATE warehouses w
+SET latitude = c.latitude, longitude = c.longitude
+FROM (VALUES ('New York, NY', 40.7128, -74.0060),
+             ('Los Angeles, CA', 34.0522, -118.2437),
+             ('Chicago, IL', 41.8781, -87.6298),
+             ('Atlanta, GA', 33.7490, -84.3880),
+             ('Seattle, WA', 47.6062, -122.3321)) AS c (location, latitude, longitude)
+WHERE w.location = c.location AND w.latitude IS NULL;
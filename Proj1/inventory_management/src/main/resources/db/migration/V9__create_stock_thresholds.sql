@@ -0,0 +1,24 @@
+-- Reorder points for low-stock alerts: for a SKU in one warehouse, or for a SKU across all warehouses
+-- (warehouse_id NULL). alert_active is set when stock drops below reorder_point and cleared only once
+-- it is back at recovery_level, so stock hovering around the reorder point does not flap. The flag is
+-- re-evaluated in the statement that adjusts sku_stock, so detecting a crossing never scans items.
+
+CREATE TABLE IF NOT EXISTS stock_thresholds (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sku            VARCHAR(255) NOT NULL,
+    warehouse_id   BIGINT       REFERENCES warehouses (id) ON DELETE CASCADE,
+    reorder_point  INT          NOT NULL CHECK (reorder_point >= 1),
+    recovery_level INT          NOT NULL,
+    alert_active   BOOLEAN      NOT NULL DEFAULT FALSE,
+    quantity       BIGINT       NOT NULL DEFAULT 0,
+    changed_at     TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT stock_thresholds_recovery_check CHECK (recovery_level >= reorder_point)
+);
+
+-- One threshold per SKU and warehouse, and one network-wide threshold per SKU
+CREATE UNIQUE INDEX IF NOT EXISTS stock_thresholds_sku_warehouse_key
+    ON stock_thresholds (sku, COALESCE(warehouse_id, 0));
+
+-- Active alerts (GET /api/items/alerts)
+CREATE INDEX IF NOT EXISTS stock_thresholds_active_idx
+    ON stock_thresholds (changed_at) WHERE alert_active;
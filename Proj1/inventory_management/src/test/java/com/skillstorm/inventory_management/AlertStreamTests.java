@@ -0,0 +1,56 @@
+package com.skillstorm.inventory_management;
+
+import com.skillstorm.inventory_management.services.StockAlertService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that open alert streams take no bulkhead permits, so subscribers cannot starve the read endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlertStreamTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Test
+    void openStreamsHoldNoReadPermits() throws Exception {
+        int subscribers = stockAlertService.subscriberCount();
+        // More streams than the reads group's max limit
+        List<MvcResult> streams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            streams.add(mockMvc.perform(get("/api/items/alerts/stream")).andExpect(request().asyncStarted()).andReturn());
+        }
+        assertThat(stockAlertService.subscriberCount()).isEqualTo(subscribers + 10);
+        assertThat(readsInFlight()).isZero();
+        mockMvc.perform(get("/api/items/alerts")).andExpect(status().isOk());
+
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        assertThat(stockAlertService.subscriberCount()).isEqualTo(subscribers);
+        assertThat(readsInFlight()).isZero();
+    }
+
+    private double readsInFlight() {
+        return meterRegistry.get("inventory.bulkhead.in.flight").tag("group", "reads").gauge().value();
+    }
+}
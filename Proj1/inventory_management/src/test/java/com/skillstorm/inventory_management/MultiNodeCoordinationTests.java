@@ -0,0 +1,279 @@
+package com.skillstorm.inventory_management;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.ReceiptRequest;
+import com.skillstorm.inventory_management.dtos.ReservationDto;
+import com.skillstorm.inventory_management.dtos.ReservationRequest;
+import com.skillstorm.inventory_management.dtos.StockThresholdDto;
+import com.skillstorm.inventory_management.dtos.StockThresholdRequest;
+import com.skillstorm.inventory_management.dtos.TransferRequest;
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.exceptions.InsufficientCapacityException;
+import com.skillstorm.inventory_management.services.CacheInvalidationListener;
+import com.skillstorm.inventory_management.services.CapacityReservationService;
+import com.skillstorm.inventory_management.services.InventoryItemService;
+import com.skillstorm.inventory_management.services.StockAlertService;
+import com.skillstorm.inventory_management.services.WarehouseService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs two application contexts against the same database, standing in for two nodes
+ * behind a load balancer, and checks that advisory locks and LISTEN/NOTIFY keep
+ * capacity checks and cached reads correct across them.
+ */
+class MultiNodeCoordinationTests {
+
+    private static final String PREFIX = "Multi-node ";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+                nodeA.getBean(CacheInvalidationListener.class).isListening()
+                        && nodeB.getBean(CacheInvalidationListener.class).isListening());
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM inventory_items WHERE warehouse_id IN (SELECT id FROM warehouses WHERE name LIKE ?)", PREFIX + "%");
+        jdbcTemplate.query("SELECT drop_inventory_items_partition(id) FROM warehouses WHERE name LIKE ?", rs -> { }, PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM warehouses WHERE name LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM stock_thresholds WHERE sku LIKE 'MN-%'");
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void writeOnOneNodeInvalidatesCachedWarehouseOnTheOther() {
+        WarehouseService warehousesA = nodeA.getBean(WarehouseService.class);
+        Long warehouseId = createWarehouse("Cache", 1000);
+
+        assertThat(warehousesA.getWarehouseById(warehouseId).getCurrentCapacity()).isZero();
+
+        // A write that bypasses the services publishes nothing, so node A keeps serving its cached copy
+        nodeA.getBean(JdbcTemplate.class).update(
+                "INSERT INTO inventory_items (sku, name, quantity, warehouse_id) VALUES ('MN-RAW', 'Raw', 5, ?)", warehouseId);
+        assertThat(warehousesA.getWarehouseById(warehouseId).getCurrentCapacity()).isZero();
+
+        nodeB.getBean(InventoryItemService.class).createItem(item("MN-CACHE", 10, warehouseId));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(warehousesA.getWarehouseById(warehouseId).getCurrentCapacity()).isEqualTo(15));
+    }
+
+    @Test
+    void concurrentCreatesOnBothNodesNeverExceedCapacity() throws Exception {
+        Long warehouseId = createWarehouse("Capacity", 100);
+
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            InventoryItemService service = (i % 2 == 0 ? nodeA : nodeB).getBean(InventoryItemService.class);
+            InventoryItemDto item = item("MN-CAP-" + i, 10, warehouseId);
+            attempts.add(() -> {
+                try {
+                    service.createItem(item);
+                    return true;
+                } catch (InsufficientCapacityException e) {
+                    return false;
+                }
+            });
+        }
+
+        long created = runConcurrently(attempts).stream().filter(Boolean::booleanValue).count();
+
+        assertThat(created).isEqualTo(10);
+        assertThat(totalQuantity(warehouseId)).isEqualTo(100);
+    }
+
+    @Test
+    void opposingTransfersOnBothNodesConserveStockWithoutDeadlock() throws Exception {
+        Long first = createWarehouse("Transfer 1", 1000);
+        Long second = createWarehouse("Transfer 2", 1000);
+        Long firstItem = nodeA.getBean(InventoryItemService.class).createItem(item("MN-T1", 100, first)).getId();
+        Long secondItem = nodeA.getBean(InventoryItemService.class).createItem(item("MN-T2", 100, second)).getId();
+
+        List<Callable<Boolean>> transfers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            InventoryItemService service = (i % 2 == 0 ? nodeA : nodeB).getBean(InventoryItemService.class);
+            TransferRequest request = i % 4 < 2
+                    ? new TransferRequest(firstItem, first, second, 1)
+                    : new TransferRequest(secondItem, second, first, 1);
+            transfers.add(() -> {
+                service.transferItem(request);
+                return true;
+            });
+        }
+
+        assertThat(runConcurrently(transfers)).hasSize(20).containsOnly(true);
+        assertThat(totalQuantity(first) + totalQuantity(second)).isEqualTo(200);
+        assertThat(totalQuantity(first)).isEqualTo(100);
+    }
+
+    @Test
+    void stockChangesOnEitherNodeRaiseAndClearAlertsOnlyOnCrossings() {
+        Long warehouseId = createWarehouse("Alerts", 1000);
+        InventoryItemDto created = nodeA.getBean(InventoryItemService.class).createItem(item("MN-ALERT", 100, warehouseId));
+        StockAlertService alertsA = nodeA.getBean(StockAlertService.class);
+        InventoryItemService itemsB = nodeB.getBean(InventoryItemService.class);
+        StockThresholdDto threshold = alertsA.setItemThreshold(created.getId(), new StockThresholdRequest(50, 80));
+        assertThat(threshold.isAlertActive()).isFalse();
+
+        created.setQuantity(40);
+        itemsB.updateItem(created.getId(), created);
+        assertThat(alertsA.getActiveAlerts()).filteredOn(alert -> alert.getId().equals(threshold.getId()))
+                .singleElement().satisfies(alert -> assertThat(alert.getQuantity()).isEqualTo(40));
+
+        // Back above the reorder point but below the recovery level: the alert stays raised
+        created.setQuantity(70);
+        itemsB.updateItem(created.getId(), created);
+        assertThat(alertsA.getActiveAlerts()).extracting(StockThresholdDto::getId).contains(threshold.getId());
+
+        created.setQuantity(80);
+        itemsB.updateItem(created.getId(), created);
+        assertThat(alertsA.getActiveAlerts()).extracting(StockThresholdDto::getId).doesNotContain(threshold.getId());
+    }
+
+    @Test
+    void stockChangeWaitsForConcurrentChangeOfTheSameSkuBeforeEvaluatingNetworkAlert() throws Exception {
+        Long first = createWarehouse("Network alert 1", 1000);
+        Long second = createWarehouse("Network alert 2", 1000);
+        InventoryItemDto firstItem = nodeA.getBean(InventoryItemService.class).createItem(item("MN-NET", 100, first));
+        InventoryItemDto secondItem = nodeA.getBean(InventoryItemService.class).createItem(item("MN-NET", 100, second));
+        StockThresholdDto threshold = nodeA.getBean(StockAlertService.class)
+                .setSkuThreshold("MN-NET", new StockThresholdRequest(150, 300));
+        TransactionTemplate transactionA = new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // Neither change alone crosses the reorder point (160 and 180), but together they leave 140
+        firstItem.setQuantity(60);
+        Future<?> writerA = executor.submit(() -> transactionA.executeWithoutResult(status -> {
+            nodeA.getBean(InventoryItemService.class).updateItem(firstItem.getId(), firstItem);
+            updated.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(updated.await(10, TimeUnit.SECONDS)).isTrue();
+        secondItem.setQuantity(80);
+        Future<?> writerB = executor.submit(() -> nodeB.getBean(InventoryItemService.class).updateItem(secondItem.getId(), secondItem));
+
+        try {
+            assertThatThrownBy(() -> writerB.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        } finally {
+            commit.countDown();
+            writerA.get(10, TimeUnit.SECONDS);
+            writerB.get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+
+        assertThat(nodeB.getBean(StockAlertService.class).getActiveAlerts())
+                .filteredOn(alert -> alert.getId().equals(threshold.getId()))
+                .singleElement().satisfies(alert -> assertThat(alert.getQuantity()).isEqualTo(140));
+    }
+
+    @Test
+    void reservationsHoldCapacityUntilReceivedOrExpired() {
+        Long warehouseId = createWarehouse("Reservations", 100);
+        CapacityReservationService reservationsA = nodeA.getBean(CapacityReservationService.class);
+        InventoryItemService itemsB = nodeB.getBean(InventoryItemService.class);
+
+        reservationsA.createReservation(warehouseId, new ReservationRequest(60, Duration.ofSeconds(2), "PO-EXPIRE"));
+        ReservationDto received = reservationsA.createReservation(warehouseId,
+                new ReservationRequest(30, Duration.ofHours(1), "PO-RECEIVE"));
+        assertThatThrownBy(() -> itemsB.createItem(item("MN-HELD", 20, warehouseId)))
+                .isInstanceOf(InsufficientCapacityException.class);
+
+        // Receiving converts the hold into stock without a window where the capacity is free
+        nodeB.getBean(CapacityReservationService.class).receiveReservation(received.getId(),
+                new ReceiptRequest("MN-RECEIVED", "Received", null, "Test", null, null));
+        assertThat(totalQuantity(warehouseId)).isEqualTo(30);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(reservationsA.getReservations(warehouseId)).isEmpty());
+        await().atMost(Duration.ofSeconds(10)).until(() -> nodeA.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT reserved_capacity FROM warehouses WHERE id = ?", Integer.class, warehouseId) == 0);
+        itemsB.createItem(item("MN-HELD", 70, warehouseId));
+        assertThat(totalQuantity(warehouseId)).isEqualTo(100);
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(InventoryManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    private static Long createWarehouse(String name, int maxCapacity) {
+        WarehouseDto warehouse = new WarehouseDto();
+        warehouse.setName(PREFIX + name + " " + System.nanoTime());
+        warehouse.setLocation("Test");
+        warehouse.setMaxCapacity(maxCapacity);
+        return nodeA.getBean(WarehouseService.class).createWarehouse(warehouse).getId();
+    }
+
+    private static InventoryItemDto item(String sku, int quantity, Long warehouseId) {
+        InventoryItemDto item = new InventoryItemDto();
+        item.setSku(sku);
+        item.setName(sku);
+        item.setCategory("Test");
+        item.setQuantity(quantity);
+        item.setWarehouseId(warehouseId);
+        return item;
+    }
+
+    private static int totalQuantity(Long warehouseId) {
+        return nodeA.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM inventory_items WHERE warehouse_id = ?", Integer.class, warehouseId);
+    }
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return results;
+    }
+}
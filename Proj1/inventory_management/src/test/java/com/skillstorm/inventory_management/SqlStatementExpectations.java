@@ -0,0 +1,104 @@
+package com.skillstorm.inventory_management;
+
+import com.skillstorm.inventory_management.config.StatementBudgetFilter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test DSL for SQL statement budgets, read from the X-SQL-* headers of a MockMvc request:
+ * <pre>
+ * sql.expect(get("/api/warehouses")).issuesAtMost(1).statements();
+ * sql.expect(get("/api/items/search").param("searchTerm", "bolt")).readsAtMost(50).rows();
+ * </pre>
+ */
+public class SqlStatementExpectations {
+
+    private final MockMvc mockMvc;
+
+    public SqlStatementExpectations(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    /**
+     * Performs a request and captures its statement counts
+     *
+     * @param request Request to perform; must succeed
+     * @return Counts of the request
+     * @throws Exception if the request fails
+     */
+    public ExecutedRequest expect(RequestBuilder request) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        assertThat(response.getStatus()).as("response status").isBetween(200, 299);
+        assertThat(response.getHeader(StatementBudgetFilter.STATEMENTS_HEADER))
+                .as("%s header", StatementBudgetFilter.STATEMENTS_HEADER).isNotNull();
+        return new ExecutedRequest(
+                Long.parseLong(response.getHeader(StatementBudgetFilter.STATEMENTS_HEADER)),
+                Long.parseLong(response.getHeader(StatementBudgetFilter.ROWS_HEADER)));
+    }
+
+    /**
+     * Statement and row counts of a performed request
+     */
+    public static final class ExecutedRequest {
+
+        private final long statements;
+        private final long rows;
+
+        private ExecutedRequest(long statements, long rows) {
+            this.statements = statements;
+            this.rows = rows;
+        }
+
+        /**
+         * Starts an upper-bound expectation
+         *
+         * @param max Largest accepted count
+         * @return Bound to complete with statements() or rows()
+         */
+        public Bound issuesAtMost(long max) {
+            return new Bound(this, max);
+        }
+
+        /**
+         * Starts an upper-bound expectation
+         *
+         * @param max Largest accepted count
+         * @return Bound to complete with statements() or rows()
+         */
+        public Bound readsAtMost(long max) {
+            return new Bound(this, max);
+        }
+    }
+
+    /**
+     * An upper bound waiting for the quantity it applies to
+     *
+     * @param request Performed request
+     * @param max Largest accepted count
+     */
+    public record Bound(ExecutedRequest request, long max) {
+
+        /**
+         * Asserts the number of SQL statements
+         *
+         * @return The request, for further expectations
+         */
+        public ExecutedRequest statements() {
+            assertThat(request.statements).as("SQL statements issued").isLessThanOrEqualTo(max);
+            return request;
+        }
+
+        /**
+         * Asserts the number of rows fetched or affected
+         *
+         * @return The request, for further expectations
+         */
+        public ExecutedRequest rows() {
+            assertThat(request.rows).as("rows read").isLessThanOrEqualTo(max);
+            return request;
+        }
+    }
+}
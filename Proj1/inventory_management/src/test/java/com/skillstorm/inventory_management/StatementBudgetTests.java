@@ -0,0 +1,109 @@
+package com.skillstorm.inventory_management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.TransferRequest;
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.services.InventoryItemService;
+import com.skillstorm.inventory_management.services.WarehouseService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Guards the read endpoints against N+1 regressions: each must stay within one SQL statement
+ * however many warehouses and items exist. Writes are held to their measured statement counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTests {
+
+    private static final String PREFIX = "Budget ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SqlStatementExpectations sql;
+    private Long firstWarehouseId;
+    private Long warehouseId;
+    private Long itemId;
+
+    @BeforeAll
+    void createData() {
+        sql = new SqlStatementExpectations(mockMvc);
+        for (int w = 1; w <= 2; w++) {
+            WarehouseDto warehouse = new WarehouseDto();
+            warehouse.setName(PREFIX + w);
+            warehouse.setLocation("Test");
+            warehouse.setMaxCapacity(1000);
+            warehouseId = warehouseService.createWarehouse(warehouse).getId();
+            if (firstWarehouseId == null) {
+                firstWarehouseId = warehouseId;
+            }
+            for (int i = 1; i <= 3; i++) {
+                InventoryItemDto item = new InventoryItemDto();
+                item.setSku("BUDGET-" + w + "-" + i);
+                item.setName("Budget item " + i);
+                item.setCategory("Budget");
+                item.setQuantity(5);
+                item.setWarehouseId(warehouseId);
+                itemId = inventoryItemService.createItem(item).getId();
+            }
+        }
+    }
+
+    @AfterAll
+    void deleteData() {
+        jdbcTemplate.update("DELETE FROM inventory_items WHERE warehouse_id IN (SELECT id FROM warehouses WHERE name LIKE ?)", PREFIX + "%");
+        jdbcTemplate.query("SELECT drop_inventory_items_partition(id) FROM warehouses WHERE name LIKE ?", rs -> { }, PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM warehouses WHERE name LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void warehouseReadsIssueOneStatement() throws Exception {
+        sql.expect(get("/api/warehouses")).issuesAtMost(1).statements();
+        sql.expect(get("/api/warehouses/{id}", warehouseId)).issuesAtMost(1).statements();
+        sql.expect(get("/api/warehouses/search").param("name", PREFIX)).issuesAtMost(1).statements();
+    }
+
+    @Test
+    void itemReadsIssueOneStatement() throws Exception {
+        sql.expect(get("/api/items")).issuesAtMost(1).statements();
+        sql.expect(get("/api/items/{id}", itemId)).issuesAtMost(1).statements();
+        sql.expect(get("/api/items/search").param("searchTerm", "budget item").param("fields", "id,sku,warehouseName"))
+                .issuesAtMost(1).statements()
+                .readsAtMost(6).rows();
+    }
+
+    @Test
+    void partialTransferStaysWithinItsBudget() throws Exception {
+        // Locks, item and destination reads, two saves, audit, one change_log insert and two rollup upserts per warehouse
+        sql.expect(post("/api/items/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(itemId, warehouseId, firstWarehouseId, 1))))
+                .issuesAtMost(14).statements();
+    }
+}
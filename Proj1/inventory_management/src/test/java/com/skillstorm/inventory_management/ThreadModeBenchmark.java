@@ -0,0 +1,220 @@
+package com.skillstorm.inventory_management;
+
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.services.InventoryItemService;
+import com.skillstorm.inventory_management.services.WarehouseService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and memory comparison between platform-thread and virtual-thread request handling.
+ * Not part of the default test run (the class name does not match the surefire includes); run with
+ * {@code JAVA_HOME=<jdk21> ./mvnw -Pjava21 test -Dtest=ThreadModeBenchmark}.
+ * <p>
+ * Each mode boots the application on a random port with bulkheads and request coalescing disabled,
+ * then holds {@link #CONCURRENCY} blocking clients against a JDBC-backed endpoint. Memory per
+ * in-flight request is the resident set size growth under load divided by the number of clients.
+ * The benchmark warehouse and item are created through the services and deleted again afterwards.
+ */
+@Slf4j
+class ThreadModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("benchmark.seconds", 15));
+
+    @Test
+    void compareThreadModes() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        StringBuilder table = new StringBuilder(String.format("%n%-9s %12s %10s %12s %16s %14s",
+                "mode", "requests/s", "errors", "p-threads", "rss growth (MB)", "KB/in-flight"));
+        for (Result result : new Result[] {platform, virtual}) {
+            table.append(String.format("%n%-9s %12.0f %10d %12d %16.1f %14.1f",
+                    result.mode, result.throughput, result.errors, result.peakPlatformThreads,
+                    result.rssGrowthBytes / 1_048_576.0, result.rssGrowthBytes / 1024.0 / CONCURRENCY));
+        }
+        log.info("Thread mode benchmark with {} clients:{}", CONCURRENCY, table);
+        assertThat(virtual.throughput).isPositive();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--inventory.bulkhead.enabled=false",
+                        "--inventory.single-flight.enabled=false");
+        WarehouseService warehouseService = context.getBean(WarehouseService.class);
+        InventoryItemService inventoryItemService = context.getBean(InventoryItemService.class);
+        Long warehouseId = null;
+        Long itemId = null;
+        try {
+            warehouseId = seedWarehouse(warehouseService);
+            itemId = seedItem(inventoryItemService, warehouseId);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/items/" + itemId);
+
+            load(uri, WARMUP);
+            System.gc();
+            Thread.sleep(500);
+            long idleRss = residentSetBytes();
+
+            LongAccumulator peakRss = new LongAccumulator(Math::max, idleRss);
+            LongAccumulator peakThreads = new LongAccumulator(Math::max, 0);
+            AtomicBoolean sampling = new AtomicBoolean(true);
+            Thread sampler = new Thread(() -> {
+                while (sampling.get()) {
+                    peakRss.accumulate(residentSetBytes());
+                    peakThreads.accumulate(ManagementFactory.getThreadMXBean().getThreadCount());
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            sampler.start();
+            long[] counts = load(uri, MEASURE);
+            sampling.set(false);
+            sampler.join();
+
+            return new Result(virtualThreads ? "virtual" : "platform",
+                    counts[0] / (double) MEASURE.toSeconds(), counts[1],
+                    peakThreads.get(), Math.max(0, peakRss.get() - idleRss));
+        } finally {
+            try {
+                if (itemId != null) {
+                    inventoryItemService.deleteItem(itemId);
+                }
+                if (warehouseId != null) {
+                    warehouseService.deleteWarehouse(warehouseId);
+                }
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Runs {@link #CONCURRENCY} closed-loop clients for the given duration
+     *
+     * @param uri Endpoint to request
+     * @param duration How long to keep the clients busy
+     * @return Successful and failed request counts
+     */
+    private long[] load(URI uri, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(30)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = clientExecutor();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        (response.statusCode() == 200 ? ok : failed).incrementAndGet();
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        return new long[] {ok.get(), failed.get()};
+    }
+
+    /**
+     * Client threads are virtual so that they add little to the measured process footprint;
+     * looked up reflectively because the test sources compile for Java 17 by default.
+     *
+     * @return One-thread-per-task executor for the load clients
+     */
+    private static ExecutorService clientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(CONCURRENCY);
+        }
+    }
+
+    /**
+     * Creates the benchmark warehouse through the service, so it gets its inventory_items partition
+     *
+     * @param warehouseService Warehouse service of the running context
+     * @return Warehouse ID
+     */
+    private static Long seedWarehouse(WarehouseService warehouseService) {
+        WarehouseDto warehouse = new WarehouseDto();
+        warehouse.setName("Benchmark Warehouse " + System.nanoTime());
+        warehouse.setLocation("Bench");
+        warehouse.setMaxCapacity(1_000_000);
+        return warehouseService.createWarehouse(warehouse).getId();
+    }
+
+    /**
+     * Creates the requested item through the service, so the SKU and category rollups stay in step
+     *
+     * @param inventoryItemService Item service of the running context
+     * @param warehouseId Benchmark warehouse ID
+     * @return Item ID
+     */
+    private static Long seedItem(InventoryItemService inventoryItemService, Long warehouseId) {
+        InventoryItemDto item = new InventoryItemDto();
+        item.setSku("BENCH-" + System.nanoTime());
+        item.setName("Benchmark Item");
+        item.setDescription("Thread mode benchmark");
+        item.setCategory("Bench");
+        item.setQuantity(1);
+        item.setStorageLocation("B1");
+        item.setWarehouseId(warehouseId);
+        return inventoryItemService.createItem(item).getId();
+    }
+
+    private static long residentSetBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException ignored) {
+            // Not Linux; fall back to committed heap
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted();
+    }
+
+    private record Result(String mode, double throughput, long errors, long peakPlatformThreads, long rssGrowthBytes) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.skillstorm.inventory_management;
+
+import com.skillstorm.inventory_management.dtos.PlacementSuggestionDto;
+import com.skillstorm.inventory_management.dtos.WarehouseDto;
+import com.skillstorm.inventory_management.services.WarehousePlacementService;
+import com.skillstorm.inventory_management.services.WarehouseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Checks that warehouse edits which leave out coordinates, as the web form does,
+ * keep the warehouse in nearest-warehouse lookups.
+ */
+@SpringBootTest
+class WarehouseCoordinatesTests {
+
+    private static final String PREFIX = "Coordinates ";
+    // Middle of the South Pacific, far from every seeded warehouse
+    private static final double LATITUDE = -48.8767;
+    private static final double LONGITUDE = -123.3933;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private WarehousePlacementService warehousePlacementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void deleteWarehouses() {
+        jdbcTemplate.query("SELECT id FROM warehouses WHERE name LIKE ?",
+                        (row, i) -> row.getLong("id"), PREFIX + "%")
+                .forEach(warehouseService::deleteWarehouse);
+    }
+
+    @Test
+    void updateWithoutCoordinatesKeepsWarehouseInNearestLookup() {
+        WarehouseDto warehouse = warehouse(PREFIX + "Point Nemo");
+        warehouse.setLatitude(LATITUDE);
+        warehouse.setLongitude(LONGITUDE);
+        Long id = warehouseService.createWarehouse(warehouse).getId();
+        awaitNearest(id, PREFIX + "Point Nemo");
+
+        WarehouseDto edit = warehouse(PREFIX + "Point Nemo (renamed)");
+        warehouseService.updateWarehouse(id, edit);
+
+        WarehouseDto updated = warehouseService.getWarehouseById(id);
+        assertThat(updated.getLatitude()).isEqualTo(LATITUDE);
+        assertThat(updated.getLongitude()).isEqualTo(LONGITUDE);
+        // The new name shows the index has applied the update, not just kept its old entry
+        awaitNearest(id, PREFIX + "Point Nemo (renamed)");
+    }
+
+    @Test
+    void updateWithOnlyOneCoordinateIsRejected() {
+        Long id = warehouseService.createWarehouse(warehouse(PREFIX + "Half")).getId();
+        WarehouseDto edit = warehouse(PREFIX + "Half");
+        edit.setLatitude(LATITUDE);
+
+        assertThatThrownBy(() -> warehouseService.updateWarehouse(id, edit))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitNearest(Long id, String name) {
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            List<PlacementSuggestionDto> nearest = warehousePlacementService.nearest(LATITUDE, LONGITUDE, 1, null, null, 1);
+            assertThat(nearest).extracting(PlacementSuggestionDto::getWarehouseId, PlacementSuggestionDto::getWarehouseName)
+                    .containsExactly(tuple(id, name));
+        });
+    }
+
+    private static WarehouseDto warehouse(String name) {
+        WarehouseDto warehouse = new WarehouseDto();
+        warehouse.setName(name);
+        warehouse.setLocation("Test");
+        warehouse.setMaxCapacity(100);
+        return warehouse;
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillstorm.inventory_management.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the bounds of the gradient concurrency limit.
+ */
+class AdaptiveConcurrencyLimitTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void initialLimitIsClampedToBounds() {
+        assertThat(new AdaptiveConcurrencyLimit(50, 2, 10).getLimit()).isEqualTo(10);
+        assertThat(new AdaptiveConcurrencyLimit(0, 2, 10).getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void growsToMaxWhileFastAndShrinksToMinWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 5, 20);
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        runAtLimit(limit, FAST, 100);
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        runAtLimit(limit, SLOW, 20);
+        assertThat(limit.getLimit()).isEqualTo(5);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void doesNotGrowWhileUnderused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 20);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(FAST);
+        }
+        assertThat(limit.getLimit()).isEqualTo(8);
+    }
+
+    /**
+     * Takes every permit, then releases them all with the given latency
+     */
+    private static void runAtLimit(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            assertThat(acquired).isEqualTo(limit.getLimit());
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.skillstorm.inventory_management.config;
+
+import com.skillstorm.inventory_management.exceptions.BulkheadRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for bulkhead permit accounting in {@link BulkheadInterceptor}.
+ */
+class BulkheadInterceptorTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private BulkheadInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        BulkheadProperties.Group reads = new BulkheadProperties.Group();
+        reads.setInitialLimit(2);
+        reads.setMaxLimit(2);
+        reads.setStatementTimeout(Duration.ofSeconds(2));
+        reads.setRetryAfter(Duration.ofSeconds(3));
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.getGroups().put("reads", reads);
+        interceptor = new BulkheadInterceptor(properties, meterRegistry);
+        handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("read"));
+    }
+
+    @Test
+    void rejectsOverTheLimitAndReleasesEachPermitOnce() {
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        interceptor.preHandle(first, response, handler);
+        interceptor.preHandle(second, response, handler);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, handler))
+                .isInstanceOfSatisfying(BulkheadRejectedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(meterRegistry.get("inventory.bulkhead.rejected").tag("group", "reads").counter().count())
+                .isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(2);
+
+        interceptor.afterCompletion(first, response, handler, null);
+        interceptor.afterCompletion(first, response, handler, null);
+        assertThat(inFlight()).isEqualTo(1);
+        interceptor.preHandle(new MockHttpServletRequest(), response, handler);
+        assertThat(inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void asyncRequestHoldsOnePermitUntilCompletedAndFreesItsThread() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, handler);
+        assertThat(BulkheadContext.getStatementTimeoutSeconds()).isEqualTo(2);
+
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        assertThat(BulkheadContext.getStatementTimeoutSeconds()).isNull();
+        assertThat(inFlight()).isEqualTo(1);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        assertThat(inFlight()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertThat(inFlight()).isZero();
+        assertThat(BulkheadContext.getStatementTimeoutSeconds()).isNull();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("inventory.bulkhead.in.flight").tag("group", "reads").gauge().value();
+    }
+
+    static class Endpoints {
+
+        @Bulkhead("reads")
+        public void read() {
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.skillstorm.inventory_management.repositories;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the filtered queries of InventoryItemRepository and WarehouseRepository against a large
+ * seeded dataset and fails when PostgreSQL answers one with a sequential scan that reads and discards
+ * more than {@link #MAX_ROWS_DISCARDED} rows, i.e. when a query has lost its index.
+ * The unfiltered listings (the inherited {@code findAll}, {@code findAllWithWarehouse} and
+ * {@code findAllWithUsage}) are left out: they read every row by design, so a sequential scan is
+ * their correct plan and there is no index to lose.
+ * The statements are captured with their bind values as Hibernate sends them and re-run under
+ * EXPLAIN ANALYZE. A sequential scan that returns everything it reads (a whole partition
+ * selected by warehouse) is not a regression and passes.
+ * The data goes to the {@value #DATABASE} database (profile "query-plan"), which is dropped and
+ * recreated before the context starts. Tagged "query-plan" and excluded from {@code mvn test};
+ * run it with {@code mvn test -Pquery-plans}.
+ */
+@Tag("query-plan")
+@SpringBootTest
+@ActiveProfiles("query-plan")
+@ContextConfiguration(initializers = QueryPlanTests.ThrowawayDatabaseInitializer.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    private static final String DATABASE = "inventory_query_plan";
+    private static final String PREFIX = "QP ";
+    private static final int WAREHOUSES_WITH_ITEMS = 10;
+    private static final int ITEMS_PER_WAREHOUSE = 10_000;
+    private static final int FILLER_WAREHOUSES = 20_000;
+    private static final int MAX_ROWS_DISCARDED = 1_000;
+
+    private static final List<CapturedStatement> CAPTURED = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+
+    @Autowired
+    private InventoryItemRepository itemRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Long warehouseId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouses (name, location, max_capacity) " +
+                "SELECT ? || 'Warehouse ' || n, 'QP Hub', 100000000 FROM generate_series(1, ?) n",
+                PREFIX, WAREHOUSES_WITH_ITEMS);
+        jdbcTemplate.update("INSERT INTO warehouses (name, location, max_capacity) " +
+                "SELECT ? || 'Filler ' || lpad(n::text, 5, '0'), 'QP City ' || (n % 500), 1000 " +
+                "FROM generate_series(1, ?) n", PREFIX, FILLER_WAREHOUSES);
+        jdbcTemplate.query("SELECT create_inventory_items_partition(id) FROM warehouses WHERE name LIKE ?",
+                rs -> { }, PREFIX + "Warehouse %");
+        jdbcTemplate.update("INSERT INTO inventory_items (sku, name, description, category, quantity, storage_location, warehouse_id) " +
+                "SELECT 'QP' || w.id || '-' || lpad(n::text, 5, '0'), 'Part ' || n || ' Bracket', repeat('x', 200), " +
+                "'Category ' || (n % 250), n % 100, 'Aisle ' || (n % 40), w.id " +
+                "FROM warehouses w CROSS JOIN generate_series(1, ?) n WHERE w.name LIKE ?",
+                ITEMS_PER_WAREHOUSE, PREFIX + "Warehouse %");
+        jdbcTemplate.execute("VACUUM ANALYZE warehouses");
+        jdbcTemplate.execute("VACUUM ANALYZE inventory_items");
+        warehouseId = jdbcTemplate.queryForObject("SELECT id FROM warehouses WHERE name = ?", Long.class, PREFIX + "Warehouse 3");
+    }
+
+    @Test
+    void inventoryItemQueriesUseIndexes() {
+        String sku = "QP" + warehouseId + "-04242";
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM inventory_items WHERE warehouse_id = ? ORDER BY id LIMIT 5", Long.class, warehouseId);
+
+        assertNoSequentialScan("findBySku", () -> itemRepository.findBySku(sku));
+        assertNoSequentialScan("existsBySku", () -> itemRepository.existsBySku(sku));
+        assertNoSequentialScan("findById", () -> itemRepository.findById(ids.get(0)));
+        assertNoSequentialScan("findByIdWithWarehouse", () -> itemRepository.findByIdWithWarehouse(ids.get(0)));
+        assertNoSequentialScan("findWarehouseIdById", () -> itemRepository.findWarehouseIdById(ids.get(0)));
+        assertNoSequentialScan("findAllByIdWithWarehouse", () -> itemRepository.findAllByIdWithWarehouse(ids));
+        assertNoSequentialScan("findByWarehouseId", () -> itemRepository.findByWarehouseId(warehouseId));
+        assertNoSequentialScan("findByCategory", () -> itemRepository.findByCategory("Category 17"));
+        assertNoSequentialScan("findDistinctCategories", () -> itemRepository.findDistinctCategories());
+        assertNoSequentialScan("findByNameContainingIgnoreCase", () -> itemRepository.findByNameContainingIgnoreCase("part 4242 "));
+        assertNoSequentialScan("findBySkuContainingIgnoreCase", () -> itemRepository.findBySkuContainingIgnoreCase("-04242"));
+        assertNoSequentialScan("searchItems", () -> itemRepository.searchItems("4242", "%4242%"));
+        assertNoSequentialScan("searchItemsInWarehouse", () -> itemRepository.searchItemsInWarehouse("4242", "%4242%", warehouseId));
+        assertNoSequentialScan("sumUsageByWarehouseIds", () -> itemRepository.sumUsageByWarehouseIds(List.of(warehouseId, warehouseId + 1)));
+        assertNoSequentialScan("findSelectedFields", () -> itemRepository.findSelectedFields(Set.of("id", "sku", "name"), "%4242%", null));
+    }
+
+    @Test
+    void warehouseQueriesUseIndexes() {
+        assertNoSequentialScan("findById", () -> warehouseRepository.findById(warehouseId));
+        assertNoSequentialScan("findByName", () -> warehouseRepository.findByName(PREFIX + "Filler 12345"));
+        assertNoSequentialScan("existsByName", () -> warehouseRepository.existsByName(PREFIX + "Filler 12345"));
+        assertNoSequentialScan("findByLocation", () -> warehouseRepository.findByLocation("QP City 42"));
+        assertNoSequentialScan("findByNameContainingIgnoreCase", () -> warehouseRepository.findByNameContainingIgnoreCase("filler 1234"));
+        assertNoSequentialScan("findByIdWithItems", () -> warehouseRepository.findByIdWithItems(warehouseId));
+        assertNoSequentialScan("findByIdWithUsage", () -> warehouseRepository.findByIdWithUsage(warehouseId));
+        assertNoSequentialScan("findByNameContainingWithUsage", () -> warehouseRepository.findByNameContainingWithUsage("filler 1234"));
+        assertNoSequentialScan("findSelectedColumns", () -> warehouseRepository.findSelectedColumns(Set.of("id", "name"), "filler 1234"));
+    }
+
+    /**
+     * Runs a repository call, then EXPLAIN ANALYZEs every SELECT it issued
+     *
+     * @param description Name of the repository method, used in the failure message
+     * @param call Repository call to check
+     */
+    private void assertNoSequentialScan(String description, Runnable call) {
+        CAPTURED.clear();
+        capturing = true;
+        try {
+            call.run();
+        } finally {
+            capturing = false;
+        }
+        List<CapturedStatement> selects = CAPTURED.stream()
+                .filter(statement -> statement.sql().trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).as("%s issued no SELECT", description).isNotEmpty();
+
+        for (CapturedStatement statement : selects) {
+            JsonNode plan = explain(statement);
+            List<String> scans = new ArrayList<>();
+            collectDiscardingSeqScans(plan, scans);
+            assertThat(scans)
+                    .as("%s fell back to a sequential scan:%n%s%n%s", description, statement.sql(), plan.toPrettyString())
+                    .isEmpty();
+        }
+    }
+
+    /**
+     * Executes a captured statement under EXPLAIN ANALYZE with its original bind values
+     *
+     * @param statement Captured statement
+     * @return Root plan node
+     */
+    private JsonNode explain(CapturedStatement statement) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, FORMAT JSON) " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("EXPLAIN failed for " + statement.sql(), e);
+        }
+    }
+
+    /**
+     * Collects sequential scans that discard more rows than allowed
+     *
+     * @param node Plan node
+     * @param scans Descriptions of offending scans
+     */
+    private void collectDiscardingSeqScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && node.path("Rows Removed by Filter").asLong() * Math.max(1, node.path("Actual Loops").asLong()) > MAX_ROWS_DISCARDED) {
+            scans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectDiscardingSeqScans(child, scans);
+        }
+    }
+
+    /**
+     * A prepared statement as sent to the database
+     *
+     * @param sql SQL text with ? placeholders
+     * @param parameters Bind values by parameter index
+     */
+    private record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Drops and recreates the throwaway database before the DataSource connects, so each run starts
+     * from an empty database that Flyway migrates; refuses to touch any other database
+     */
+    static class ThrowawayDatabaseInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            Environment environment = context.getEnvironment();
+            String url = environment.getRequiredProperty("spring.datasource.url");
+            int slash = url.lastIndexOf('/');
+            if (!url.substring(slash + 1).equals(DATABASE)) {
+                throw new IllegalStateException("QueryPlanTests only runs against " + DATABASE + ", not " + url);
+            }
+            try (Connection connection = DriverManager.getConnection(url.substring(0, slash + 1) + "postgres",
+                    environment.getProperty("spring.datasource.username"),
+                    environment.getProperty("spring.datasource.password"));
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+                statement.execute("CREATE DATABASE " + DATABASE);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not recreate " + DATABASE, e);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        /**
+         * Wraps the application DataSource so prepared statements and their bind values are recorded
+         *
+         * @return Bean post processor wrapping the DataSource
+         */
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new StatementCapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * DataSource whose connections record every prepared statement executed while capturing is on
+     */
+    private static class StatementCapturingDataSource extends DelegatingDataSource {
+
+        StatementCapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                            return capture(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (capturing && name.startsWith("execute") && (args == null || args.length == 0)) {
+                            CAPTURED.add(new CapturedStatement(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
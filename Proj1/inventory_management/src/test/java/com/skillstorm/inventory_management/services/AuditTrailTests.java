@@ -0,0 +1,104 @@
+package com.skillstorm.inventory_management.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.config.AuditProperties;
+import com.skillstorm.inventory_management.config.AuditProperties.OverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the overflow policies applied when the audit ring buffer is full.
+ */
+class AuditTrailTests {
+
+    @TempDir
+    Path tempDir;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final BoundedRingBuffer<AuditEvent> buffer = new BoundedRingBuffer<>(2);
+
+    @Test
+    void dropPolicyCountsTheEventThatDoesNotFit() {
+        AuditTrail trail = trail(OverflowPolicy.DROP, Duration.ZERO);
+
+        recordEvents(trail, 3);
+
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(counter("inventory.audit.dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void blockPolicyWaitsForRoomThenDropsAfterTheTimeout() {
+        AuditTrail trail = trail(OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+        recordEvents(trail, 2);
+
+        CompletableFuture<Void> consumer = CompletableFuture.runAsync(() -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            buffer.poll();
+        });
+        recordEvents(trail, 1);
+        consumer.join();
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(counter("inventory.audit.dropped")).isZero();
+
+        AuditTrail impatient = trail(OverflowPolicy.BLOCK, Duration.ofMillis(100));
+        long started = System.nanoTime();
+        recordEvents(impatient, 1);
+        assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(counter("inventory.audit.dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void spillPolicyAppendsTheEventToTheSpillFile() {
+        AuditTrail trail = trail(OverflowPolicy.SPILL, Duration.ZERO);
+
+        recordEvents(trail, 3);
+
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(counter("inventory.audit.spilled")).isEqualTo(1);
+        assertThat(counter("inventory.audit.dropped")).isZero();
+        List<AuditEvent> spilled = new ArrayList<>();
+        spillFile().replay(10, spilled::addAll);
+        assertThat(spilled).extracting(AuditEvent::entityId).containsExactly(2L);
+    }
+
+    private AuditTrail trail(OverflowPolicy policy, Duration blockTimeout) {
+        AuditProperties properties = properties();
+        properties.setOverflowPolicy(policy);
+        properties.setBlockTimeout(blockTimeout);
+        return new AuditTrail(buffer, spillFile(), properties, registry);
+    }
+
+    private AuditSpillFile spillFile() {
+        return new AuditSpillFile(new ObjectMapper().findAndRegisterModules(), properties());
+    }
+
+    private AuditProperties properties() {
+        AuditProperties properties = new AuditProperties();
+        properties.setSpillFile(tempDir.resolve("spill.jsonl"));
+        return properties;
+    }
+
+    private static void recordEvents(AuditTrail trail, int count) {
+        for (int i = 0; i < count; i++) {
+            trail.record(AuditEvent.Action.UPDATE, AuditEvent.EntityType.ITEM, (long) i, Map.of());
+        }
+    }
+
+    private double counter(String name) {
+        return registry.get(name).counter().count();
+    }
+}
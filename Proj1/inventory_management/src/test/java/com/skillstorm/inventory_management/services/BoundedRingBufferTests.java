@@ -0,0 +1,88 @@
+package com.skillstorm.inventory_management.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the lock-free ring buffer between audited mutations and the audit writer.
+ */
+class BoundedRingBufferTests {
+
+    @Test
+    void rejectsWhenFullAndKeepsOrderAcrossWraparound() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+
+        int next = 0;
+        int expected = 0;
+        // Ten laps around the four slots, never more than three behind
+        for (int lap = 0; lap < 10; lap++) {
+            while (buffer.size() < 3) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            assertThat(buffer.poll()).isEqualTo(expected++);
+            assertThat(buffer.poll()).isEqualTo(expected++);
+        }
+        while (buffer.size() < 4) {
+            assertThat(buffer.offer(next++)).isTrue();
+        }
+        assertThat(buffer.offer(next)).as("fifth element in four slots").isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(expected, expected + 1, expected + 2, expected + 3);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void manyProducersAndOneConsumerLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        BoundedRingBuffer<long[]> buffer = new BoundedRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> running = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            running.add(executor.submit(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = (int) element[0];
+            // Each producer's elements arrive exactly once and in the order it offered them
+            assertThat(element[1]).isEqualTo(nextExpected[producer]);
+            nextExpected[producer]++;
+            received++;
+        }
+        for (Future<?> producer : running) {
+            producer.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(received).isEqualTo(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,34 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the available-capacity index behind warehouse suggestions.
+ */
+class CapacityIndexTests {
+
+    @Test
+    void findsWarehousesWithRoomInEitherOrderAndFollowsUpdates() {
+        CapacityIndex index = new CapacityIndex();
+        index.put(new WarehouseCapacity(1, "A", 1000, 900, null, null));
+        index.put(new WarehouseCapacity(2, "B", 1000, 500, null, null));
+        index.put(new WarehouseCapacity(3, "C", 1000, 0, null, null));
+        index.put(new WarehouseCapacity(4, "D", 300, 100, null, null));
+
+        assertThat(index.withRoomFor(200, CapacityIndex.Fit.MOST_ROOM, 10, id -> false))
+                .extracting(WarehouseCapacity::id).containsExactly(3L, 2L, 4L);
+        assertThat(index.withRoomFor(200, CapacityIndex.Fit.TIGHTEST, 2, id -> false))
+                .extracting(WarehouseCapacity::id).containsExactly(4L, 2L);
+        assertThat(index.withRoomFor(200, CapacityIndex.Fit.MOST_ROOM, 10, id -> id == 3))
+                .extracting(WarehouseCapacity::id).containsExactly(2L, 4L);
+
+        index.put(new WarehouseCapacity(3, "C", 1000, 950, null, null));
+        index.remove(4);
+        assertThat(index.withRoomFor(200, CapacityIndex.Fit.MOST_ROOM, 10, id -> false))
+                .extracting(WarehouseCapacity::id).containsExactly(2L);
+        assertThat(index.withRoomFor(2000, CapacityIndex.Fit.MOST_ROOM, 10, id -> false)).isEmpty();
+    }
+}
@@ -0,0 +1,62 @@
+package com.skillstorm.inventory_management.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the trigram index behind fuzzy item search.
+ */
+class FuzzyItemIndexTests {
+
+    @Test
+    void findsMistypedSkusAndNamesRankedByDistanceAndFollowsUpdates() {
+        FuzzyItemIndex index = new FuzzyItemIndex();
+        index.put(1, "LAPTOP-001", "Dell Latitude 5520");
+        index.put(2, "LAPTOP-002", "Lenovo ThinkPad X1");
+        index.put(3, "MONITOR-001", "Dell UltraSharp 27");
+
+        List<FuzzyItemIndex.Match> matches = index.search("LAPTP-001", 2, 10);
+        assertThat(matches).extracting(FuzzyItemIndex.Match::itemId).containsExactly(1L, 2L);
+        assertThat(matches).extracting(FuzzyItemIndex.Match::distance).containsExactly(1, 2);
+
+        assertThat(index.search("thinkpda", 2, 10))
+                .singleElement()
+                .satisfies(match -> {
+                    assertThat(match.itemId()).isEqualTo(2L);
+                    assertThat(match.field()).isEqualTo(FuzzyItemIndex.Field.NAME);
+                });
+        assertThat(index.search("LAPTP-001", 0, 10)).isEmpty();
+        assertThat(index.search("dell ultrashrp", 2, 10))
+                .singleElement()
+                .satisfies(match -> {
+                    assertThat(match.itemId()).isEqualTo(3L);
+                    assertThat(match.term()).isEqualTo("dell ultrasharp");
+                    assertThat(match.distance()).isEqualTo(1);
+                });
+
+        index.put(1, "NOTEBOOK-001", "Dell Latitude 5520");
+        index.remove(2);
+        assertThat(index.search("LAPTP-001", 2, 10)).isEmpty();
+        assertThat(index.search("notebok-001", 1, 10)).extracting(FuzzyItemIndex.Match::itemId).containsExactly(1L);
+    }
+
+    @Test
+    void editDistancesMatchFullDistanceWithinBound() {
+        assertThat(FuzzyItemIndex.boundedLevenshtein("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(FuzzyItemIndex.boundedLevenshtein("kitten", "sitting", 2)).isEqualTo(3);
+        assertThat(FuzzyItemIndex.boundedLevenshtein("abc", "abc", 0)).isZero();
+        assertThat(FuzzyItemIndex.boundedLevenshtein("abcdef", "abdcef", 2)).isEqualTo(2);
+
+        String[][] pairs = {{"kitten", "sitting"}, {"laptp-001", "laptop-002"}, {"thinkpda", "thinkpad"}, {"abc", "xyz"}};
+        for (String[] pair : pairs) {
+            FuzzyItemIndex.BitParallelPattern pattern = new FuzzyItemIndex.BitParallelPattern(pair[0]);
+            for (int max = 0; max <= 3; max++) {
+                assertThat(pattern.distance(pair[1], max))
+                        .isEqualTo(FuzzyItemIndex.boundedLevenshtein(pair[0], pair[1], max));
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.skillstorm.inventory_management.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.inventory_management.dtos.InventoryItemDto;
+import com.skillstorm.inventory_management.entities.InventoryItem;
+import com.skillstorm.inventory_management.entities.Warehouse;
+import com.skillstorm.inventory_management.repositories.InventoryItemRepository;
+import com.skillstorm.inventory_management.repositories.WarehouseRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation comparison between the reflective list path and the streaming JSON writer.
+ * Uses per-thread allocated byte counters, so both paths are measured on the test thread.
+ */
+@SpringBootTest
+@Transactional
+class InventoryItemStreamingAllocationTests {
+
+    private static final int ROWS = 5_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private InventoryItemService inventoryItemService;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void streamingWriterAllocatesLessPerRowAndWritesIdenticalJson() throws Exception {
+        Long warehouseId = seedWarehouse();
+
+        ByteArrayOutputStream listJson = new ByteArrayOutputStream();
+        objectMapper.writeValue(listJson, inventoryItemService.getItemsByWarehouse(warehouseId));
+        ByteArrayOutputStream streamedJson = new ByteArrayOutputStream();
+        inventoryItemService.writeItemsJson(null, warehouseId, streamedJson);
+        assertThat(objectMapper.readTree(streamedJson.toByteArray()))
+                .isEqualTo(objectMapper.readTree(listJson.toByteArray()));
+
+        long listBytes = Long.MAX_VALUE;
+        long streamBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            entityManager.clear();
+            long start = allocatedBytes();
+            List<InventoryItemDto> items = inventoryItemService.getItemsByWarehouse(warehouseId);
+            objectMapper.writeValue(OutputStream.nullOutputStream(), items);
+            listBytes = Math.min(listBytes, allocatedBytes() - start);
+
+            entityManager.clear();
+            start = allocatedBytes();
+            inventoryItemService.writeItemsJson(null, warehouseId, OutputStream.nullOutputStream());
+            streamBytes = Math.min(streamBytes, allocatedBytes() - start);
+        }
+
+        assertThat(streamBytes)
+                .as("allocated bytes per row: list=%d, streaming=%d", listBytes / ROWS, streamBytes / ROWS)
+                .isLessThan(listBytes / 2);
+    }
+
+    private Long seedWarehouse() {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Allocation Test Warehouse");
+        warehouse.setLocation("Test");
+        warehouse.setMaxCapacity(Integer.MAX_VALUE);
+        warehouse = warehouseRepository.save(warehouse);
+
+        List<InventoryItem> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            InventoryItem item = new InventoryItem();
+            item.setSku("ALLOC-" + i);
+            item.setName("Allocation \"item\" \u00e9 " + i);
+            item.setDescription("Item used to compare allocation of list and streaming serialization");
+            item.setCategory("Test");
+            item.setQuantity(1);
+            item.setStorageLocation("T1-R1-S" + i);
+            item.setWarehouse(warehouse);
+            items.add(item);
+        }
+        inventoryItemRepository.saveAll(items);
+        entityManager.flush();
+        return warehouse.getId();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
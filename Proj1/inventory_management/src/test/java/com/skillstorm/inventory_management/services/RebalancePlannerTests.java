@@ -0,0 +1,52 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.dtos.TransferRequest;
+import com.skillstorm.inventory_management.repositories.RebalanceCandidateRepository.Candidate;
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the assignment of over-target stock to warehouses with room.
+ */
+class RebalancePlannerTests {
+
+    @Test
+    void movesLargestItemsIntoRoomPreferringWarehousesStockingTheSku() {
+        RebalancePlanner planner = new RebalancePlanner(List.of(
+                new WarehouseCapacity(1, "Full", 1000, 950, null, null),
+                new WarehouseCapacity(2, "Roomy", 1000, 100, null, null),
+                new WarehouseCapacity(3, "Some room", 1000, 600, null, null),
+                new WarehouseCapacity(4, "At target", 1000, 800, null, null)), 80);
+        assertThat(planner.excess()).isEqualTo(Map.of(1L, 150L));
+
+        // Largest first: 100 units of item 10 and 50 of the 80 in item 11 cover the excess of 150
+        List<TransferRequest> transfers = planner.plan(List.of(
+                new Candidate(10, 1, "A", 100),
+                new Candidate(11, 1, "B", 80)), Map.of("B", List.of(1L, 3L)));
+
+        assertThat(transfers).containsExactly(
+                new TransferRequest(10L, 1L, 2L, 100),
+                new TransferRequest(11L, 1L, 3L, 50));
+        assertThat(planner.unresolved()).isEmpty();
+    }
+
+    @Test
+    void splitsMovesAndReportsWarehousesThatCannotBeResolved() {
+        RebalancePlanner planner = new RebalancePlanner(List.of(
+                new WarehouseCapacity(1, "Full", 100, 100, null, null),
+                new WarehouseCapacity(2, "A", 100, 40, null, null),
+                new WarehouseCapacity(3, "B", 100, 45, null, null)), 50);
+
+        List<TransferRequest> transfers = planner.plan(List.of(new Candidate(10, 1, "A", 100)), Map.of());
+
+        assertThat(transfers).containsExactly(
+                new TransferRequest(10L, 1L, 2L, 10),
+                new TransferRequest(10L, 1L, 3L, 5));
+        assertThat(planner.unresolved()).containsExactly(1L);
+    }
+}
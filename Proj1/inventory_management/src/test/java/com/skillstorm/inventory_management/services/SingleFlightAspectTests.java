@@ -0,0 +1,74 @@
+package com.skillstorm.inventory_management.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for request coalescing: concurrent identical reads share one execution of the loader.
+ */
+class SingleFlightAspectTests {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentIdenticalCallsRunTheLoaderOnce() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Loader target = new Loader();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(registry));
+        Loader loader = factory.getProxy();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> loader.load("key")));
+        }
+        // Hold the first call until every other caller has joined it
+        await().atMost(Duration.ofSeconds(5)).until(() -> collapsed(registry) == CALLERS - 1);
+        target.release.countDown();
+
+        List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(target.invocations).hasValue(1);
+
+        // Once the call has completed, the next caller runs a fresh one
+        assertThat(loader.load("key")).isNotSameAs(first);
+        assertThat(target.invocations).hasValue(2);
+        executor.shutdown();
+    }
+
+    private static double collapsed(MeterRegistry registry) {
+        return registry.get("inventory.single.flight.calls").tag("outcome", "collapsed").counter().count();
+    }
+
+    static class Loader {
+
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @SingleFlight("test.load")
+        public List<String> load(String key) throws InterruptedException {
+            invocations.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(key, String.valueOf(invocations.get()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.skillstorm.inventory_management.services;
+
+import com.skillstorm.inventory_management.repositories.WarehouseCapacityRepository.WarehouseCapacity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the k-d tree behind nearest-warehouse lookups.
+ */
+class SpatialIndexTests {
+
+    @Test
+    void findsNearestAcceptedWarehousesAcrossTheAntimeridian() {
+        List<WarehouseCapacity> warehouses = List.of(
+                new WarehouseCapacity(1, "Chicago", 1000, 0, 41.8781, -87.6298),
+                new WarehouseCapacity(2, "New York", 1000, 0, 40.7128, -74.0060),
+                new WarehouseCapacity(3, "Atlanta", 1000, 0, 33.7490, -84.3880),
+                new WarehouseCapacity(4, "Fiji", 1000, 0, -17.7134, 178.0650),
+                new WarehouseCapacity(5, "Nowhere", 1000, 0, null, null));
+        SpatialIndex index = SpatialIndex.of(warehouses);
+
+        assertThat(index.size()).isEqualTo(4);
+        List<SpatialIndex.Neighbor> nearChicago = index.nearest(41.8781, -87.6298, 2, id -> true);
+        assertThat(nearChicago).extracting(SpatialIndex.Neighbor::warehouseId).containsExactly(1L, 3L);
+        assertThat(nearChicago.get(1).distanceKm()).isCloseTo(944, within(5.0));
+        assertThat(index.nearest(41.8781, -87.6298, 2, id -> id != 1))
+                .extracting(SpatialIndex.Neighbor::warehouseId).containsExactly(3L, 2L);
+        assertThat(index.nearest(-17.0, -179.9, 1, id -> true))
+                .extracting(SpatialIndex.Neighbor::warehouseId).containsExactly(4L);
+    }
+
+    @Test
+    void matchesBruteForceOnRandomPoints() {
+        Random random = new Random(47);
+        List<WarehouseCapacity> warehouses = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            warehouses.add(new WarehouseCapacity(i, "W" + i, 100, 0,
+                    random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        SpatialIndex index = SpatialIndex.of(warehouses);
+        SpatialIndex reference = SpatialIndex.of(List.of());
+        assertThat(reference.nearest(0, 0, 3, id -> true)).isEmpty();
+
+        for (int q = 0; q < 50; q++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            List<Long> expected = warehouses.stream()
+                    .filter(w -> w.id() % 3 != 0)
+                    .sorted((a, b) -> Double.compare(
+                            haversine(latitude, longitude, a.latitude(), a.longitude()),
+                            haversine(latitude, longitude, b.latitude(), b.longitude())))
+                    .limit(5)
+                    .map(WarehouseCapacity::id)
+                    .toList();
+            assertThat(index.nearest(latitude, longitude, 5, id -> id % 3 != 0))
+                    .extracting(SpatialIndex.Neighbor::warehouseId).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * SpatialIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}